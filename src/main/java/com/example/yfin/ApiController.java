@@ -10,7 +10,11 @@ import com.example.yfin.model.earnings.EarningsResponse;
 import com.example.yfin.model.calendar.CalendarResponse;
 import com.example.yfin.model.earnings.EarningsDatesResponse;
 import com.example.yfin.model.profile.ProfileResponse;
+import com.example.yfin.model.dividend.DividendSchedule;
+import com.example.yfin.http.RateGovernor;
+import com.example.yfin.http.YahooApiClient;
 import com.example.yfin.service.ChartService;
+import com.example.yfin.service.DividendProjectionService;
 import com.example.yfin.service.DividendsService;
 import com.example.yfin.service.FundamentalsService;
 import com.example.yfin.service.OptionsService;
@@ -20,7 +24,9 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,11 +41,13 @@ public class ApiController {
     private final QuoteService quoteService;
     private final ChartService chartService;
     private final DividendsService dividendsService;
+    private final DividendProjectionService dividendProjectionService;
     private final OptionsService optionsService;
     private final FundamentalsService fundamentalsService;
     private final SearchService searchService;
+    private final YahooApiClient yahoo;
+    private final RateGovernor rateGovernor;
 
-    
 
     @GetMapping("/quote")
     @Operation(summary = "단일 종목 시세 조회", description = "KR/US 티커 지원. 한국 6자리 숫자는 자동으로 거래소 접미사(.KS/.KQ)를 판별합니다. 필요 시 exchange 파라미터로 강제 지정 가능")
@@ -54,12 +62,13 @@ public class ApiController {
     @Operation(summary = "다중 종목 시세 조회", description = "쉼표로 구분된 티커 목록을 조회합니다. exchange로 일괄 접미사 지정 가능")
     public Mono<List<QuoteDto>> quotes(
             @Parameter(description = "티커 목록(쉼표 구분). 예) 005930,000660 또는 AAPL,MSFT") @RequestParam String tickers,
-            @Parameter(description = "거래소 접미사 수동 지정(선택)") @RequestParam(required = false) String exchange) {
+            @Parameter(description = "거래소 접미사 수동 지정(선택)") @RequestParam(required = false) String exchange,
+            @Parameter(description = "선행/TTM 배당 필드 보강 여부") @RequestParam(defaultValue = "true") boolean withDividends) {
         List<String> tickerList = Arrays.stream(tickers.split(","))
                 .map(s -> s.trim().toUpperCase())
                 .filter(s -> !s.isBlank())
                 .toList();
-        return exchange == null ? quoteService.quotes(tickerList) : quoteService.quotesEx(tickerList, exchange);
+        return exchange == null ? quoteService.quotes(tickerList, withDividends) : quoteService.quotesEx(tickerList, exchange, withDividends);
     }
 
     @GetMapping("/history")
@@ -85,6 +94,12 @@ public class ApiController {
         return exchange == null ? dividendsService.dividends(normalizedTicker, range) : dividendsService.dividendsEx(normalizedTicker, range, exchange);
     }
 
+    @GetMapping("/dividends/schedule")
+    @Operation(summary = "배당 일정 추정", description = "배당 이력과 캘린더로 지급 주기/다음 배당락일/향후 12개월 지급을 추정(1일 캐시)")
+    public Mono<DividendSchedule> dividendSchedule(@Parameter(description = "티커") @RequestParam String ticker) {
+        return dividendProjectionService.schedule(ticker);
+    }
+
     @GetMapping("/options")
     @Operation(summary = "옵션 체인 조회", description = "만기일(epoch 초) 또는 미지정 시 최근 만기의 콜/풋 체인을 반환")
     public Mono<OptionsResponse> options(
@@ -168,4 +183,13 @@ public class ApiController {
             @Parameter(description = "언어 코드, 예) ko") @RequestParam(required = false) String lang) {
         return searchService.searchGoogle(q, count, lang);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/stats/upstream")
+    @Operation(summary = "업스트림 호출 통계", description = "동시 요청 합치기(single-flight) 리더/합류 수와 호스트별 레이트 거버너 상태")
+    public Mono<Map<String, Object>> upstreamStats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("singleFlight", yahoo.inFlightStats());
+        out.put("rate", rateGovernor.stats());
+        return Mono.just(out);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.yfin;
 
+import com.example.yfin.model.indicators.BulkIndicatorRow;
+import com.example.yfin.model.indicators.IndicatorSetResponse;
 import com.example.yfin.model.indicators.MaPoint;
 import com.example.yfin.model.indicators.RsiPoint;
 import com.example.yfin.service.IndicatorService;
@@ -7,20 +9,53 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
-@Tag(name = "Indicator API", description = "이동평균/RSI 등 기술적 지표")
+@Tag(name = "Indicator API", description = "이동평균/RSI/MACD/볼린저 등 기술적 지표")
 @RequiredArgsConstructor
 public class IndicatorController {
 
     private final IndicatorService indicatorService;
 
+    @GetMapping("/indicators")
+    @Operation(summary = "복수 지표", description = "히스토리 1회 조회로 여러 지표 계산. names 예: ma:20,ma:60,rsi:14,macd,bb:20:2,atr:14,stoch:14:3,ema:12,wma:20,obv,vwap")
+    public Mono<IndicatorSetResponse> indicators(
+            @Parameter(description = "티커") @RequestParam String ticker,
+            @Parameter(description = "지표 목록(쉼표 구분, 이름:파라미터)") @RequestParam String names,
+            @Parameter(description = "범위 예: 3mo/6mo/1y") @RequestParam(defaultValue = "6mo") String range,
+            @Parameter(description = "간격 예: 1d/1wk/1mo") @RequestParam(defaultValue = "1d") String interval,
+            @Parameter(description = "자동 보정") @RequestParam(defaultValue = "true") boolean autoAdjust
+    ) {
+        return indicatorService.compute(ticker.trim().toUpperCase(), range, interval, autoAdjust, names);
+    }
+
+    @GetMapping(value = "/indicators/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "다종목 지표(NDJSON)", description = "종목 목록 또는 market 상장 목록에 대해 지표를 계산하고 종목별 완료 순서대로 한 줄씩 스트리밍")
+    public Flux<BulkIndicatorRow> bulk(
+            @Parameter(description = "티커 목록(쉼표 구분). 없으면 market 사용") @RequestParam(required = false) String tickers,
+            @Parameter(description = "시장 예: KS/KQ/NASDAQ") @RequestParam(required = false) String market,
+            @Parameter(description = "지표 목록(쉼표 구분, 이름:파라미터)") @RequestParam String names,
+            @Parameter(description = "범위 예: 3mo/6mo/1y") @RequestParam(defaultValue = "6mo") String range,
+            @Parameter(description = "간격 예: 1d/1wk/1mo") @RequestParam(defaultValue = "1d") String interval,
+            @Parameter(description = "자동 보정") @RequestParam(defaultValue = "true") boolean autoAdjust,
+            @Parameter(description = "전체 시계열 포함 여부(기본: 마지막 값만)") @RequestParam(defaultValue = "false") boolean full
+    ) {
+        List<String> list = tickers == null ? List.of() : Arrays.stream(tickers.split(","))
+                .map(s -> s.trim().toUpperCase())
+                .filter(s -> !s.isBlank())
+                .toList();
+        return indicatorService.bulk(list, market, range, interval, autoAdjust, names, full);
+    }
+
     @GetMapping("/indicators/ma")
     @Operation(summary = "이동평균", description = "window 구간 단순이동평균(SMA)")
     public Mono<List<MaPoint>> ma(
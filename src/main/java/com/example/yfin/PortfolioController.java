@@ -1,17 +1,29 @@
 package com.example.yfin;
 
+import com.example.yfin.model.dividend.DividendForecast;
+import com.example.yfin.model.portfolio.PortfolioAnalytics;
+import com.example.yfin.model.portfolio.PortfolioBatchItem;
+import com.example.yfin.model.portfolio.PortfolioBatchRow;
 import com.example.yfin.model.portfolio.PortfolioSummary;
 import com.example.yfin.model.portfolio.PositionDto;
+import com.example.yfin.service.DividendProjectionService;
 import com.example.yfin.service.PortfolioService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @Tag(name = "Portfolio API", description = "포트폴리오 손익/배당 요약")
@@ -19,12 +31,58 @@ import java.util.List;
 public class PortfolioController {
 
     private final PortfolioService portfolioService;
+    private final DividendProjectionService dividendProjectionService;
 
     @PostMapping("/portfolio/summary")
     @Operation(summary = "포트폴리오 요약", description = "포지션 목록을 받아 평가손익/배당수익률을 계산")
     public Mono<PortfolioSummary> summary(@RequestBody List<PositionDto> positions) {
         return portfolioService.summarize(positions);
     }
+
+    @PostMapping("/portfolio/dividends/forecast")
+    @Operation(summary = "월별 배당 수입 예측", description = "종목별 추정 배당 일정(1일 캐시)으로 이번 달부터 12개월 지급일 기준 수입 집계")
+    public Mono<DividendForecast> dividendForecast(@RequestBody List<PositionDto> positions) {
+        return dividendProjectionService.forecast(positions);
+    }
+
+    @PostMapping("/portfolio/analytics")
+    @Operation(summary = "포트폴리오 기간 분석", description = "일별 NAV 곡선, 연율화 변동성, 샤프 지수, 최대 낙폭, 보유 종목 상관 행렬")
+    public Mono<PortfolioAnalytics> analytics(
+            @RequestBody List<PositionDto> positions,
+            @Parameter(description = "범위 예: 1y/3y/5y") @RequestParam(defaultValue = "1y") String range,
+            @Parameter(description = "연 무위험 수익률(소수, 샤프 계산용)") @RequestParam(defaultValue = "0") double riskFreeRate
+    ) {
+        return portfolioService.analytics(positions, range, riskFreeRate);
+    }
+
+    @PostMapping(value = "/portfolio/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "다중 포트폴리오 일괄 평가(NDJSON)", description = "심볼 합집합을 한 번만 시세 조회한 뒤 포트폴리오별 요약을 완료 순서대로 한 줄씩 스트리밍")
+    public Flux<PortfolioBatchRow> batch(@RequestBody List<PortfolioBatchItem> portfolios) {
+        return portfolioService.batch(portfolios);
+    }
+
+    @PostMapping(value = "/portfolio/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "실시간 포트폴리오 평가(SSE)", description = "첫 이벤트(summary)는 전체 요약, 이후 이벤트(update)는 합계와 틱으로 변경된 포지션만 포함")
+    public Flux<ServerSentEvent<PortfolioSummary>> stream(
+            @RequestBody List<PositionDto> positions,
+            @Parameter(description = "실시간 공급자가 없을 때 시세 폴링 간격(초, 최소 2)") @RequestParam(name = "intervalSec", defaultValue = "5") long intervalSec
+    ) {
+        AtomicLong seq = new AtomicLong();
+        Flux<ServerSentEvent<PortfolioSummary>> data = portfolioService.stream(positions, intervalSec)
+                .map(s -> {
+                    long n = seq.getAndIncrement();
+                    return ServerSentEvent.<PortfolioSummary>builder(s)
+                            .id(Long.toString(n))
+                            .event(n == 0 ? "summary" : "update")
+                            .build();
+                });
+        Flux<ServerSentEvent<PortfolioSummary>> heartbeat = Flux.interval(Duration.ofSeconds(10))
+                .map(i -> ServerSentEvent.<PortfolioSummary>builder()
+                        .event("heartbeat")
+                        .comment("ping")
+                        .build());
+        return Flux.merge(heartbeat, data);
+    }
 }
 
 
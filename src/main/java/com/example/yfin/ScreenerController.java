@@ -1,6 +1,7 @@
 package com.example.yfin;
 
 import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.screener.ScreenerQueryResponse;
 import com.example.yfin.service.ScreenerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -22,16 +23,28 @@ public class ScreenerController {
     private final ScreenerService screenerService;
 
     @GetMapping("/screener/filter")
-    @Operation(summary = "기본 필터 스크리너", description = "시장/배당수익률/근사 변동성/최소 거래량 필터")
+    @Operation(summary = "기본 필터 스크리너", description = "시장/배당수익률/실현 변동성/최소 거래량 필터")
     public Mono<List<QuoteDto>> filter(
             @Parameter(description = "시장 코드 예: KS/KQ/NASDAQ") @RequestParam(required = false) String market,
             @Parameter(description = "최소 배당수익률(소수)") @RequestParam(required = false) Double minDividendYield,
-            @Parameter(description = "최소 변동성(%, 근사)") @RequestParam(required = false) Double minVolatilityPct,
+            @Parameter(description = "최소 20일 실현 변동성(연율화 %, 통계 없는 종목은 제외)") @RequestParam(required = false) Double minVolatilityPct,
             @Parameter(description = "최소 거래량") @RequestParam(required = false) Long minVolume
     ) {
         return screenerService.filterBy(market, minDividendYield, minVolatilityPct, minVolume);
     }
 
+    @GetMapping("/screener/query")
+    @Operation(summary = "조건식 스크리너", description = "where 식(AND/OR/NOT, 비교, BETWEEN, IN)과 다중 키 정렬, 페이지네이션")
+    public Mono<ScreenerQueryResponse> query(
+            @Parameter(description = "시장 코드 예: KS/KQ/NASDAQ") @RequestParam(required = false) String market,
+            @Parameter(description = "조건식 예: dividendYield >= 0.03 AND volume > 100000 AND sector IN ('Technology')") @RequestParam(required = false) String where,
+            @Parameter(description = "정렬 예: changePercent:desc,volume:desc (기본 asc)") @RequestParam(required = false) String sort,
+            @Parameter(description = "시작 위치") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "페이지 크기(기본 50, 최대 1000)") @RequestParam(required = false) Integer limit
+    ) {
+        return screenerService.query(market, where, sort, offset, limit);
+    }
+
     @GetMapping("/screener/sector/ranking")
     @Operation(summary = "섹터별 랭킹", description = "섹터별 상위 N 종목(변동률 또는 거래량 기준)")
     public Mono<List<Map.Entry<String, List<QuoteDto>>>> sectorRanking(
@@ -1,26 +1,38 @@
 package com.example.yfin;
 
 import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.indicators.LiveIndicatorEvent;
+import com.example.yfin.realtime.LiveTickSource;
+import com.example.yfin.service.LiveIndicatorService;
 import com.example.yfin.service.QuoteService;
+import com.example.yfin.service.indicator.IndicatorSpec;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 public class StreamController {
 
     private final QuoteService quoteService;
+    private final LiveTickSource liveTicks;
+    private final LiveIndicatorService liveIndicators;
 
-    public StreamController(QuoteService quoteService) {
+    public StreamController(QuoteService quoteService, LiveTickSource liveTicks, LiveIndicatorService liveIndicators) {
         this.quoteService = quoteService;
+        this.liveTicks = liveTicks;
+        this.liveIndicators = liveIndicators;
     }
 
     @GetMapping(value = "/stream/quotes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -51,6 +63,67 @@ public class StreamController {
 
         return Flux.merge(heartbeat, data);
     }
-}
 
+    /**
+     * 실시간 지표 SSE: 종목별 현재 값 1회 송출 후 틱마다 갱신 값 송출.
+     * WS 공급자(KIS/Finnhub)가 없으면 intervalSec 주기 시세 폴링을 틱으로 사용
+     */
+    @GetMapping(value = "/stream/indicators", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<LiveIndicatorEvent>> streamIndicators(@RequestParam String tickers,
+                                                                      @RequestParam(defaultValue = "rsi:14") String names,
+                                                                      @RequestParam(defaultValue = "1d") String interval,
+                                                                      @RequestParam(name = "intervalSec", defaultValue = "5") long intervalSec) {
+        List<IndicatorSpec> specs = LiveIndicatorService.parseSpecs(names, interval);
+        long pollSec = Math.max(2, intervalSec);
+        List<String> list = Arrays.stream(tickers.split(","))
+                .map(s -> s.trim().toUpperCase())
+                .filter(s -> !s.isBlank())
+                .toList();
+        if (list.isEmpty()) throw new IllegalArgumentException("tickers required");
+
+        Flux<LiveIndicatorEvent> initial = Flux.fromIterable(list)
+                .concatMap(sym -> liveIndicators.series(sym, interval, specs)
+                        .map(s -> new LiveIndicatorEvent(sym, boxed(s.lastPrice()), Instant.now(), s.snapshot()))
+                        .onErrorResume(e -> Mono.empty()));
+
+        String sessionId = "sse-" + UUID.randomUUID();
+        Map<String, String> alias = new HashMap<>();
+        for (String t : list) {
+            alias.put(t, t);
+            alias.putIfAbsent(LiveTickSource.toKisSymbol(t), t);
+        }
+        Flux<QuoteDto> ticks = liveTicks.isEnabled()
+                ? liveTicks.ticks(sessionId, list).doFinally(sig -> liveTicks.release(sessionId))
+                : Flux.interval(Duration.ofSeconds(pollSec), Duration.ofSeconds(pollSec))
+                        .concatMap(i -> quoteService.quotes(list).onErrorResume(e -> Mono.just(List.of())))
+                        .flatMapIterable(quotes -> quotes);
+
+        Flux<LiveIndicatorEvent> updates = ticks.concatMap(q -> {
+            String sym = q.getSymbol() == null ? null : alias.get(q.getSymbol().toUpperCase());
+            Double price = q.getRegularMarketPrice();
+            if (sym == null || price == null) return Mono.empty();
+            Instant now = Instant.now();
+            return liveIndicators.onTick(sym, interval, specs, price, now.getEpochSecond())
+                    .map(values -> new LiveIndicatorEvent(sym, price, now, values))
+                    .onErrorResume(e -> Mono.empty());
+        });
 
+        Flux<ServerSentEvent<LiveIndicatorEvent>> heartbeat = Flux.interval(Duration.ofSeconds(10))
+                .map(i -> ServerSentEvent.<LiveIndicatorEvent>builder()
+                        .event("heartbeat")
+                        .comment("ping")
+                        .build());
+
+        Flux<ServerSentEvent<LiveIndicatorEvent>> data = Flux.concat(initial, updates)
+                .map(ev -> ServerSentEvent.<LiveIndicatorEvent>builder(ev)
+                        .id(ev.getSymbol() + ":" + ev.getTime().toEpochMilli())
+                        .event("indicator")
+                        .build());
+
+        return Flux.merge(heartbeat, data);
+    }
+
+    private static Double boxed(double v) {
+        return Double.isNaN(v) ? null : v;
+    }
+}
@@ -1,23 +1,61 @@
 package com.example.yfin.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
-
 @Configuration
+@EnableConfigurationProperties(CachePolicyProperties.class)
 public class CacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cm = new CaffeineCacheManager("quote","quotes","history","dividends","options","financials","resolve","earnings","profile","search","calendar","earningsDates","corpActions");
-        cm.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(10_000)
-                .expireAfterWrite(Duration.ofSeconds(5)));
+    public CacheManager cacheManager(CachePolicyProperties policies, ObjectMapper mapper) {
+        CaffeineCacheManager cm = new CaffeineCacheManager();
         // Reactive @Cacheable(Mono/Flux) 사용 시 AsyncCache 필요
         cm.setAsyncCacheMode(true);
+        // 등록되지 않은 캐시 이름은 defaults 정책으로 동적 생성
+        cm.setCaffeine(builder(policies.getDefaults(), mapper));
+        for (String name : policies.cacheNames()) {
+            CachePolicyProperties.Policy p = policies.policy(name);
+            cm.registerCustomCache(name, builder(p, mapper).buildAsync());
+            log.debug("cache {} ttl={} maxSize={} maxWeight={} refreshAfterWrite={}",
+                    name, p.getTtl(), p.getMaxSize(), p.getMaxWeight(), p.getRefreshAfterWrite());
+        }
         return cm;
     }
-}
\ No newline at end of file
+
+    /**
+     * 정책 → Caffeine 빌더. refreshAfterWrite는 로더가 없는 @Cacheable AsyncCache에 적용할 수 없으므로
+     * 여기서는 만료/용량만 반영
+     */
+    public static Caffeine<Object, Object> builder(CachePolicyProperties.Policy p, ObjectMapper mapper) {
+        Caffeine<Object, Object> b = Caffeine.newBuilder();
+        if (p.getTtl() != null) b.expireAfterWrite(p.getTtl());
+        if (p.usesWeight()) {
+            b.maximumWeight(p.getMaxWeight().toBytes());
+            b.weigher((Object k, Object v) -> weigh(mapper, k, v));
+        } else if (p.getMaxSize() != null) {
+            b.maximumSize(p.getMaxSize());
+        }
+        return b;
+    }
+
+    /** 직렬화 크기(바이트) 기준 가중치. 직렬화 실패 시 1KB로 간주 */
+    private static int weigh(ObjectMapper mapper, Object key, Object value) {
+        int keyBytes = key == null ? 0 : String.valueOf(key).length();
+        try {
+            long size = (long) keyBytes + mapper.writeValueAsBytes(value).length;
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, size));
+        } catch (Exception e) {
+            return keyBytes + 1024;
+        }
+    }
+}
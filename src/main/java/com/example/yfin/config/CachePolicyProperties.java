@@ -0,0 +1,112 @@
+package com.example.yfin.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시별 정책 레지스트리(cache.defaults / cache.policies.{name}).
+ * - ttl: expireAfterWrite
+ * - max-size / max-weight: 엔트리 수 또는 직렬화 크기 기준 상한(weigh-by-size=true일 때 max-weight 사용)
+ * - refresh-after-write: 이 시간이 지나면 stale로 보고 백그라운드 갱신(로더가 있는 캐시 계층에서 사용)
+ * 설정하지 않은 항목은 내장 기본값 → cache.defaults 순으로 채움
+ * L2(Redis) 값 직렬화는 cache.l2.* (코덱/압축 임계값)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class CachePolicyProperties {
+
+    private Policy defaults = Policy.of(Duration.ofSeconds(5), 10_000L, null, null);
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+    private L2 l2 = new L2();
+
+    /** 데이터 변경 주기에 맞춘 내장 기본값 */
+    private static final Map<String, Policy> BUILT_IN = new LinkedHashMap<>();
+    static {
+        BUILT_IN.put("quote", Policy.of(Duration.ofSeconds(5), 10_000L, null, null));
+        BUILT_IN.put("quotes", Policy.of(Duration.ofMinutes(3), 10_000L, null, Duration.ofSeconds(15)));
+        BUILT_IN.put("history", Policy.of(Duration.ofMinutes(10), null, DataSize.ofMegabytes(64), Duration.ofSeconds(20)));
+        BUILT_IN.put("dividends", Policy.of(Duration.ofHours(1), 10_000L, null, Duration.ofMinutes(30)));
+        BUILT_IN.put("options", Policy.of(Duration.ofSeconds(30), null, DataSize.ofMegabytes(32), null));
+        BUILT_IN.put("financials", Policy.of(Duration.ofHours(12), 5_000L, null, Duration.ofHours(6)));
+        BUILT_IN.put("resolve", Policy.of(Duration.ofDays(1), 50_000L, null, null));
+        BUILT_IN.put("earnings", Policy.of(Duration.ofHours(12), 5_000L, null, Duration.ofHours(6)));
+        BUILT_IN.put("profile", Policy.of(Duration.ofDays(1), 5_000L, null, Duration.ofHours(12)));
+        BUILT_IN.put("search", Policy.of(Duration.ofMinutes(10), 5_000L, null, null));
+        BUILT_IN.put("calendar", Policy.of(Duration.ofHours(12), 5_000L, null, Duration.ofHours(6)));
+        BUILT_IN.put("earningsDates", Policy.of(Duration.ofHours(12), 5_000L, null, Duration.ofHours(6)));
+        BUILT_IN.put("corpActions", Policy.of(Duration.ofHours(6), 5_000L, null, Duration.ofHours(1)));
+        BUILT_IN.put("dividendFields", Policy.of(Duration.ofHours(12), 20_000L, null, Duration.ofHours(6)));
+        BUILT_IN.put("indicators", Policy.of(Duration.ofMinutes(30), 20_000L, null, null));
+        BUILT_IN.put("dividendSchedule", Policy.of(Duration.ofDays(1), 20_000L, null, Duration.ofHours(12)));
+        BUILT_IN.put("chart", Policy.of(Duration.ofHours(1), null, DataSize.ofMegabytes(64), null));
+    }
+
+    /** 내장/설정 캐시 이름 전체 */
+    public java.util.Set<String> cacheNames() {
+        java.util.Set<String> names = new java.util.LinkedHashSet<>(BUILT_IN.keySet());
+        names.addAll(policies.keySet());
+        return names;
+    }
+
+    /** 설정값 → 내장 기본값 → defaults 순으로 병합한 정책 */
+    public Policy policy(String cacheName) {
+        Policy configured = policies.get(cacheName);
+        Policy builtIn = BUILT_IN.get(cacheName);
+        Policy out = new Policy();
+        out.setTtl(first(configured == null ? null : configured.getTtl(), builtIn == null ? null : builtIn.getTtl(), defaults.getTtl()));
+        out.setMaxSize(first(configured == null ? null : configured.getMaxSize(), builtIn == null ? null : builtIn.getMaxSize(), defaults.getMaxSize()));
+        out.setMaxWeight(first(configured == null ? null : configured.getMaxWeight(), builtIn == null ? null : builtIn.getMaxWeight(), defaults.getMaxWeight()));
+        out.setRefreshAfterWrite(first(configured == null ? null : configured.getRefreshAfterWrite(), builtIn == null ? null : builtIn.getRefreshAfterWrite(), defaults.getRefreshAfterWrite()));
+        Boolean weigh = first(configured == null ? null : configured.getWeighBySize(), builtIn == null ? null : builtIn.getWeighBySize(), defaults.getWeighBySize());
+        out.setWeighBySize(weigh != null ? weigh : out.getMaxWeight() != null);
+        return out;
+    }
+
+    @SafeVarargs
+    private static <T> T first(T... values) {
+        for (T v : values) if (v != null) return v;
+        return null;
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private Duration ttl;
+        private Long maxSize;
+        private DataSize maxWeight;
+        private Duration refreshAfterWrite;
+        private Boolean weighBySize;
+
+        static Policy of(Duration ttl, Long maxSize, DataSize maxWeight, Duration refreshAfterWrite) {
+            Policy p = new Policy();
+            p.setTtl(ttl);
+            p.setMaxSize(maxSize);
+            p.setMaxWeight(maxWeight);
+            p.setRefreshAfterWrite(refreshAfterWrite);
+            return p;
+        }
+
+        /** 직렬화 크기 기준 가중치 사용 여부 */
+        public boolean usesWeight() {
+            return Boolean.TRUE.equals(weighBySize) && maxWeight != null;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class L2 {
+        /** 기본 코덱: json | smile */
+        private String codec = "smile";
+        /** 키 접두어(캐시 이름)별 코덱. 예) history: smile */
+        private Map<String, String> codecs = new LinkedHashMap<>();
+        /** 인코딩 결과가 이 크기 이상이면 LZ4 압축 */
+        private DataSize compressAbove = DataSize.ofKilobytes(2);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.yfin.config;
+
+import com.example.yfin.service.cache.CacheStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 요청마다 CacheStatus를 Reactor Context에 넣고, stale 캐시 값이 응답에 쓰였으면
+ * X-Cache-Stale: true 와 Age(초) 헤더를 추가
+ */
+@Component
+public class CacheStatusWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        CacheStatus status = new CacheStatus();
+        exchange.getResponse().beforeCommit(() -> {
+            if (status.isStale()) {
+                exchange.getResponse().getHeaders().set("X-Cache-Stale", "true");
+                exchange.getResponse().getHeaders().set("Age", String.valueOf(status.ageSeconds()));
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange).contextWrite(ctx -> ctx.put(CacheStatus.class, status));
+    }
+}
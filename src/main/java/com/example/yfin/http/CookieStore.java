@@ -1,31 +1,102 @@
 package com.example.yfin.http;
 
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class CookieStore {
     private final Map<String, String> jar = new ConcurrentHashMap<>();
+    // name -> 만료 시각(epoch ms). 세션 쿠키(만료 정보 없음)는 기록하지 않음
+    private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
 
     public void put(String name, String value) {
         if (name != null && !name.isBlank()) {
             jar.put(name.trim(), value == null ? "" : value);
+            expiresAt.remove(name.trim());
         }
     }
 
+    public void put(String name, String value, long expiresAtEpochMs) {
+        put(name, value);
+        if (name != null && !name.isBlank() && expiresAtEpochMs > 0) {
+            expiresAt.put(name.trim(), expiresAtEpochMs);
+        }
+    }
+
+    /**
+     * Set-Cookie 한 줄을 파싱하여 저장(Max-Age/Expires 반영). 저장 여부 반환.
+     * Max-Age<=0 또는 지난 Expires는 삭제 지시이므로 저장하지 않고 기존 쿠키를 제거
+     */
+    public boolean putSetCookie(String setCookieLine) {
+        String nv = extractNameValue(setCookieLine);
+        if (nv == null) return false;
+        int eq = nv.indexOf('=');
+        long now = System.currentTimeMillis();
+        long expiry = extractExpiry(setCookieLine, now);
+        if (expiry != 0L && expiry <= now) {
+            remove(nv.substring(0, eq));
+            return false;
+        }
+        put(nv.substring(0, eq), nv.substring(eq + 1), expiry);
+        return true;
+    }
+
+    public void remove(String name) {
+        if (name == null || name.isBlank()) return;
+        jar.remove(name.trim());
+        expiresAt.remove(name.trim());
+    }
+
     /** 요청에 보낼 Cookie 헤더 값 */
     public String asCookieHeader() {
         if (jar.isEmpty()) return "";
+        long now = System.currentTimeMillis();
         return jar.entrySet().stream()
+                .filter(e -> !isExpired(e.getKey(), now))
                 .map(e -> e.getKey() + "=" + e.getValue())
                 .collect(Collectors.joining("; "));
     }
 
+    public boolean isEmpty() {
+        return jar.isEmpty();
+    }
+
+    /** 만료 정보가 있는 쿠키 중 가장 이른 만료 시각(epoch ms). 없으면 Long.MAX_VALUE */
+    public long earliestExpiryEpochMs() {
+        return expiresAt.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+    }
+
+    /** 만료된 쿠키 제거 후 제거 개수 반환 */
+    public int removeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<String, Long> e : expiresAt.entrySet()) {
+            if (e.getValue() <= now) {
+                jar.remove(e.getKey());
+                expiresAt.remove(e.getKey());
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void clear() {
+        jar.clear();
+        expiresAt.clear();
+    }
+
     /** 디버깅용 */
     public Map<String, String> snapshot() {
         return Map.copyOf(jar);
     }
 
+    private boolean isExpired(String name, long now) {
+        Long exp = expiresAt.get(name);
+        return exp != null && exp <= now;
+    }
+
     /**
      * Set-Cookie 한 줄에서 name=value 추출 (path, expires 등 제거)
      * e.g. "A1=abc; Expires=...; Path=/; Secure" -> "A1=abc"
@@ -37,4 +108,30 @@ public class CookieStore {
         int eq = first.indexOf('=');
         return (eq > 0) ? first : null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Set-Cookie 속성에서 만료 시각(epoch ms) 추출. Max-Age가 Expires보다 우선. 없으면 0(Max-Age<=0이면 now 이하 값)
+     * e.g. "A1=abc; Max-Age=31557600" -> now + 31557600s
+     */
+    static long extractExpiry(String setCookieLine, long nowEpochMs) {
+        if (setCookieLine == null) return 0L;
+        long expires = 0L;
+        String[] parts = setCookieLine.split(";");
+        for (int i = 1; i < parts.length; i++) {
+            String attr = parts[i].trim();
+            int eq = attr.indexOf('=');
+            if (eq <= 0) continue;
+            String k = attr.substring(0, eq).trim();
+            String v = attr.substring(eq + 1).trim();
+            if (k.equalsIgnoreCase("Max-Age")) {
+                // 0은 '만료 정보 없음'이므로 과거 시각은 최소 1로 보존
+                try { return Math.max(1L, nowEpochMs + Long.parseLong(v) * 1000L); } catch (NumberFormatException ignored) { }
+            } else if (k.equalsIgnoreCase("Expires")) {
+                try {
+                    expires = Math.max(1L, ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli());
+                } catch (Exception ignored) { }
+            }
+        }
+        return expires;
+    }
+}
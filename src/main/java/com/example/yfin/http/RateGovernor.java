@@ -0,0 +1,133 @@
+package com.example.yfin.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 업스트림 호스트별 토큰 버킷 레이트 거버너.
+ * - acquire(host): 토큰을 예약하고 필요한 만큼만 지연(고정 지터 대신 예산 기반 페이싱)
+ * - 429/401/403 응답 시 해당 호스트 속도를 절반으로 낮추고, 성공 시 설정값까지 점진 회복(AIMD)
+ * - 동시 실행 한도(maxConcurrency)는 배치 파이프라인의 병렬도로 사용
+ */
+@Component
+public class RateGovernor {
+
+    private static final Logger log = LoggerFactory.getLogger(RateGovernor.class);
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final double minPermitsPerSecond;
+    private final int maxConcurrency;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateGovernor(@Value("${yahoo.rate.permits-per-second:8}") double permitsPerSecond,
+                        @Value("${yahoo.rate.burst:16}") double burst,
+                        @Value("${yahoo.rate.min-permits-per-second:0.5}") double minPermitsPerSecond,
+                        @Value("${yahoo.rate.max-concurrency:4}") int maxConcurrency) {
+        this(permitsPerSecond, burst, minPermitsPerSecond, maxConcurrency, System::nanoTime);
+    }
+
+    /** 테스트용: 시계(nanoTime) 주입 */
+    RateGovernor(double permitsPerSecond, double burst, double minPermitsPerSecond, int maxConcurrency, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.permitsPerSecond = Math.max(0.1, permitsPerSecond);
+        this.burst = Math.max(1.0, burst);
+        this.minPermitsPerSecond = Math.min(this.permitsPerSecond, Math.max(0.05, minPermitsPerSecond));
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /** 호스트 예산에서 토큰 1개를 예약. 예산이 부족하면 그만큼 지연 후 완료 */
+    public Mono<Void> acquire(String host) {
+        return Mono.defer(() -> {
+            long waitNanos = reserve(host);
+            return waitNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    /** 토큰 1개 예약 후 필요한 대기 시간(ns). 0이면 즉시 */
+    long reserve(String host) {
+        return bucket(host).reserve();
+    }
+
+    public void onSuccess(String host) {
+        bucket(host).increase();
+    }
+
+    public void onThrottled(String host) {
+        Bucket b = bucket(host);
+        double rate = b.decrease();
+        log.warn("Upstream {} throttled; rate lowered to {}/s", host, String.format("%.2f", rate));
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /** 호스트별 현재 속도/토큰 상태 */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> out = new LinkedHashMap<>();
+        buckets.forEach((host, b) -> out.put(host, b.snapshot()));
+        return out;
+    }
+
+    private Bucket bucket(String host) {
+        return buckets.computeIfAbsent(host == null ? "" : host, h -> new Bucket());
+    }
+
+    private final class Bucket {
+        private double rate = permitsPerSecond;
+        private double tokens = burst;
+        private long lastRefillNanos = nanoClock.getAsLong();
+        private long throttledCount;
+
+        synchronized long reserve() {
+            refill();
+            tokens -= 1.0;
+            if (tokens >= 0) return 0L;
+            return (long) (-tokens / rate * 1_000_000_000L);
+        }
+
+        synchronized void increase() {
+            // 설정 속도의 5%씩 가산 회복
+            rate = Math.min(permitsPerSecond, rate + permitsPerSecond * 0.05);
+        }
+
+        synchronized double decrease() {
+            refill();
+            throttledCount++;
+            rate = Math.max(minPermitsPerSecond, rate * 0.5);
+            // 남은 버스트 예산 제거
+            tokens = Math.min(tokens, 0.0);
+            return rate;
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            refill();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("permitsPerSecond", rate);
+            m.put("tokens", tokens);
+            m.put("throttled", throttledCount);
+            return m;
+        }
+
+        private void refill() {
+            long now = nanoClock.getAsLong();
+            double elapsedSec = (now - lastRefillNanos) / 1_000_000_000.0;
+            lastRefillNanos = now;
+            tokens = Math.min(burst, tokens + elapsedSec * rate);
+        }
+    }
+}
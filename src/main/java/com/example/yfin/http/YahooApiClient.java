@@ -3,20 +3,29 @@ package com.example.yfin.http;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import com.example.yfin.util.SingleFlight;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @Component
 public class YahooApiClient {
@@ -26,12 +35,20 @@ public class YahooApiClient {
     private final WebClient yahooClient;   // default
     private final WebClient yahooClient1;  // query1
     private final WebClient yahooClient2;  // query2
-    private final WebClient browserClient; // finance.yahoo.com
-    private final CookieStore cookieStore;
+    private final YahooSession session;    // 쿠키/크럼 공유 세션
+    private final RateGovernor rateGovernor; // 호스트별 요청 예산
+
+    private static final String HOST_QUERY1 = "query1.finance.yahoo.com";
+    private static final String HOST_QUERY2 = "query2.finance.yahoo.com";
 
-    private volatile String crumb;
     private final AtomicInteger uaIndex = new AtomicInteger(0);
     private final AtomicLong blockedUntilEpochMs = new AtomicLong(0);
+    // 동일 경로 동시 요청 합치기(경로 정규화 키 기준)
+    private final SingleFlight<String, Map<String, Object>> jsonInFlight = new SingleFlight<>();
+    private final SingleFlight<String, Object> typedInFlight = new SingleFlight<>();
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int MAX_TYPED_BODY_BYTES = 16 * 1024 * 1024;
     private static final String[] USER_AGENTS = new String[] {
             // 다양한 브라우저 UA 회전으로 Anti-bot 완화
             "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome Safari",
@@ -43,78 +60,106 @@ public class YahooApiClient {
     public YahooApiClient(@Qualifier("yahooClient") WebClient yahooClient,
                           @Qualifier("yahooApiClient1") WebClient yahooClient1,
                           @Qualifier("yahooApiClient2") WebClient yahooClient2,
-                          @Qualifier("browserClient") WebClient browserClient,
-                          CookieStore cookieStore) {
+                          YahooSession session,
+                          RateGovernor rateGovernor) {
         this.yahooClient = yahooClient;
         this.yahooClient1 = yahooClient1;
         this.yahooClient2 = yahooClient2;
-        this.browserClient = browserClient;
-        this.cookieStore = cookieStore;
+        this.session = session;
+        this.rateGovernor = rateGovernor;
     }
 
     public Mono<Map<String, Object>> getJson(String path, String refererPath) {
-        long started = System.nanoTime();
         if (isTemporarilyBlocked()) {
             return Mono.error(new RuntimeException("Yahoo temporarily blocked"));
         }
-        return warmup(refererPath)
-                .then(ensureCrumb())
-                .defaultIfEmpty("")
-                .flatMap(c1 -> doRequestJson(yahooClient2, attachCrumb(path, c1), refererPath))
+        return jsonInFlight.execute(normalizeKey(path), () -> fetchJson(path, refererPath));
+    }
+
+    /**
+     * 타입 디코딩 경로: 응답 바디(DataBuffer)를 Map 트리로 만들지 않고 Jackson 스트리밍 파서로 바로 대상 구조를 채움.
+     * 동시 요청 합치기 키는 디코더 + 정규화 경로
+     */
+    public <T> Mono<T> getTyped(String path, String refererPath, YahooDecoder<T> decoder) {
+        if (isTemporarilyBlocked()) {
+            return Mono.error(new RuntimeException("Yahoo temporarily blocked"));
+        }
+        String key = decoder.getClass().getName() + "|" + normalizeKey(path);
+        return typedInFlight.execute(key, () -> fetch(path, refererPath, resp -> handleTyped(resp, decoder)).map(v -> (Object) v))
+                .map(v -> {
+                    @SuppressWarnings("unchecked")
+                    T t = (T) v;
+                    return t;
+                });
+    }
+
+    private Mono<Map<String, Object>> fetchJson(String path, String refererPath) {
+        return fetch(path, refererPath, this::handleJson);
+    }
+
+    private <T> Mono<T> fetch(String path, String refererPath, Function<ClientResponse, Mono<T>> handler) {
+        long started = System.nanoTime();
+        // 유효 세션이 있으면 워밍업 없이 바로 호출, 차단 응답 시에만 세션 무효화 후 재워밍업
+        return session.crumb(refererPath)
+                .flatMap(c1 -> doRequest(yahooClient2, attachCrumb(path, c1), refererPath, handler))
                 .onErrorResume(this::isBlocked, e ->
                         Mono.delay(Duration.ofMillis(250))
                                 .then(invalidateCrumb())
-                                .then(ensureCrumb().defaultIfEmpty(""))
-                                .flatMap(c2 -> doRequestJson(yahooClient1, attachCrumb(path, c2), refererPath)))
+                                .then(Mono.defer(() -> session.crumb(refererPath)))
+                                .flatMap(c2 -> doRequest(yahooClient1, attachCrumb(path, c2), refererPath, handler)))
                 .onErrorResume(this::isBlocked, e ->
                         Mono.delay(Duration.ofMillis(350))
                                 .then(invalidateCrumb())
-                                .then(ensureCrumb().defaultIfEmpty(""))
-                                .flatMap(c3 -> doRequestJson(yahooClient, attachCrumb(path, c3), refererPath)))
+                                .then(Mono.defer(() -> session.crumb(refererPath)))
+                                .flatMap(c3 -> doRequest(yahooClient, attachCrumb(path, c3), refererPath, handler)))
                 .onErrorResume(this::shouldRetryAntiBot, e -> {
                     long jitter = ThreadLocalRandom.current().nextLong(500, 1200);
                     return Mono.delay(Duration.ofMillis(jitter))
                             .then(invalidateCrumb())
-                            .then(ensureCrumb().defaultIfEmpty(""))
-                            .flatMap(c4 -> doRequestJson(yahooClient2, attachCrumb(path, c4), refererPath));
+                            .then(Mono.defer(() -> session.crumb(refererPath)))
+                            .flatMap(c4 -> doRequest(yahooClient2, attachCrumb(path, c4), refererPath, handler));
                 })
                 .doOnError(err -> { if (isBlocked(err)) blockFor(Duration.ofMinutes(2)); })
                 .doOnSuccess(r -> log.debug("Yahoo GET {} took {} ms", path, (System.nanoTime()-started)/1_000_000))
                 .doOnError(err -> log.warn("Yahoo GET {} failed after {} ms: {}", path, (System.nanoTime()-started)/1_000_000, err.toString()));
     }
 
+    /** 동시 요청 합치기 통계: leaders=실제 업스트림 호출 수, joins=진행 중 호출에 합류한 수 */
+    public Map<String, Long> inFlightStats() {
+        Map<String, Long> m = new LinkedHashMap<>();
+        m.put("leaders", jsonInFlight.leaders());
+        m.put("joins", jsonInFlight.joins());
+        m.put("inFlight", (long) jsonInFlight.inFlightCount());
+        m.put("typedLeaders", typedInFlight.leaders());
+        m.put("typedJoins", typedInFlight.joins());
+        return m;
+    }
+
+    /**
+     * 쿼리 파라미터 순서만 다른 동일 요청이 같은 키를 갖도록 정규화
+     * e.g. "/v7/finance/quote?symbols=A&lang=en-US" == "/v7/finance/quote?lang=en-US&symbols=A"
+     */
+    static String normalizeKey(String path) {
+        if (path == null) return "";
+        String p = path.trim();
+        int q = p.indexOf('?');
+        if (q < 0 || q == p.length() - 1) return p;
+        String[] params = p.substring(q + 1).split("&");
+        Arrays.sort(params);
+        return p.substring(0, q) + "?" + String.join("&", params);
+    }
+
     public Mono<String> getText(String path, String refererPath) {
-        return warmup(refererPath)
+        return session.ensureCookies(refererPath)
                 .then(doRequestText(yahooClient2, path, refererPath)
                         .onErrorResume(this::isBlocked, e -> doRequestText(yahooClient1, path, refererPath))
                         .onErrorResume(this::isBlocked, e -> doRequestText(yahooClient, path, refererPath))
                 );
     }
 
-    private Mono<Void> warmup(String refererPath) {
-        String uri = (refererPath == null || refererPath.isBlank()) ? "/" : refererPath;
-        return browserClient.get().uri(uri)
-                .accept(MediaType.TEXT_HTML)
-                .exchangeToMono(resp -> {
-                    List<String> setCookies = resp.headers().header("Set-Cookie");
-                    for (String line : setCookies) {
-                        String nv = CookieStore.extractNameValue(line);
-                        if (nv != null) {
-                            int eq = nv.indexOf('=');
-                            if (eq > 0) {
-                                String name = nv.substring(0, eq);
-                                String value = nv.substring(eq + 1);
-                                cookieStore.put(name, value);
-                            }
-                        }
-                    }
-                    return resp.releaseBody();
-                })
-                .onErrorResume(e -> Mono.empty());
-    }
-
-    private Mono<Map<String, Object>> doRequestJson(WebClient client, String path, String refererPath) {
-        return client.get().uri(path)
+    private <T> Mono<T> doRequest(WebClient client, String path, String refererPath, Function<ClientResponse, Mono<T>> handler) {
+        String host = hostOf(client);
+        return rateGovernor.acquire(host).then(client.get().uri(path)
                 .accept(MediaType.APPLICATION_JSON)
                 .headers(h -> {
                     h.set("Accept", "application/json, text/javascript, */*; q=0.01");
@@ -133,14 +178,17 @@ public class YahooApiClient {
                     if (refererPath != null && !refererPath.isBlank()) {
                         h.set("Referer", "https://finance.yahoo.com" + refererPath);
                     }
-                    String cookie = cookieStore.asCookieHeader();
+                    String cookie = session.cookieHeader();
                     if (!cookie.isBlank()) h.set("Cookie", cookie);
                 })
-                .exchangeToMono(this::handleJson);
+                .exchangeToMono(handler))
+                .doOnSuccess(r -> rateGovernor.onSuccess(host))
+                .doOnError(e -> { if (isThrottled(e)) rateGovernor.onThrottled(host); });
     }
 
     private Mono<String> doRequestText(WebClient client, String path, String refererPath) {
-        return client.get().uri(path)
+        String host = hostOf(client);
+        return rateGovernor.acquire(host).then(client.get().uri(path)
                 .accept(MediaType.TEXT_PLAIN)
                 .headers(h -> {
                     h.set("Accept-Language", "en-US,en;q=0.9");
@@ -149,7 +197,7 @@ public class YahooApiClient {
                     if (refererPath != null && !refererPath.isBlank()) {
                         h.set("Referer", "https://finance.yahoo.com" + refererPath);
                     }
-                    String cookie = cookieStore.asCookieHeader();
+                    String cookie = session.cookieHeader();
                     if (!cookie.isBlank()) h.set("Cookie", cookie);
                 })
                 .exchangeToMono(resp -> {
@@ -158,14 +206,35 @@ public class YahooApiClient {
                         return resp.releaseBody().then(Mono.error(new RuntimeException("Yahoo text error (" + code + ")")));
                     }
                     return resp.bodyToMono(String.class);
-                });
+                }))
+                .doOnSuccess(r -> rateGovernor.onSuccess(host))
+                .doOnError(e -> { if (isThrottled(e)) rateGovernor.onThrottled(host); });
     }
 
     private Mono<Map<String, Object>> handleJson(ClientResponse resp) {
+        return handleBody(resp, r -> r.bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
+    }
+
+    private <T> Mono<T> handleTyped(ClientResponse resp, YahooDecoder<T> decoder) {
+        return handleBody(resp, r -> DataBufferUtils.join(r.body(BodyExtractors.toDataBuffers()), MAX_TYPED_BODY_BYTES)
+                .flatMap(buf -> {
+                    try (InputStream in = buf.asInputStream(true); JsonParser p = JSON.createParser(in)) {
+                        p.nextToken();
+                        return Mono.justOrEmpty(decoder.decode(p));
+                    } catch (IOException e) {
+                        return Mono.error(new RuntimeException("Yahoo JSON decode failed: " + e.getMessage(), e));
+                    }
+                }));
+    }
+
+    private <T> Mono<T> handleBody(ClientResponse resp, Function<ClientResponse, Mono<T>> bodyReader) {
         int code = resp.statusCode().value();
         if (code == 401 || code == 403) {
             return resp.releaseBody().then(Mono.error(new RuntimeException("Yahoo blocked (" + code + ")")));
         }
+        if (code == 429) {
+            return resp.releaseBody().then(Mono.error(new RuntimeException("Yahoo rate limited (429)")));
+        }
         String ct = resp.headers().contentType().map(MediaType::toString).orElse("<none>");
         String ce = String.join(",", resp.headers().header("Content-Encoding"));
         if (!ct.contains("json")) {
@@ -177,20 +246,15 @@ public class YahooApiClient {
                         return Mono.error(new RuntimeException("Yahoo returned non-JSON (" + ct + ")"));
                     });
         }
-        return resp.bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
+        return bodyReader.apply(resp);
     }
 
     public Mono<String> ensureCrumb() {
-        if (crumb != null && !crumb.isBlank()) return Mono.just(crumb);
-        return tryGetCrumb(yahooClient2)
-                .onErrorResume(e -> tryGetCrumb(yahooClient1))
-                .doOnNext(c -> this.crumb = c)
-                .onErrorResume(e -> Mono.empty());
+        return session.crumb("/").filter(c -> !c.isBlank());
     }
 
     public Mono<Void> invalidateCrumb() {
-        this.crumb = null;
-        return Mono.empty();
+        return Mono.fromRunnable(session::invalidate);
     }
 
     private String attachCrumb(String path, String c) {
@@ -198,25 +262,6 @@ public class YahooApiClient {
         return path + (path.contains("?") ? "&" : "?") + "crumb=" + c;
     }
 
-    private Mono<String> tryGetCrumb(WebClient client) {
-        return client.get().uri("/v1/test/getcrumb")
-                .accept(MediaType.TEXT_PLAIN)
-                .headers(h -> {
-                    h.set("Accept-Language", "en-US,en;q=0.9");
-                    h.set("Origin", "https://finance.yahoo.com");
-                    h.set("Referer", "https://finance.yahoo.com/");
-                    String cookie = cookieStore.asCookieHeader();
-                    if (!cookie.isBlank()) h.set("Cookie", cookie);
-                })
-                .exchangeToMono(resp -> {
-                    int code = resp.statusCode().value();
-                    if (code >= 400) {
-                        return resp.releaseBody().then(Mono.error(new RuntimeException("crumb fetch failed (" + code + ")")));
-                    }
-                    return resp.bodyToMono(String.class).map(String::trim).filter(s -> !s.isBlank());
-                });
-    }
-
     private boolean isBlocked(Throwable e) {
         if (e == null) return false;
         if (e instanceof WebClientResponseException w) {
@@ -227,10 +272,22 @@ public class YahooApiClient {
         return msg != null && (msg.contains("Yahoo blocked (401)") || msg.contains("Yahoo blocked (403)"));
     }
 
+    /** 레이트 거버너 피드백 대상: 401/403 차단 및 429 */
+    private boolean isThrottled(Throwable e) {
+        if (isBlocked(e)) return true;
+        if (e instanceof WebClientResponseException w) return w.getStatusCode().value() == 429;
+        String msg = (e == null) ? null : e.getMessage();
+        return msg != null && (msg.contains("(429)") || msg.contains("Yahoo text error (401)") || msg.contains("Yahoo text error (403)"));
+    }
+
+    private String hostOf(WebClient client) {
+        return client == yahooClient1 ? HOST_QUERY1 : HOST_QUERY2;
+    }
+
     private boolean shouldRetryAntiBot(Throwable e) {
         if (isBlocked(e)) return true;
         String msg = (e == null) ? null : e.getMessage();
-        return msg != null && (msg.contains("non-JSON") || msg.contains("crumb fetch failed") || msg.contains("connection reset"));
+        return msg != null && (msg.contains("non-JSON") || msg.contains("(429)") || msg.contains("crumb fetch failed") || msg.contains("connection reset"));
     }
 
     private String nextUserAgent() {
@@ -0,0 +1,14 @@
+package com.example.yfin.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Yahoo 응답 스트리밍 디코더. 파서는 루트 토큰(START_OBJECT)에 위치한 상태로 전달됨.
+ * 같은 경로의 동시 요청은 디코더 클래스 단위로 합쳐지므로 구현은 상태를 갖지 않아야 함
+ */
+@FunctionalInterface
+public interface YahooDecoder<T> {
+    T decode(JsonParser p) throws IOException;
+}
@@ -0,0 +1,171 @@
+package com.example.yfin.http;
+
+import com.example.yfin.util.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Yahoo 쿠키/크럼 세션 관리자.
+ * - CookieStore와 crumb을 소유하고 만료 시각을 추적 (query1/query2/default 클라이언트가 공유)
+ * - 유효한 세션이 있으면 요청마다 finance.yahoo.com 워밍업을 생략
+ * - 만료 임박 시 백그라운드에서 선제 갱신, 401/403 또는 쿠키 만료 시에만 재워밍업
+ */
+@Component
+public class YahooSession {
+
+    private static final Logger log = LoggerFactory.getLogger(YahooSession.class);
+
+    private final WebClient browserClient;
+    private final WebClient yahooClient1;
+    private final WebClient yahooClient2;
+    private final CookieStore cookieStore;
+    private final Duration crumbTtl;
+    private final Duration refreshAhead;
+    private final Duration checkInterval;
+
+    // 동시 갱신 요청은 하나로 합침
+    private final SingleFlight<String, State> refreshInFlight = new SingleFlight<>();
+    private volatile State state = State.EMPTY;
+    private Disposable refresher;
+
+    public YahooSession(@Qualifier("browserClient") WebClient browserClient,
+                        @Qualifier("yahooApiClient1") WebClient yahooClient1,
+                        @Qualifier("yahooApiClient2") WebClient yahooClient2,
+                        CookieStore cookieStore,
+                        @Value("${yahoo.session.crumb-ttl-seconds:3600}") long crumbTtlSec,
+                        @Value("${yahoo.session.refresh-ahead-seconds:300}") long refreshAheadSec,
+                        @Value("${yahoo.session.check-interval-seconds:60}") long checkIntervalSec) {
+        this.browserClient = browserClient;
+        this.yahooClient1 = yahooClient1;
+        this.yahooClient2 = yahooClient2;
+        this.cookieStore = cookieStore;
+        this.crumbTtl = Duration.ofSeconds(Math.max(60, crumbTtlSec));
+        this.refreshAhead = Duration.ofSeconds(Math.max(0, refreshAheadSec));
+        this.checkInterval = Duration.ofSeconds(Math.max(5, checkIntervalSec));
+    }
+
+    @PostConstruct
+    public void startBackgroundRefresh() {
+        refresher = Flux.interval(checkInterval, checkInterval)
+                .filter(i -> state.warmed() && state.expiresWithin(refreshAhead, cookieStore))
+                .concatMap(i -> refresh("/")
+                        .doOnNext(s -> log.debug("Yahoo session refreshed proactively (crumb={})", !s.crumb().isBlank()))
+                        .onErrorResume(e -> {
+                            log.warn("Yahoo session proactive refresh failed: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopBackgroundRefresh() {
+        if (refresher != null) refresher.dispose();
+    }
+
+    /** 유효한 crumb 반환(없으면 빈 문자열). 세션이 없거나 만료되었을 때만 워밍업/크럼 재발급 */
+    public Mono<String> crumb(String refererPath) {
+        State s = state;
+        if (s.isValid(cookieStore)) return Mono.just(s.crumb());
+        return refresh(refererPath).map(State::crumb).defaultIfEmpty("");
+    }
+
+    /** 텍스트 요청 등 crumb이 필요 없는 경로용: 쿠키만 보장 */
+    public Mono<Void> ensureCookies(String refererPath) {
+        State s = state;
+        if (s.warmed() && !s.cookiesExpired(cookieStore)) return Mono.empty();
+        return refresh(refererPath).then();
+    }
+
+    /** 401/403 등 차단 응답 시 호출: 다음 요청에서 재워밍업 */
+    public void invalidate() {
+        state = State.EMPTY;
+        cookieStore.removeExpired();
+    }
+
+    public String cookieHeader() {
+        return cookieStore.asCookieHeader();
+    }
+
+    public boolean isValid() {
+        return state.isValid(cookieStore);
+    }
+
+    private Mono<State> refresh(String refererPath) {
+        return refreshInFlight.execute("session", () -> warmup(refererPath)
+                .then(fetchCrumb(yahooClient2).onErrorResume(e -> fetchCrumb(yahooClient1)))
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty("")
+                .map(c -> {
+                    long now = System.currentTimeMillis();
+                    // crumb을 못 받은 경우 짧게 유지하여 곧 재시도
+                    long ttlMs = c.isBlank() ? Math.min(crumbTtl.toMillis(), 30_000L) : crumbTtl.toMillis();
+                    State next = new State(c, now, now + ttlMs);
+                    state = next;
+                    return next;
+                }));
+    }
+
+    private Mono<Void> warmup(String refererPath) {
+        String uri = (refererPath == null || refererPath.isBlank()) ? "/" : refererPath;
+        cookieStore.removeExpired();
+        return browserClient.get().uri(uri)
+                .accept(MediaType.TEXT_HTML)
+                .exchangeToMono(resp -> {
+                    for (String line : resp.headers().header("Set-Cookie")) {
+                        cookieStore.putSetCookie(line);
+                    }
+                    return resp.releaseBody();
+                })
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private Mono<String> fetchCrumb(WebClient client) {
+        return client.get().uri("/v1/test/getcrumb")
+                .accept(MediaType.TEXT_PLAIN)
+                .headers(h -> {
+                    h.set("Accept-Language", "en-US,en;q=0.9");
+                    h.set("Origin", "https://finance.yahoo.com");
+                    h.set("Referer", "https://finance.yahoo.com/");
+                    String cookie = cookieStore.asCookieHeader();
+                    if (!cookie.isBlank()) h.set("Cookie", cookie);
+                })
+                .exchangeToMono(resp -> {
+                    int code = resp.statusCode().value();
+                    if (code >= 400) {
+                        return resp.releaseBody().then(Mono.error(new RuntimeException("crumb fetch failed (" + code + ")")));
+                    }
+                    return resp.bodyToMono(String.class).map(String::trim).filter(s -> !s.isBlank());
+                });
+    }
+
+    private record State(String crumb, long warmedAtEpochMs, long crumbExpiresAtEpochMs) {
+        static final State EMPTY = new State("", 0L, 0L);
+
+        boolean warmed() { return warmedAtEpochMs > 0; }
+
+        boolean cookiesExpired(CookieStore store) {
+            return store.earliestExpiryEpochMs() <= System.currentTimeMillis();
+        }
+
+        boolean isValid(CookieStore store) {
+            return warmed() && System.currentTimeMillis() < crumbExpiresAtEpochMs && !cookiesExpired(store);
+        }
+
+        boolean expiresWithin(Duration d, CookieStore store) {
+            long horizon = System.currentTimeMillis() + d.toMillis();
+            return crumbExpiresAtEpochMs <= horizon || store.earliestExpiryEpochMs() <= horizon;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.model.DivRow;
+import com.example.yfin.model.HistorySeries;
+
+import java.util.List;
+
+/** /v8/finance/chart 디코딩 결과: 시계열 + 배당/분할 이벤트(날짜 오름차순) */
+public record ChartData(HistorySeries series, List<DivRow> dividends, List<Split> splits) {
+
+    public record Split(long epochSec, Integer numerator, Integer denominator) { }
+}
@@ -0,0 +1,138 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.http.YahooDecoder;
+import com.example.yfin.model.DivRow;
+import com.example.yfin.model.HistorySeries;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * chart.result[0]에서 timestamp, indicators.quote[0](OHLCV), events(dividends/splits)만 읽음.
+ * 나머지(meta, adjclose 등)는 트리 생성 없이 건너뜀
+ */
+public final class ChartDecoder implements YahooDecoder<ChartData> {
+
+    public static final ChartDecoder INSTANCE = new ChartDecoder();
+
+    private ChartDecoder() { }
+
+    @Override
+    public ChartData decode(JsonParser p) throws IOException {
+        ChartData empty = new ChartData(HistorySeries.empty(), List.of(), List.of());
+        if (p.currentToken() != JsonToken.START_OBJECT) return empty;
+        if (!JsonStreams.seekField(p, "chart") || p.currentToken() != JsonToken.START_OBJECT) return empty;
+        if (!JsonStreams.seekField(p, "result") || !JsonStreams.firstObjectInArray(p)) return empty;
+        return readResult(p);
+    }
+
+    private static ChartData readResult(JsonParser p) throws IOException {
+        long[] ts = new long[0];
+        double[] open = null, high = null, low = null, close = null;
+        long[] volume = null;
+        boolean hasQuote = false;
+        List<DivRow> dividends = new ArrayList<>();
+        List<ChartData.Split> splits = new ArrayList<>();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "timestamp" -> ts = JsonStreams.readLongs(p, 0L);
+                case "events" -> readEvents(p, dividends, splits);
+                case "indicators" -> {
+                    if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); break; }
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String f = p.currentName();
+                        p.nextToken();
+                        if (!"quote".equals(f) || !JsonStreams.firstObjectInArray(p)) { p.skipChildren(); continue; }
+                        hasQuote = true;
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String col = p.currentName();
+                            p.nextToken();
+                            switch (col) {
+                                case "open" -> open = JsonStreams.readDoubles(p);
+                                case "high" -> high = JsonStreams.readDoubles(p);
+                                case "low" -> low = JsonStreams.readDoubles(p);
+                                case "close" -> close = JsonStreams.readDoubles(p);
+                                case "volume" -> volume = JsonStreams.readLongs(p, HistorySeries.MISSING_VOLUME);
+                                default -> p.skipChildren();
+                            }
+                        }
+                        // quote 배열의 나머지 요소
+                        while (p.nextToken() != JsonToken.END_ARRAY) p.skipChildren();
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        dividends.sort(Comparator.comparing(DivRow::getDate));
+        splits.sort(Comparator.comparingLong(ChartData.Split::epochSec));
+        HistorySeries series = (!hasQuote || ts.length == 0) ? HistorySeries.empty()
+                : new HistorySeries(ts, fit(open, ts.length), fit(high, ts.length), fit(low, ts.length), fit(close, ts.length),
+                        fitVolume(volume, ts.length));
+        return new ChartData(series, dividends, splits);
+    }
+
+    private static void readEvents(JsonParser p, List<DivRow> dividends, List<ChartData.Split> splits) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); return; }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String kind = p.currentName();
+            p.nextToken();
+            if (p.currentToken() != JsonToken.START_OBJECT || !("dividends".equals(kind) || "splits".equals(kind))) {
+                p.skipChildren();
+                continue;
+            }
+            // {"<epoch>": {...}, ...}
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                p.nextToken();
+                if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); continue; }
+                Long date = null;
+                Double amount = null;
+                Integer num = null, den = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String f = p.currentName();
+                    p.nextToken();
+                    switch (f) {
+                        case "date" -> date = JsonStreams.readLong(p);
+                        case "amount" -> amount = JsonStreams.readNumber(p);
+                        case "numerator" -> { Long v = JsonStreams.readLong(p); num = v == null ? null : v.intValue(); }
+                        case "denominator" -> { Long v = JsonStreams.readLong(p); den = v == null ? null : v.intValue(); }
+                        default -> p.skipChildren();
+                    }
+                }
+                if (date == null) continue;
+                if ("dividends".equals(kind)) {
+                    DivRow d = new DivRow();
+                    d.setDate(Instant.ofEpochSecond(date));
+                    d.setAmount(amount);
+                    dividends.add(d);
+                } else {
+                    splits.add(new ChartData.Split(date, num, den));
+                }
+            }
+        }
+    }
+
+    /** 결측 컬럼/길이 부족분은 NaN으로 맞춤 */
+    private static double[] fit(double[] col, int n) {
+        if (col != null && col.length == n) return col;
+        double[] out = new double[n];
+        Arrays.fill(out, Double.NaN);
+        if (col != null) System.arraycopy(col, 0, out, 0, Math.min(n, col.length));
+        return out;
+    }
+
+    private static long[] fitVolume(long[] col, int n) {
+        if (col != null && col.length == n) return col;
+        long[] out = new long[n];
+        Arrays.fill(out, HistorySeries.MISSING_VOLUME);
+        if (col != null) System.arraycopy(col, 0, out, 0, Math.min(n, col.length));
+        return out;
+    }
+}
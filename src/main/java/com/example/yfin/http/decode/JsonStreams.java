@@ -0,0 +1,91 @@
+package com.example.yfin.http.decode;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/** 스트리밍 디코더 공용 유틸. 파서는 값 토큰(배열/객체 시작 등)에 위치한 상태로 호출 */
+final class JsonStreams {
+
+    private JsonStreams() { }
+
+    /** 숫자 배열 → double[] (null은 NaN) */
+    static double[] readDoubles(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) { p.skipChildren(); return new double[0]; }
+        double[] out = new double[256];
+        int n = 0;
+        for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+            if (n == out.length) out = Arrays.copyOf(out, n * 2);
+            out[n++] = t.isNumeric() ? p.getDoubleValue() : Double.NaN;
+            if (t.isStructStart()) p.skipChildren();
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /** 숫자 배열 → long[] (null은 missing) */
+    static long[] readLongs(JsonParser p, long missing) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) { p.skipChildren(); return new long[0]; }
+        long[] out = new long[256];
+        int n = 0;
+        for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+            if (n == out.length) out = Arrays.copyOf(out, n * 2);
+            out[n++] = t.isNumeric() ? p.getValueAsLong() : missing;
+            if (t.isStructStart()) p.skipChildren();
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /** 숫자 또는 {raw, fmt} 객체 → Double */
+    static Double readNumber(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t != null && t.isNumeric()) return p.getDoubleValue();
+        if (t == JsonToken.START_OBJECT) {
+            Double raw = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken v = p.nextToken();
+                if ("raw".equals(name) && v.isNumeric()) raw = p.getDoubleValue();
+                else p.skipChildren();
+            }
+            return raw;
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            String s = p.getText().trim();
+            if (s.endsWith("%")) s = s.substring(0, s.length() - 1).trim();
+            try { return Double.parseDouble(s); } catch (NumberFormatException ignored) { return null; }
+        }
+        p.skipChildren();
+        return null;
+    }
+
+    static Long readLong(JsonParser p) throws IOException {
+        Double d = readNumber(p);
+        return d == null ? null : d.longValue();
+    }
+
+    /** 현재 객체에서 name 필드를 찾아 값 토큰에 위치. 없으면 false(객체 끝에 위치) */
+    static boolean seekField(JsonParser p, String name) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String f = p.currentName();
+            p.nextToken();
+            if (name.equals(f)) return true;
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    /** 배열의 첫 객체에 위치(START_OBJECT). 없으면 false */
+    static boolean firstObjectInArray(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) { p.skipChildren(); return false; }
+        JsonToken t = p.nextToken();
+        if (t == JsonToken.START_OBJECT) return true;
+        while (t != null && t != JsonToken.END_ARRAY) {
+            p.skipChildren();
+            t = p.nextToken();
+            if (t == JsonToken.START_OBJECT) return true;
+        }
+        return false;
+    }
+}
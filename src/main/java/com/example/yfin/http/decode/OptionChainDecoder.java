@@ -0,0 +1,85 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.http.YahooDecoder;
+import com.example.yfin.model.OptionRow;
+import com.example.yfin.model.OptionType;
+import com.example.yfin.model.OptionsResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * optionChain.result[0].options[0]의 calls/puts를 OptionRow로 바로 디코딩.
+ * ticker/expiration 요청값은 호출 측에서 채움. 행에 만기가 없으면 options[0].expirationDate로 보완
+ */
+public final class OptionChainDecoder implements YahooDecoder<OptionsResponse> {
+
+    public static final OptionChainDecoder INSTANCE = new OptionChainDecoder();
+
+    private OptionChainDecoder() { }
+
+    @Override
+    public OptionsResponse decode(JsonParser p) throws IOException {
+        OptionsResponse res = new OptionsResponse();
+        res.setCalls(List.of());
+        res.setPuts(List.of());
+        if (p.currentToken() != JsonToken.START_OBJECT) return res;
+        if (!JsonStreams.seekField(p, "optionChain") || p.currentToken() != JsonToken.START_OBJECT) return res;
+        if (!JsonStreams.seekField(p, "result") || !JsonStreams.firstObjectInArray(p)) return res;
+        if (!JsonStreams.seekField(p, "options") || !JsonStreams.firstObjectInArray(p)) return res;
+
+        List<OptionRow> calls = new ArrayList<>();
+        List<OptionRow> puts = new ArrayList<>();
+        Long expirationDate = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "expirationDate" -> expirationDate = JsonStreams.readLong(p);
+                case "calls" -> readRows(p, OptionType.CALL, calls);
+                case "puts" -> readRows(p, OptionType.PUT, puts);
+                default -> p.skipChildren();
+            }
+        }
+        if (expirationDate != null) {
+            Instant fallback = Instant.ofEpochSecond(expirationDate);
+            for (OptionRow r : calls) if (r.getExpiration() == null) r.setExpiration(fallback);
+            for (OptionRow r : puts) if (r.getExpiration() == null) r.setExpiration(fallback);
+        }
+        res.setCalls(calls);
+        res.setPuts(puts);
+        return res;
+    }
+
+    private static void readRows(JsonParser p, OptionType type, List<OptionRow> out) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) { p.skipChildren(); return; }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); continue; }
+            OptionRow row = new OptionRow();
+            row.setType(type);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String f = p.currentName();
+                p.nextToken();
+                switch (f) {
+                    case "expiration" -> {
+                        Long exp = JsonStreams.readLong(p);
+                        if (exp != null) row.setExpiration(Instant.ofEpochSecond(exp));
+                    }
+                    case "strike" -> row.setStrike(JsonStreams.readNumber(p));
+                    case "lastPrice" -> row.setLastPrice(JsonStreams.readNumber(p));
+                    case "bid" -> row.setBid(JsonStreams.readNumber(p));
+                    case "ask" -> row.setAsk(JsonStreams.readNumber(p));
+                    case "volume" -> row.setVolume(JsonStreams.readLong(p));
+                    case "openInterest" -> row.setOpenInterest(JsonStreams.readLong(p));
+                    case "impliedVolatility" -> row.setImpliedVolatility(JsonStreams.readNumber(p));
+                    default -> p.skipChildren();
+                }
+            }
+            out.add(row);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.http.YahooDecoder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * quoteSummary.result[0].summaryDetail의 숫자 필드만 평탄한 Map(필드명 → raw 값)으로 디코딩.
+ * {raw, fmt} 객체는 raw만 사용하고 문자열/중첩 값은 건너뜀
+ */
+public final class SummaryDetailDecoder implements YahooDecoder<Map<String, Double>> {
+
+    public static final SummaryDetailDecoder INSTANCE = new SummaryDetailDecoder();
+
+    private SummaryDetailDecoder() { }
+
+    @Override
+    public Map<String, Double> decode(JsonParser p) throws IOException {
+        Map<String, Double> out = new LinkedHashMap<>();
+        if (p.currentToken() != JsonToken.START_OBJECT) return out;
+        if (!JsonStreams.seekField(p, "quoteSummary") || p.currentToken() != JsonToken.START_OBJECT) return out;
+        if (!JsonStreams.seekField(p, "result") || !JsonStreams.firstObjectInArray(p)) return out;
+        if (!JsonStreams.seekField(p, "summaryDetail") || p.currentToken() != JsonToken.START_OBJECT) return out;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken t = p.nextToken();
+            if (t.isNumeric() || t == JsonToken.START_OBJECT) {
+                Double v = JsonStreams.readNumber(p);
+                if (v != null) out.put(name, v);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.yfin.model;
+
+/**
+ * 인덱스 접근 OHLCV 컬럼 뷰.
+ * - 힙 배열(HistorySeries)과 메모리 매핑 파일(MappedBars)을 같은 방식으로 순회하기 위한 공통 인터페이스
+ * - 결측 가격은 NaN, 결측 거래량은 HistorySeries.MISSING_VOLUME
+ */
+public interface BarColumns {
+
+    int size();
+
+    long epochSecAt(int i);
+
+    double openAt(int i);
+
+    double highAt(int i);
+
+    double lowAt(int i);
+
+    double closeAt(int i);
+
+    long volumeAt(int i);
+
+    /** [from, to) 구간. 구현에 따라 복사 또는 뷰 */
+    BarColumns slice(int from, int to);
+
+    default boolean isEmpty() { return size() == 0; }
+
+    /** epochSec 이상인 첫 인덱스(시간 오름차순 전제) */
+    default int lowerBound(long epochSec) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochSecAt(mid) < epochSec) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.yfin.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Schema(description = "시세 보강용 배당 지표(일 단위 갱신)")
+@Getter
+@Setter
+public class DividendFields {
+    @Schema(description = "티커")
+    private String symbol;
+    @Schema(description = "선행 배당금 총액(summaryDetail)")
+    private Double forwardDividendRate;
+    @Schema(description = "선행 배당수익률(소수, summaryDetail)")
+    private Double forwardDividendYield;
+    @Schema(description = "최근 1년 배당금 합계(선행 값이 없을 때만 계산)")
+    private Double ttmDividendRate;
+}
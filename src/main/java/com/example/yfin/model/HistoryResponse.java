@@ -1,6 +1,7 @@
 package com.example.yfin.model;
 
-import java.util.List;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,6 +16,8 @@ public class HistoryResponse {
     private String range;
     @Schema(description = "간격", example = "1d")
     private String interval;
-    @Schema(description = "시계열 데이터")
-    private List<HistoryRow> rows;
-}
\ No newline at end of file
+    // 내부는 컬럼 기반, JSON은 기존과 동일한 rows 배열
+    @JsonProperty("rows")
+    @ArraySchema(arraySchema = @Schema(description = "시계열 데이터"), schema = @Schema(implementation = HistoryRow.class))
+    private HistorySeries series = HistorySeries.empty();
+}
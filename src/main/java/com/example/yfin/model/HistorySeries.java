@@ -0,0 +1,225 @@
+package com.example.yfin.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 컬럼 기반 OHLCV 시계열(행 객체/박싱 없음).
+ * - 결측 가격은 NaN, 결측 거래량은 MISSING_VOLUME
+ * - JSON 경계에서는 기존 HistoryRow 배열 형식({time, open, high, low, close, volume})으로 직접 스트리밍
+ */
+@JsonSerialize(using = HistorySeries.RowsSerializer.class)
+@JsonDeserialize(using = HistorySeries.RowsDeserializer.class)
+public final class HistorySeries implements BarColumns {
+
+    public static final long MISSING_VOLUME = Long.MIN_VALUE;
+
+    private static final HistorySeries EMPTY = new HistorySeries(new long[0], new double[0], new double[0], new double[0], new double[0], new long[0]);
+
+    private final long[] epochSec;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+
+    public HistorySeries(long[] epochSec, double[] open, double[] high, double[] low, double[] close, long[] volume) {
+        int n = epochSec.length;
+        if (open.length != n || high.length != n || low.length != n || close.length != n || volume.length != n) {
+            throw new IllegalArgumentException("column length mismatch");
+        }
+        this.epochSec = epochSec;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    public static HistorySeries empty() { return EMPTY; }
+
+    @Override
+    public int size() { return epochSec.length; }
+
+    @Override
+    public boolean isEmpty() { return epochSec.length == 0; }
+
+    // 컬럼 배열은 복사 없이 노출(읽기 전용으로 사용)
+    public long[] epochSec() { return epochSec; }
+    public double[] open() { return open; }
+    public double[] high() { return high; }
+    public double[] low() { return low; }
+    public double[] close() { return close; }
+    public long[] volume() { return volume; }
+
+    public Instant time(int i) { return Instant.ofEpochSecond(epochSec[i]); }
+
+    @Override public long epochSecAt(int i) { return epochSec[i]; }
+    @Override public double openAt(int i) { return open[i]; }
+    @Override public double highAt(int i) { return high[i]; }
+    @Override public double lowAt(int i) { return low[i]; }
+    @Override public double closeAt(int i) { return close[i]; }
+    @Override public long volumeAt(int i) { return volume[i]; }
+
+    /** 다른 컬럼 뷰(예: 매핑 파일)를 힙 배열로 복사 */
+    public static HistorySeries copyOf(BarColumns c) {
+        if (c instanceof HistorySeries hs) return hs;
+        int n = c.size();
+        if (n == 0) return EMPTY;
+        long[] t = new long[n], v = new long[n];
+        double[] o = new double[n], h = new double[n], l = new double[n], cl = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = c.epochSecAt(i); o[i] = c.openAt(i); h[i] = c.highAt(i); l[i] = c.lowAt(i); cl[i] = c.closeAt(i); v[i] = c.volumeAt(i);
+        }
+        return new HistorySeries(t, o, h, l, cl, v);
+    }
+
+    /** [from, to) 구간 뷰(복사) */
+    @Override
+    public HistorySeries slice(int from, int to) {
+        int f = Math.max(0, from), t = Math.min(size(), to);
+        if (f == 0 && t == size()) return this;
+        if (f >= t) return EMPTY;
+        return new HistorySeries(Arrays.copyOfRange(epochSec, f, t), Arrays.copyOfRange(open, f, t), Arrays.copyOfRange(high, f, t),
+                Arrays.copyOfRange(low, f, t), Arrays.copyOfRange(close, f, t), Arrays.copyOfRange(volume, f, t));
+    }
+
+    public HistoryRow rowAt(int i) {
+        HistoryRow row = new HistoryRow();
+        row.setTime(time(i));
+        row.setOpen(boxed(open[i]));
+        row.setHigh(boxed(high[i]));
+        row.setLow(boxed(low[i]));
+        row.setClose(boxed(close[i]));
+        row.setVolume(volume[i] == MISSING_VOLUME ? null : volume[i]);
+        return row;
+    }
+
+    /** 행 객체가 꼭 필요한 호출 측용 */
+    public List<HistoryRow> toRows() {
+        List<HistoryRow> out = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) out.add(rowAt(i));
+        return out;
+    }
+
+    public static HistorySeries fromRows(List<HistoryRow> rows) {
+        if (rows == null || rows.isEmpty()) return EMPTY;
+        Builder b = new Builder(rows.size());
+        for (HistoryRow r : rows) {
+            if (r == null || r.getTime() == null) continue;
+            b.add(r.getTime().getEpochSecond(), unboxed(r.getOpen()), unboxed(r.getHigh()), unboxed(r.getLow()), unboxed(r.getClose()),
+                    r.getVolume() == null ? MISSING_VOLUME : r.getVolume());
+        }
+        return b.build();
+    }
+
+    private static Double boxed(double v) { return Double.isNaN(v) ? null : v; }
+
+    private static double unboxed(Double v) { return v == null ? Double.NaN : v; }
+
+    /** 크기를 미리 알 수 없을 때 쓰는 가변 빌더 */
+    public static final class Builder {
+        private long[] t;
+        private double[] o, h, l, c;
+        private long[] v;
+        private int n;
+
+        public Builder(int capacity) {
+            int cap = Math.max(8, capacity);
+            t = new long[cap]; o = new double[cap]; h = new double[cap]; l = new double[cap]; c = new double[cap]; v = new long[cap];
+        }
+
+        public Builder add(long epochSec, double open, double high, double low, double close, long volume) {
+            if (n == t.length) grow();
+            t[n] = epochSec; o[n] = open; h[n] = high; l[n] = low; c[n] = close; v[n] = volume;
+            n++;
+            return this;
+        }
+
+        private void grow() {
+            int cap = t.length * 2;
+            t = Arrays.copyOf(t, cap); o = Arrays.copyOf(o, cap); h = Arrays.copyOf(h, cap);
+            l = Arrays.copyOf(l, cap); c = Arrays.copyOf(c, cap); v = Arrays.copyOf(v, cap);
+        }
+
+        public HistorySeries build() {
+            if (n == 0) return EMPTY;
+            if (n == t.length) return new HistorySeries(t, o, h, l, c, v);
+            return new HistorySeries(Arrays.copyOf(t, n), Arrays.copyOf(o, n), Arrays.copyOf(h, n),
+                    Arrays.copyOf(l, n), Arrays.copyOf(c, n), Arrays.copyOf(v, n));
+        }
+    }
+
+    /** 컬럼 → 행 배열 JSON 직접 출력(HistoryRow 객체 생성 없음) */
+    public static final class RowsSerializer extends JsonSerializer<HistorySeries> {
+        @Override
+        public void serialize(HistorySeries s, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int n = s.size();
+            gen.writeStartArray(s, n);
+            for (int i = 0; i < n; i++) {
+                gen.writeStartObject();
+                gen.writeStringField("time", Instant.ofEpochSecond(s.epochSec[i]).toString());
+                writeDouble(gen, "open", s.open[i]);
+                writeDouble(gen, "high", s.high[i]);
+                writeDouble(gen, "low", s.low[i]);
+                writeDouble(gen, "close", s.close[i]);
+                gen.writeFieldName("volume");
+                if (s.volume[i] == MISSING_VOLUME) gen.writeNull(); else gen.writeNumber(s.volume[i]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+
+        private static void writeDouble(JsonGenerator gen, String name, double v) throws IOException {
+            gen.writeFieldName(name);
+            if (Double.isNaN(v)) gen.writeNull(); else gen.writeNumber(v);
+        }
+    }
+
+    /** 행 배열 JSON → 컬럼(토큰 스트림에서 바로 채움) */
+    public static final class RowsDeserializer extends JsonDeserializer<HistorySeries> {
+        @Override
+        public HistorySeries deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                return (HistorySeries) ctx.handleUnexpectedToken(HistorySeries.class, p);
+            }
+            Builder b = new Builder(64);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); continue; }
+                long t = Long.MIN_VALUE;
+                double o = Double.NaN, h = Double.NaN, l = Double.NaN, c = Double.NaN;
+                long v = MISSING_VOLUME;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.currentName();
+                    JsonToken tok = p.nextToken();
+                    if (tok == JsonToken.VALUE_NULL) continue;
+                    switch (name) {
+                        case "time" -> t = tok == JsonToken.VALUE_STRING ? Instant.parse(p.getText()).getEpochSecond() : (long) p.getValueAsDouble();
+                        case "open" -> o = p.getValueAsDouble();
+                        case "high" -> h = p.getValueAsDouble();
+                        case "low" -> l = p.getValueAsDouble();
+                        case "close" -> c = p.getValueAsDouble();
+                        case "volume" -> v = p.getValueAsLong();
+                        default -> p.skipChildren();
+                    }
+                }
+                if (t != Long.MIN_VALUE) b.add(t, o, h, l, c, v);
+            }
+            return b.build();
+        }
+    }
+}
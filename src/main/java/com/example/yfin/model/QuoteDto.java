@@ -1,11 +1,17 @@
 package com.example.yfin.model;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
 @Schema(description = "시세 요약 응답")
 public class QuoteDto {
     @Schema(description = "티커", example = "JEPI")
@@ -63,5 +69,4 @@ public class QuoteDto {
     // human-readable percent
     @Schema(description = "선행 배당수익률(% 단위)", example = "8.4")
     private Double forwardDividendYieldPct;
-
-}
\ No newline at end of file
+}
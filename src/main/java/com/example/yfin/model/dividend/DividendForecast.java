@@ -0,0 +1,65 @@
+package com.example.yfin.model.dividend;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "포트폴리오 월별 배당 수입 예측")
+public class DividendForecast {
+    @Schema(description = "향후 12개월 예상 배당 합")
+    private Double annualTotal;
+    @Schema(description = "월별 예상 수입(지급일 기준, 이번 달부터 12개월)")
+    private List<Month> months;
+    @Schema(description = "종목별 추정 일정")
+    private List<DividendSchedule> schedules;
+
+    public Double getAnnualTotal() { return annualTotal; }
+    public void setAnnualTotal(Double annualTotal) { this.annualTotal = annualTotal; }
+    public List<Month> getMonths() { return months; }
+    public void setMonths(List<Month> months) { this.months = months; }
+    public List<DividendSchedule> getSchedules() { return schedules; }
+    public void setSchedules(List<DividendSchedule> schedules) { this.schedules = schedules; }
+
+    @Schema(description = "월별 예상 수입")
+    public static class Month {
+        @Schema(description = "연월", example = "2026-11")
+        private String month;
+        @Schema(description = "예상 수입 합")
+        private Double amount;
+        @Schema(description = "지급 항목")
+        private List<Item> items;
+
+        public String getMonth() { return month; }
+        public void setMonth(String month) { this.month = month; }
+        public Double getAmount() { return amount; }
+        public void setAmount(Double amount) { this.amount = amount; }
+        public List<Item> getItems() { return items; }
+        public void setItems(List<Item> items) { this.items = items; }
+    }
+
+    @Schema(description = "예상 지급 항목(종목 1건)")
+    public static class Item {
+        private String symbol;
+        private Instant exDate;
+        private Instant payDate;
+        @Schema(description = "주당 배당금")
+        private Double amountPerShare;
+        private Double quantity;
+        @Schema(description = "주당 배당금 × 수량")
+        private Double amount;
+
+        public String getSymbol() { return symbol; }
+        public void setSymbol(String symbol) { this.symbol = symbol; }
+        public Instant getExDate() { return exDate; }
+        public void setExDate(Instant exDate) { this.exDate = exDate; }
+        public Instant getPayDate() { return payDate; }
+        public void setPayDate(Instant payDate) { this.payDate = payDate; }
+        public Double getAmountPerShare() { return amountPerShare; }
+        public void setAmountPerShare(Double amountPerShare) { this.amountPerShare = amountPerShare; }
+        public Double getQuantity() { return quantity; }
+        public void setQuantity(Double quantity) { this.quantity = quantity; }
+        public Double getAmount() { return amount; }
+        public void setAmount(Double amount) { this.amount = amount; }
+    }
+}
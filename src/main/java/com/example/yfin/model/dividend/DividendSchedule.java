@@ -0,0 +1,64 @@
+package com.example.yfin.model.dividend;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "종목별 추정 배당 일정(배당 이력 + 캘린더 기반)")
+public class DividendSchedule {
+    @Schema(description = "티커", example = "JEPI")
+    private String symbol;
+    @Schema(description = "추정 연간 지급 횟수(12/4/2/1, 이력 없음/불규칙은 0)")
+    private int frequency;
+    @Schema(description = "최근 1주기(약 1년) 주당 배당 합")
+    private Double ttmAmount;
+    @Schema(description = "마지막 배당락일(UTC)")
+    private Instant lastExDate;
+    @Schema(description = "다음 배당락일(UTC, 확정 또는 추정)")
+    private Instant nextExDate;
+    @Schema(description = "다음 배당락일이 캘린더로 확정된 값인지 여부")
+    private boolean confirmed;
+    @Schema(description = "배당락일 → 지급일 간격(일)")
+    private int payLagDays;
+    @Schema(description = "향후 12개월 추정 지급 목록")
+    private List<Payment> payments;
+    @Schema(description = "추정 시각(UTC)")
+    private Instant computedAt;
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public int getFrequency() { return frequency; }
+    public void setFrequency(int frequency) { this.frequency = frequency; }
+    public Double getTtmAmount() { return ttmAmount; }
+    public void setTtmAmount(Double ttmAmount) { this.ttmAmount = ttmAmount; }
+    public Instant getLastExDate() { return lastExDate; }
+    public void setLastExDate(Instant lastExDate) { this.lastExDate = lastExDate; }
+    public Instant getNextExDate() { return nextExDate; }
+    public void setNextExDate(Instant nextExDate) { this.nextExDate = nextExDate; }
+    public boolean isConfirmed() { return confirmed; }
+    public void setConfirmed(boolean confirmed) { this.confirmed = confirmed; }
+    public int getPayLagDays() { return payLagDays; }
+    public void setPayLagDays(int payLagDays) { this.payLagDays = payLagDays; }
+    public List<Payment> getPayments() { return payments; }
+    public void setPayments(List<Payment> payments) { this.payments = payments; }
+    public Instant getComputedAt() { return computedAt; }
+    public void setComputedAt(Instant computedAt) { this.computedAt = computedAt; }
+
+    @Schema(description = "추정 지급 1건(주당)")
+    public static class Payment {
+        @Schema(description = "배당락일(UTC)")
+        private Instant exDate;
+        @Schema(description = "지급일(UTC, 배당락일 + payLagDays)")
+        private Instant payDate;
+        @Schema(description = "주당 배당금")
+        private Double amount;
+
+        public Instant getExDate() { return exDate; }
+        public void setExDate(Instant exDate) { this.exDate = exDate; }
+        public Instant getPayDate() { return payDate; }
+        public void setPayDate(Instant payDate) { this.payDate = payDate; }
+        public Double getAmount() { return amount; }
+        public void setAmount(Double amount) { this.amount = amount; }
+    }
+}
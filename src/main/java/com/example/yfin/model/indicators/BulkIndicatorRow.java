@@ -0,0 +1,40 @@
+package com.example.yfin.model.indicators;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "다종목 지표 NDJSON 행(종목 1개)")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkIndicatorRow {
+    @Schema(description = "티커", example = "005930.KS")
+    private String symbol;
+    @Schema(description = "마지막 바 시각(UTC)")
+    private Instant time;
+    @Schema(description = "마지막 바 지표 값(요청 이름 또는 이름.출력 → 값)")
+    private Map<String, Double> latest;
+    @Schema(description = "전체 시계열(full=true일 때만)")
+    private IndicatorSetResponse series;
+    @Schema(description = "종목 단위 오류 메시지")
+    private String error;
+
+    public static BulkIndicatorRow failed(String symbol, String error) {
+        BulkIndicatorRow row = new BulkIndicatorRow();
+        row.setSymbol(symbol);
+        row.setError(error == null ? "error" : error);
+        return row;
+    }
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public Instant getTime() { return time; }
+    public void setTime(Instant time) { this.time = time; }
+    public Map<String, Double> getLatest() { return latest; }
+    public void setLatest(Map<String, Double> latest) { this.latest = latest; }
+    public IndicatorSetResponse getSeries() { return series; }
+    public void setSeries(IndicatorSetResponse series) { this.series = series; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
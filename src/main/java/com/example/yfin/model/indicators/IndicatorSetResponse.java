@@ -0,0 +1,32 @@
+package com.example.yfin.model.indicators;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "복수 지표 응답(컬럼 형식)")
+public class IndicatorSetResponse {
+    @Schema(description = "티커", example = "AAPL")
+    private String ticker;
+    @Schema(description = "요청 범위", example = "6mo")
+    private String range;
+    @Schema(description = "간격", example = "1d")
+    private String interval;
+    @Schema(description = "시각(UTC) 배열. 모든 지표 배열과 길이가 같음")
+    private List<Instant> time;
+    @Schema(description = "요청 이름(예: ma:20, macd) → 출력 이름(value/macd/signal/histogram/middle/upper/lower/k/d) → 값 배열(계산 불가 구간은 null)")
+    private Map<String, Map<String, List<Double>>> indicators;
+
+    public String getTicker() { return ticker; }
+    public void setTicker(String ticker) { this.ticker = ticker; }
+    public String getRange() { return range; }
+    public void setRange(String range) { this.range = range; }
+    public String getInterval() { return interval; }
+    public void setInterval(String interval) { this.interval = interval; }
+    public List<Instant> getTime() { return time; }
+    public void setTime(List<Instant> time) { this.time = time; }
+    public Map<String, Map<String, List<Double>>> getIndicators() { return indicators; }
+    public void setIndicators(Map<String, Map<String, List<Double>>> indicators) { this.indicators = indicators; }
+}
@@ -0,0 +1,36 @@
+package com.example.yfin.model.indicators;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "실시간 지표 이벤트")
+public class LiveIndicatorEvent {
+    @Schema(description = "티커", example = "AAPL")
+    private String symbol;
+    @Schema(description = "틱 가격(진행 중 봉 종가로 사용)")
+    private Double price;
+    @Schema(description = "수신 시각(UTC)")
+    private Instant time;
+    @Schema(description = "지표 값(요청 이름 또는 이름.출력 → 값, 워밍업 중이면 null)")
+    private Map<String, Double> values;
+
+    public LiveIndicatorEvent() { }
+
+    public LiveIndicatorEvent(String symbol, Double price, Instant time, Map<String, Double> values) {
+        this.symbol = symbol;
+        this.price = price;
+        this.time = time;
+        this.values = values;
+    }
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+    public Instant getTime() { return time; }
+    public void setTime(Instant time) { this.time = time; }
+    public Map<String, Double> getValues() { return values; }
+    public void setValues(Map<String, Double> values) { this.values = values; }
+}
@@ -0,0 +1,55 @@
+package com.example.yfin.model.portfolio;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "포트폴리오 기간 성과/위험 분석")
+public class PortfolioAnalytics {
+    @Schema(description = "요청 범위", example = "5y")
+    private String range;
+    @Schema(description = "분석에 포함된 심볼(상관 행렬 행/열 순서)")
+    private List<String> symbols;
+    @Schema(description = "히스토리가 없어 제외된 심볼")
+    private List<String> missing;
+    @Schema(description = "일자(UTC) 배열. nav와 길이가 같음")
+    private List<Instant> time;
+    @Schema(description = "일별 평가금액(Σ 수량 × 종가, 통화 환산 없음)")
+    private List<Double> nav;
+    @Schema(description = "기간 수익률(소수)")
+    private Double totalReturn;
+    @Schema(description = "연환산 수익률(소수)")
+    private Double cagr;
+    @Schema(description = "연율화 변동성(%)")
+    private Double volatilityPct;
+    @Schema(description = "샤프 지수(연율화, 무위험 수익률 차감)")
+    private Double sharpe;
+    @Schema(description = "최대 낙폭(%)")
+    private Double maxDrawdownPct;
+    @Schema(description = "보유 종목 일간 수익률 상관 행렬")
+    private List<List<Double>> correlation;
+
+    public String getRange() { return range; }
+    public void setRange(String range) { this.range = range; }
+    public List<String> getSymbols() { return symbols; }
+    public void setSymbols(List<String> symbols) { this.symbols = symbols; }
+    public List<String> getMissing() { return missing; }
+    public void setMissing(List<String> missing) { this.missing = missing; }
+    public List<Instant> getTime() { return time; }
+    public void setTime(List<Instant> time) { this.time = time; }
+    public List<Double> getNav() { return nav; }
+    public void setNav(List<Double> nav) { this.nav = nav; }
+    public Double getTotalReturn() { return totalReturn; }
+    public void setTotalReturn(Double totalReturn) { this.totalReturn = totalReturn; }
+    public Double getCagr() { return cagr; }
+    public void setCagr(Double cagr) { this.cagr = cagr; }
+    public Double getVolatilityPct() { return volatilityPct; }
+    public void setVolatilityPct(Double volatilityPct) { this.volatilityPct = volatilityPct; }
+    public Double getSharpe() { return sharpe; }
+    public void setSharpe(Double sharpe) { this.sharpe = sharpe; }
+    public Double getMaxDrawdownPct() { return maxDrawdownPct; }
+    public void setMaxDrawdownPct(Double maxDrawdownPct) { this.maxDrawdownPct = maxDrawdownPct; }
+    public List<List<Double>> getCorrelation() { return correlation; }
+    public void setCorrelation(List<List<Double>> correlation) { this.correlation = correlation; }
+}
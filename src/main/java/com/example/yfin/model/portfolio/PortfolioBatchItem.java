@@ -0,0 +1,18 @@
+package com.example.yfin.model.portfolio;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "일괄 평가 입력(포트폴리오 1개)")
+public class PortfolioBatchItem {
+    @Schema(description = "포트폴리오 식별자(응답에 그대로 반환)", example = "client-0001")
+    private String id;
+    @Schema(description = "보유 포지션")
+    private List<PositionDto> positions;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public List<PositionDto> getPositions() { return positions; }
+    public void setPositions(List<PositionDto> positions) { this.positions = positions; }
+}
@@ -0,0 +1,36 @@
+package com.example.yfin.model.portfolio;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "일괄 평가 NDJSON 행(포트폴리오 1개)")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PortfolioBatchRow {
+    @Schema(description = "포트폴리오 식별자", example = "client-0001")
+    private String id;
+    @Schema(description = "평가 결과")
+    private PortfolioSummary summary;
+    @Schema(description = "포트폴리오 단위 오류 메시지")
+    private String error;
+
+    public static PortfolioBatchRow of(String id, PortfolioSummary summary) {
+        PortfolioBatchRow row = new PortfolioBatchRow();
+        row.setId(id);
+        row.setSummary(summary);
+        return row;
+    }
+
+    public static PortfolioBatchRow failed(String id, String error) {
+        PortfolioBatchRow row = new PortfolioBatchRow();
+        row.setId(id);
+        row.setError(error == null ? "error" : error);
+        return row;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public PortfolioSummary getSummary() { return summary; }
+    public void setSummary(PortfolioSummary summary) { this.summary = summary; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,31 @@
+package com.example.yfin.model.screener;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "스크리너 질의 응답(페이지)")
+public class ScreenerQueryResponse {
+    @Schema(description = "조건을 만족한 전체 종목 수")
+    private int total;
+    @Schema(description = "시작 위치")
+    private int offset;
+    @Schema(description = "페이지 크기")
+    private int limit;
+    @Schema(description = "스냅샷 생성 시각(UTC)")
+    private Instant asOf;
+    @Schema(description = "결과 행")
+    private List<ScreenerRow> items;
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    public int getOffset() { return offset; }
+    public void setOffset(int offset) { this.offset = offset; }
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    public Instant getAsOf() { return asOf; }
+    public void setAsOf(Instant asOf) { this.asOf = asOf; }
+    public List<ScreenerRow> getItems() { return items; }
+    public void setItems(List<ScreenerRow> items) { this.items = items; }
+}
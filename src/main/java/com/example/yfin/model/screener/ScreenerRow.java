@@ -0,0 +1,35 @@
+package com.example.yfin.model.screener;
+
+import com.example.yfin.model.QuoteDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "스크리너 질의 결과 행")
+public class ScreenerRow {
+    @Schema(description = "티커", example = "005930.KS")
+    private String symbol;
+    @Schema(description = "종목명")
+    private String name;
+    @Schema(description = "시장 코드", example = "KS")
+    private String market;
+    @Schema(description = "섹터")
+    private String sector;
+    @Schema(description = "where/sort에 사용된 숫자 필드 값(결측은 null)")
+    private Map<String, Double> values;
+    @Schema(description = "원본 시세")
+    private QuoteDto quote;
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getMarket() { return market; }
+    public void setMarket(String market) { this.market = market; }
+    public String getSector() { return sector; }
+    public void setSector(String sector) { this.sector = sector; }
+    public Map<String, Double> getValues() { return values; }
+    public void setValues(Map<String, Double> values) { this.values = values; }
+    public QuoteDto getQuote() { return quote; }
+    public void setQuote(QuoteDto quote) { this.quote = quote; }
+}
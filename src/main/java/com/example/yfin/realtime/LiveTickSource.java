@@ -0,0 +1,63 @@
+package com.example.yfin.realtime;
+
+import com.example.yfin.kis.KisWebSocketManager;
+import com.example.yfin.kis.KisWsClient;
+import com.example.yfin.model.QuoteDto;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 실시간 틱 공급원(KIS/Finnhub WS) 공용 진입점.
+ * - 국내 종목은 KIS(접미사 제거 6자리), 그 외는 Finnhub 구독을 심볼별로 머지
+ * - 세션 단위 KIS 구독은 release(sessionId)로 해제
+ */
+@Component
+public class LiveTickSource {
+
+    private final FinnhubWsClient finnhubWs;
+    private final KisWsClient kisWs;
+    private final KisWebSocketManager kisManager;
+
+    public LiveTickSource(FinnhubWsClient finnhubWs, KisWsClient kisWs, KisWebSocketManager kisManager) {
+        this.finnhubWs = finnhubWs;
+        this.kisWs = kisWs;
+        this.kisManager = kisManager;
+    }
+
+    public boolean isEnabled() {
+        return (kisWs != null && kisWs.isEnabled()) || (finnhubWs != null && finnhubWs.isEnabled());
+    }
+
+    /** 공급자가 없으면 Flux.never() (하트비트만 유지) */
+    public Flux<QuoteDto> ticks(String sessionId, List<String> tickers) {
+        if (!isEnabled()) return Flux.never();
+        List<Flux<QuoteDto>> streams = new ArrayList<>();
+        if (kisWs != null && kisWs.isEnabled()) {
+            for (String sym : tickers) streams.add(kisManager.subscribe(sessionId, toKisSymbol(sym)));
+        }
+        if (finnhubWs != null && finnhubWs.isEnabled()) {
+            for (String sym : tickers) streams.add(finnhubWs.subscribe(sym));
+        }
+        return Flux.merge(streams)
+                .distinctUntilChanged(q -> q.getSymbol() + ":" + q.getRegularMarketPrice());
+    }
+
+    public void release(String sessionId) {
+        kisManager.unsubscribeAll(sessionId);
+    }
+
+    // KIS WS는 국내 종목에 접미사(.KS/.KQ)가 없는 6자리 티커를 기대하므로 제거
+    public static String toKisSymbol(String sym) {
+        if (sym == null) return null;
+        String u = sym.toUpperCase(Locale.ROOT);
+        int dot = u.indexOf('.');
+        if (dot > 0 && (u.endsWith(".KS") || u.endsWith(".KQ"))) {
+            return u.substring(0, dot);
+        }
+        return u;
+    }
+}
@@ -2,10 +2,10 @@ package com.example.yfin.realtime;
 
 import com.example.yfin.http.FinnhubClient;
 import com.example.yfin.model.QuoteDto;
-import com.example.yfin.kis.KisWsClient;
-import com.example.yfin.kis.KisWebSocketManager;
+import com.example.yfin.service.LiveIndicatorService;
 import com.example.yfin.service.QuoteService;
 import com.example.yfin.service.TickerResolver;
+import com.example.yfin.service.indicator.IndicatorSpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -24,18 +24,17 @@ public class QuoteWebSocketHandler implements WebSocketHandler {
 
     private final QuoteService quoteService;
     private final FinnhubClient finnhub;
-    private final FinnhubWsClient finnhubWs;
     private final TickerResolver resolver;
-    private final KisWsClient kisWs;
-    private final KisWebSocketManager kisManager;
+    private final LiveTickSource liveTicks;
+    private final LiveIndicatorService liveIndicators;
 
-    public QuoteWebSocketHandler(QuoteService quoteService, FinnhubClient finnhub, FinnhubWsClient finnhubWs, TickerResolver resolver, KisWsClient kisWs, KisWebSocketManager kisManager) {
+    public QuoteWebSocketHandler(QuoteService quoteService, FinnhubClient finnhub, TickerResolver resolver,
+                                 LiveTickSource liveTicks, LiveIndicatorService liveIndicators) {
         this.quoteService = quoteService;
         this.finnhub = finnhub;
-        this.finnhubWs = finnhubWs;
         this.resolver = resolver;
-        this.kisWs = kisWs;
-        this.kisManager = kisManager;
+        this.liveTicks = liveTicks;
+        this.liveIndicators = liveIndicators;
     }
 
     @Override
@@ -43,17 +42,23 @@ public class QuoteWebSocketHandler implements WebSocketHandler {
         Map<String, String> q = parseQuery(session.getHandshakeInfo().getUri().getQuery());
         String tickersParam = q.getOrDefault("tickers", "");
         List<String> rawTickers = parseTickers(tickersParam);
-        int intervalSec = parseInt(q.get("intervalSec"), 2);
         String exchange = q.get("exchange");
         if (rawTickers.isEmpty()) {
             return session.send(Flux.just(session.textMessage("{" + "\"error\":\"tickers required\"}")));
         }
+        // 선택: ind=rsi:14,ma:20&indInterval=1d → 메시지에 실시간 지표(ind) 포함
+        String indInterval = q.getOrDefault("indInterval", "1d");
+        List<IndicatorSpec> indSpecs;
+        try {
+            indSpecs = q.containsKey("ind") ? LiveIndicatorService.parseSpecs(q.get("ind"), indInterval) : List.of();
+        } catch (IllegalArgumentException e) {
+            return session.send(Flux.just(session.textMessage("{\"error\":\"" + escape(e.getMessage()) + "\"}")));
+        }
 
         return normalizeTickers(rawTickers, exchange)
                 .flatMap(tickers -> {
                     // 실시간 스트림(JSON) — 스냅샷/캐시 사용 금지
-                    Flux<String> stream = buildQuoteStream(session.getId(), tickers, intervalSec)
-                            .map(this::toJson)
+                    Flux<String> stream = withIndicators(buildQuoteStream(session.getId(), tickers), tickers, indInterval, indSpecs)
                             .onErrorResume(e -> Flux.just("{" + "\"error\":\"" + e.getMessage().replace('"',' ') + "\"}"));
 
                     // 스냅샷 송출 비활성화(WS는 실시간만)
@@ -66,39 +71,33 @@ public class QuoteWebSocketHandler implements WebSocketHandler {
                     return session.send(Flux.merge(initialSnapshot, stream, heartbeat).map(session::textMessage))
                             .doFinally(signal -> {
                                 // WebSocket 연결 종료 시 구독 해제
-                                kisManager.unsubscribeAll(session.getId());
+                                liveTicks.release(session.getId());
                             });
                 });
     }
 
-    private boolean isAnyWsProviderEnabled() {
-        boolean kisEnabled = (kisWs != null && kisWs.isEnabled());
-        boolean fhEnabled = (finnhubWs != null && finnhubWs.isEnabled());
-        return kisEnabled || fhEnabled;
+    // 심볼별 WS 구독을 머지 (국내 종목은 KIS가 우선). WS 공급자가 없으면 데이터 미송출(하트비트만 유지)
+    private Flux<QuoteDto> buildQuoteStream(String sessionId, List<String> tickers) {
+        return liveTicks.ticks(sessionId, tickers);
     }
 
-    private Flux<QuoteDto> buildQuoteStream(String sessionId, List<String> tickers, int intervalSec) {
-        boolean useKis = kisWs != null && kisWs.isEnabled();
-        boolean useWs = (finnhubWs != null && finnhubWs.isEnabled()) || useKis;
-        
-        if (useWs) {
-            // 심볼별 WS 구독을 머지 (국내 종목은 KIS가 우선)
-            List<Flux<QuoteDto>> streams = new ArrayList<>();
-            if (useKis) {
-                for (String sym : tickers) {
-                    String kisSym = toKisSymbol(sym);
-                    streams.add(kisManager.subscribe(sessionId, kisSym));
-                }
-            }
-            if (finnhubWs != null && finnhubWs.isEnabled()) {
-                for (String sym : tickers) streams.add(finnhubWs.subscribe(sym));
-            }
-            Flux<QuoteDto> wsFlux = Flux.merge(streams);
-            
-            return wsFlux.distinctUntilChanged(q -> q.getSymbol() + ":" + q.getRegularMarketPrice());
+    /** 틱마다 실시간 지표를 O(1) 갱신해 메시지에 ind 필드로 첨부. KIS 심볼(접미사 없음)은 요청 티커로 되돌려 조회 */
+    private Flux<String> withIndicators(Flux<QuoteDto> ticks, List<String> tickers, String interval, List<IndicatorSpec> specs) {
+        if (specs.isEmpty()) return ticks.map(this::toJson);
+        Map<String, String> alias = new HashMap<>();
+        for (String t : tickers) {
+            alias.put(t.toUpperCase(Locale.ROOT), t);
+            alias.putIfAbsent(LiveTickSource.toKisSymbol(t), t);
         }
-        // WS 공급자가 없는 경우: 데이터 미송출(하트비트만 유지)
-        return Flux.never();
+        return ticks.concatMap(quote -> {
+            String sym = quote.getSymbol() == null ? null : alias.get(quote.getSymbol().toUpperCase(Locale.ROOT));
+            Double price = quote.getRegularMarketPrice();
+            if (sym == null || price == null) return Mono.just(toJson(quote));
+            return liveIndicators.onTick(sym, interval, specs, price, System.currentTimeMillis() / 1000L)
+                    .map(ind -> toJson(quote, ind))
+                    .onErrorResume(e -> Mono.just(toJson(quote)))
+                    .defaultIfEmpty(toJson(quote));
+        });
     }
 
     private Map<String, String> parseQuery(String raw) {
@@ -115,10 +114,6 @@ public class QuoteWebSocketHandler implements WebSocketHandler {
         try { return java.net.URLDecoder.decode(s, java.nio.charset.StandardCharsets.UTF_8); } catch (Exception e) { return s; }
     }
 
-    private int parseInt(String s, int def) {
-        try { return s == null ? def : Integer.parseInt(s); } catch (Exception ignored) { return def; }
-    }
-
     private List<String> parseTickers(String s) {
         if (s == null || s.isBlank()) return List.of();
         String[] arr = s.split(",");
@@ -131,24 +126,27 @@ public class QuoteWebSocketHandler implements WebSocketHandler {
     }
 
     private String toJson(QuoteDto q) {
+        return toJson(q, null);
+    }
+
+    private String toJson(QuoteDto q, Map<String, Double> ind) {
         StringBuilder sb = new StringBuilder(256);
         sb.append('{')
                 .append("\"symbol\":\"").append(escape(q.getSymbol())).append('\"')
                 .append(',').append("\"price\":").append(q.getRegularMarketPrice())
-                .append(',').append("\"dp\":").append(q.getRegularMarketChangePercent())
-                .append('}');
-        return sb.toString();
-    }
-
-    // KIS WS는 국내 종목에 접미사(.KS/.KQ)가 없는 6자리 티커를 기대하므로 제거
-    private String toKisSymbol(String sym) {
-        if (sym == null) return null;
-        String u = sym.toUpperCase(Locale.ROOT);
-        int dot = u.indexOf('.');
-        if (dot > 0 && (u.endsWith(".KS") || u.endsWith(".KQ"))) {
-            return u.substring(0, dot);
+                .append(',').append("\"dp\":").append(q.getRegularMarketChangePercent());
+        if (ind != null) {
+            sb.append(",\"ind\":{");
+            boolean first = true;
+            for (Map.Entry<String, Double> e : ind.entrySet()) {
+                if (!first) sb.append(',');
+                first = false;
+                sb.append('\"').append(escape(e.getKey())).append("\":").append(e.getValue());
+            }
+            sb.append('}');
         }
-        return u;
+        sb.append('}');
+        return sb.toString();
     }
 
     private String escape(String s) { return s == null ? "" : s.replace("\\","\\\\").replace("\"","\\\""); }
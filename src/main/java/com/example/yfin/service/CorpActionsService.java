@@ -1,8 +1,11 @@
 package com.example.yfin.service;
 
+import com.example.yfin.http.decode.ChartData;
 import com.example.yfin.model.DivRow;
+import com.example.yfin.model.HistorySeries;
 import com.example.yfin.model.calendar.CalendarResponse;
 import com.example.yfin.model.corp.CorpActionsResponse;
+import com.example.yfin.service.history.ChartFetcher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -13,30 +16,32 @@ import java.util.List;
 public class CorpActionsService {
 
     private final FundamentalsService fundamentalsService;
-    private final DividendsService dividendsService;
+    private final TickerResolver resolver;
+    private final ChartFetcher chart;
 
-    public CorpActionsService(FundamentalsService fundamentalsService, DividendsService dividendsService) {
+    public CorpActionsService(FundamentalsService fundamentalsService, TickerResolver resolver, ChartFetcher chart) {
         this.fundamentalsService = fundamentalsService;
-        this.dividendsService = dividendsService;
+        this.resolver = resolver;
+        this.chart = chart;
     }
 
     @Cacheable(cacheNames = "corpActions", key = "#ticker")
     public Mono<CorpActionsResponse> corp(String ticker) {
         Mono<CalendarResponse> cal = fundamentalsService.calendar(ticker);
-        Mono<com.example.yfin.model.DividendsResponse> div = dividendsService.dividends(ticker, "3y");
-        Mono<java.util.List<String>> splits = dividendsService.splits(ticker, "10y");
+        // 10y 일봉 1회 요청에서 배당(최근 3y)과 분할(10y)을 함께 추출
+        Mono<ChartData> tenYears = resolver.normalize(ticker).flatMap(nt -> chart.daily(nt, "10y", true));
         return Mono.zip(cal.defaultIfEmpty(new CalendarResponse()),
-                        div.defaultIfEmpty(new com.example.yfin.model.DividendsResponse()),
-                        splits.defaultIfEmpty(java.util.List.of()))
+                        tenYears.defaultIfEmpty(new ChartData(HistorySeries.empty(), List.of(), List.of())))
                 .map(t -> {
                     CalendarResponse c = t.getT1();
-                    com.example.yfin.model.DividendsResponse d = t.getT2();
-                    java.util.List<String> sp = t.getT3();
+                    ChartData cd = t.getT2();
+                    // /dividends 경로와 같은 규칙(잘린 첫 바 시각 이후)으로 최근 3년
+                    List<DivRow> recent = ChartFetcher.lastDays(cd, 3 * 365 + 1).dividends();
+                    List<String> sp = DividendsService.formatSplits(cd);
                     CorpActionsResponse res = new CorpActionsResponse();
                     res.setTicker(ticker);
                     res.setExDividendDate(c.getExDividendDate());
                     res.setDividendDate(c.getDividendDate());
-                    List<DivRow> recent = d.getRows() == null ? List.of() : d.getRows();
                     res.setRecentDividends(recent.size() > 10 ? recent.subList(recent.size() - 10, recent.size()) : recent);
                     res.setRecentSplits(sp.size() > 10 ? sp.subList(sp.size() - 10, sp.size()) : sp);
                     return res;
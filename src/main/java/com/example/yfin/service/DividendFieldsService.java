@@ -0,0 +1,81 @@
+package com.example.yfin.service;
+
+import com.example.yfin.http.YahooApiClient;
+import com.example.yfin.http.decode.SummaryDetailDecoder;
+import com.example.yfin.model.DividendFields;
+import com.example.yfin.model.DividendsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 시세 보강용 배당 지표(선행/TTM) 조회.
+ * - summaryDetail 1회, 선행 값이 없을 때만 2y 배당 이력으로 TTM 합계 계산
+ * - 값은 하루 단위로만 바뀌므로 시세와 분리하여 긴 TTL(L1 + L2)로 캐시
+ * - 수익률 계산(가격 의존)은 호출 측에서 적용
+ */
+@Service
+public class DividendFieldsService {
+
+    private final YahooApiClient yahoo;
+    private final DividendsService dividendsService;
+    private final com.example.yfin.service.cache.RedisCacheService l2;
+    private final Duration ttl;
+
+    public DividendFieldsService(YahooApiClient yahoo,
+                                 DividendsService dividendsService,
+                                 com.example.yfin.service.cache.RedisCacheService l2,
+                                 @Value("${quote.dividends.ttl-hours:12}") long ttlHours) {
+        this.yahoo = yahoo;
+        this.dividendsService = dividendsService;
+        this.l2 = l2;
+        this.ttl = Duration.ofHours(Math.max(1, ttlHours));
+    }
+
+    @Cacheable(cacheNames = "dividendFields", key = "#symbol")
+    public Mono<DividendFields> fields(String symbol) {
+        String key = "divfields:" + symbol;
+        return l2.get(key, new com.fasterxml.jackson.core.type.TypeReference<DividendFields>() {})
+                .switchIfEmpty(Mono.defer(() -> load(symbol)
+                        .flatMap(f -> l2.set(key, f, ttl).thenReturn(f))));
+    }
+
+    private Mono<DividendFields> load(String symbol) {
+        DividendFields f = new DividendFields();
+        f.setSymbol(symbol);
+        Mono<Void> forward = yahoo.isTemporarilyBlocked()
+                ? Mono.empty()
+                : yahoo.getTyped("/v10/finance/quoteSummary/" + symbol + "?modules=summaryDetail&lang=en-US&region=US&corsDomain=finance.yahoo.com",
+                                "/quote/" + symbol, SummaryDetailDecoder.INSTANCE)
+                        .doOnNext(sd -> {
+                            f.setForwardDividendYield(normalizeYield(sd.get("dividendYield")));
+                            f.setForwardDividendRate(sd.get("dividendRate"));
+                        })
+                        .onErrorResume(e -> Mono.empty())
+                        .then();
+        return forward.then(Mono.defer(() -> {
+            if (f.getForwardDividendYield() != null || f.getForwardDividendRate() != null) return Mono.just(f);
+            return dividendsService.dividends(symbol, "2y")
+                    .doOnNext(div -> f.setTtmDividendRate(ttm(div)))
+                    .onErrorResume(e -> Mono.empty())
+                    .thenReturn(f);
+        }));
+    }
+
+    private static Double ttm(DividendsResponse div) {
+        if (div == null || div.getRows() == null || div.getRows().isEmpty()) return null;
+        Instant cutoff = Instant.now().minus(365, ChronoUnit.DAYS);
+        double sum = div.getRows().stream()
+                .filter(r -> r.getDate() != null && r.getDate().isAfter(cutoff))
+                .mapToDouble(r -> r.getAmount() == null ? 0.0 : r.getAmount())
+                .sum();
+        return sum > 0.0 ? sum : null;
+    }
+
+    private static Double normalizeYield(Double v) { if (v == null) return null; return v > 1.0 ? v / 100.0 : v; }
+}
@@ -0,0 +1,133 @@
+package com.example.yfin.service;
+
+import com.example.yfin.model.DividendsResponse;
+import com.example.yfin.model.calendar.CalendarResponse;
+import com.example.yfin.model.dividend.DividendForecast;
+import com.example.yfin.model.dividend.DividendSchedule;
+import com.example.yfin.model.portfolio.PositionDto;
+import com.example.yfin.service.cache.SwrCache;
+import com.example.yfin.service.cache.SwrEntry;
+import com.example.yfin.service.dividend.DividendProjector;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 배당 일정 추정/월별 배당 수입 예측.
+ * - 종목별 추정 일정(DividendSchedule)은 cache.policies.dividendSchedule(기본 1일)로 L1/L2 캐시,
+ *   포트폴리오 조회는 getAll(MGET)로 미스 종목만 제한된 동시성으로 이력(5y)+캘린더 조회
+ * - 월별 수입은 추정 지급일 기준으로 이번 달부터 12개월 집계
+ */
+@Service
+public class DividendProjectionService {
+
+    private static final String CACHE = "dividendSchedule";
+    private static final String KEY_PREFIX = "divsched:";
+    private static final TypeReference<SwrEntry<DividendSchedule>> TYPE = new TypeReference<>() {};
+
+    private final DividendsService dividendsService;
+    private final FundamentalsService fundamentalsService;
+    private final SwrCache swr;
+    private final int concurrency;
+    private final int defaultPayLagDays;
+
+    public DividendProjectionService(DividendsService dividendsService,
+                                     FundamentalsService fundamentalsService,
+                                     SwrCache swr,
+                                     @Value("${dividends.projection.concurrency:4}") int concurrency,
+                                     @Value("${dividends.projection.default-pay-lag-days:0}") int defaultPayLagDays) {
+        this.dividendsService = dividendsService;
+        this.fundamentalsService = fundamentalsService;
+        this.swr = swr;
+        this.concurrency = Math.max(1, concurrency);
+        this.defaultPayLagDays = Math.max(0, defaultPayLagDays);
+    }
+
+    public Mono<DividendSchedule> schedule(String ticker) {
+        String sym = ticker.trim().toUpperCase(Locale.ROOT);
+        return swr.get(CACHE, KEY_PREFIX + sym, TYPE, () -> infer(sym));
+    }
+
+    public Mono<DividendForecast> forecast(List<PositionDto> positions) {
+        if (positions == null || positions.isEmpty()) throw new IllegalArgumentException("positions required");
+        Map<String, Double> quantityBySymbol = new LinkedHashMap<>();
+        for (PositionDto p : positions) {
+            if (p.getSymbol() == null || p.getSymbol().isBlank()) continue;
+            quantityBySymbol.merge(p.getSymbol().trim().toUpperCase(Locale.ROOT), p.getQuantity() == null ? 0.0 : p.getQuantity(), Double::sum);
+        }
+        List<String> keys = new ArrayList<>(quantityBySymbol.size());
+        for (String sym : quantityBySymbol.keySet()) keys.add(KEY_PREFIX + sym);
+        return swr.getAll(CACHE, keys, TYPE, this::loadAll)
+                .map(found -> {
+                    List<DividendSchedule> schedules = new ArrayList<>();
+                    for (String key : keys) {
+                        DividendSchedule s = found.get(key);
+                        if (s != null) schedules.add(s);
+                    }
+                    return toForecast(schedules, quantityBySymbol, YearMonth.now(ZoneOffset.UTC));
+                });
+    }
+
+    private Mono<Map<String, DividendSchedule>> loadAll(List<String> keys) {
+        return Flux.fromIterable(keys)
+                .flatMap(key -> infer(key.substring(KEY_PREFIX.length()))
+                        .map(s -> Map.entry(key, s))
+                        .onErrorResume(e -> Mono.empty()), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    // 이력 또는 캘린더 중 하나가 실패해도 나머지로 추정
+    private Mono<DividendSchedule> infer(String sym) {
+        return Mono.zip(dividendsService.dividends(sym, "5y").onErrorResume(e -> Mono.empty()).defaultIfEmpty(new DividendsResponse()),
+                        fundamentalsService.calendar(sym).onErrorResume(e -> Mono.empty()).defaultIfEmpty(new CalendarResponse()))
+                .map(t -> DividendProjector.infer(sym, t.getT1().getRows(), t.getT2(), Instant.now(), defaultPayLagDays));
+    }
+
+    private static DividendForecast toForecast(List<DividendSchedule> schedules, Map<String, Double> quantityBySymbol, YearMonth start) {
+        Map<YearMonth, DividendForecast.Month> months = new LinkedHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            DividendForecast.Month m = new DividendForecast.Month();
+            m.setMonth(start.plusMonths(i).toString());
+            m.setAmount(0.0);
+            m.setItems(new ArrayList<>());
+            months.put(start.plusMonths(i), m);
+        }
+        double total = 0.0;
+        for (DividendSchedule s : schedules) {
+            double qty = quantityBySymbol.getOrDefault(s.getSymbol(), 0.0);
+            if (s.getPayments() == null) continue;
+            for (DividendSchedule.Payment p : s.getPayments()) {
+                DividendForecast.Month m = months.get(YearMonth.from(p.getPayDate().atZone(ZoneOffset.UTC)));
+                if (m == null || p.getAmount() == null) continue;
+                DividendForecast.Item it = new DividendForecast.Item();
+                it.setSymbol(s.getSymbol());
+                it.setExDate(p.getExDate());
+                it.setPayDate(p.getPayDate());
+                it.setAmountPerShare(p.getAmount());
+                it.setQuantity(qty);
+                it.setAmount(p.getAmount() * qty);
+                m.getItems().add(it);
+                m.setAmount(m.getAmount() + it.getAmount());
+                total += it.getAmount();
+            }
+        }
+        for (DividendForecast.Month m : months.values()) m.getItems().sort(Comparator.comparing(DividendForecast.Item::getPayDate));
+        DividendForecast out = new DividendForecast();
+        out.setAnnualTotal(total);
+        out.setMonths(new ArrayList<>(months.values()));
+        out.setSchedules(schedules);
+        return out;
+    }
+}
@@ -1,26 +1,22 @@
 package com.example.yfin.service;
 
-import com.example.yfin.http.YahooApiClient;
+import com.example.yfin.http.decode.ChartData;
 import com.example.yfin.model.DividendsResponse;
-import com.example.yfin.model.DivRow;
+import com.example.yfin.service.history.ChartFetcher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.time.Instant;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class DividendsService {
-    private final YahooApiClient yahoo;
+    private final ChartFetcher chart;
     private final TickerResolver resolver;
     private final com.example.yfin.service.cache.RedisCacheService l2;
 
-    public DividendsService(YahooApiClient yahoo, TickerResolver resolver, com.example.yfin.service.cache.RedisCacheService l2) {
-        this.yahoo = yahoo;
+    public DividendsService(ChartFetcher chart, TickerResolver resolver, com.example.yfin.service.cache.RedisCacheService l2) {
+        this.chart = chart;
         this.resolver = resolver;
         this.l2 = l2;
     }
@@ -28,37 +24,22 @@ public class DividendsService {
     public Mono<List<String>> splits(String ticker, String range) {
         String r = (range == null || range.isBlank()) ? "5y" : range;
         return resolver.normalize(ticker).flatMap(nt -> {
-            String path = "/v8/finance/chart/" + nt +
-                    "?range=" + r + "&interval=1d&events=div%2Csplits&lang=en-US&region=US&corsDomain=finance.yahoo.com";
             String key = "splits:" + nt + ":" + r;
             return l2.get(key, new com.fasterxml.jackson.core.type.TypeReference<java.util.List<java.lang.String>>() {})
                     .switchIfEmpty(
-                            yahoo.getJson(path, "/quote/" + nt)
-                                    .map(this::mapSplits)
+                            chart.daily(nt, r, true)
+                                    .map(DividendsService::formatSplits)
                                     .flatMap(res -> l2.set(key, res, java.time.Duration.ofSeconds(20)).thenReturn(res))
                     );
         });
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> mapSplits(Map<String, Object> body) {
-        Map<String, Object> chart = (Map<String, Object>) body.get("chart");
-        if (chart == null) return List.of();
-        List<Map<String, Object>> results = (List<Map<String, Object>>) chart.get("result");
-        if (results == null || results.isEmpty()) return List.of();
-        Map<String, Object> r = results.get(0);
-        Map<String, Object> events = (Map<String, Object>) r.get("events");
-        if (events == null) return List.of();
-        Map<String, Map<String, Object>> splits = (Map<String, Map<String, Object>>) events.get("splits");
-        if (splits == null || splits.isEmpty()) return List.of();
-
-        java.util.List<String> out = new java.util.ArrayList<>(splits.size());
-        for (Map<String, Object> m : splits.values()) {
-            Long date = m.get("date") == null ? null : ((Number) m.get("date")).longValue();
-            Integer num = m.get("numerator") == null ? null : ((Number) m.get("numerator")).intValue();
-            Integer den = m.get("denominator") == null ? null : ((Number) m.get("denominator")).intValue();
-            String ymd = date == null ? "" : java.time.Instant.ofEpochSecond(date).toString().substring(0, 10);
-            String ratio = (num != null && den != null) ? (num + ":" + den) : "";
+    // dividends/splits/history는 ChartFetcher가 보관한 같은 일봉 응답(가장 넓은 range)에서 잘라 씀
+    static List<String> formatSplits(ChartData chart) {
+        java.util.List<String> out = new java.util.ArrayList<>(chart.splits().size());
+        for (ChartData.Split sp : chart.splits()) {
+            String ymd = java.time.Instant.ofEpochSecond(sp.epochSec()).toString().substring(0, 10);
+            String ratio = (sp.numerator() != null && sp.denominator() != null) ? (sp.numerator() + ":" + sp.denominator()) : "";
             out.add(ymd + ": " + ratio);
         }
         out.sort(java.util.Comparator.naturalOrder());
@@ -69,13 +50,11 @@ public class DividendsService {
     public Mono<DividendsResponse> dividends(String ticker, String range) {
         String r = (range == null || range.isBlank()) ? "5y" : range;
         return resolver.normalize(ticker).flatMap(nt -> {
-            String path = "/v8/finance/chart/" + nt +
-                    "?range=" + r + "&interval=1d&events=div%2Csplits&lang=en-US&region=US&corsDomain=finance.yahoo.com";
             String key = "dividends:" + nt + ":" + r;
             return l2.get(key, new com.fasterxml.jackson.core.type.TypeReference<com.example.yfin.model.DividendsResponse>() {})
                     .switchIfEmpty(
-                            yahoo.getJson(path, "/quote/" + nt)
-                                    .map(m -> mapDividends(nt, r, m))
+                            chart.daily(nt, r, true)
+                                    .map(cd -> toDividends(nt, r, cd))
                                     .flatMap(res -> l2.set(key, res, java.time.Duration.ofSeconds(20)).thenReturn(res))
                     );
         });
@@ -84,47 +63,21 @@ public class DividendsService {
     public Mono<DividendsResponse> dividendsEx(String ticker, String range, String exchange) {
         String r = (range == null || range.isBlank()) ? "5y" : range;
         return resolver.normalize(ticker, exchange).flatMap(nt -> {
-            String path = "/v8/finance/chart/" + nt +
-                    "?range=" + r + "&interval=1d&events=div%2Csplits&lang=en-US&region=US&corsDomain=finance.yahoo.com";
             String key = "dividends:" + nt + ":" + r;
             return l2.get(key, new com.fasterxml.jackson.core.type.TypeReference<com.example.yfin.model.DividendsResponse>() {})
                     .switchIfEmpty(
-                            yahoo.getJson(path, "/quote/" + nt)
-                                    .map(m -> mapDividends(nt, r, m))
+                            chart.daily(nt, r, true)
+                                    .map(cd -> toDividends(nt, r, cd))
                                     .flatMap(res -> l2.set(key, res, java.time.Duration.ofSeconds(20)).thenReturn(res))
                     );
         });
     }
 
-    @SuppressWarnings("unchecked")
-    private DividendsResponse mapDividends(String ticker, String range, Map<String, Object> body) {
+    private static DividendsResponse toDividends(String ticker, String range, ChartData chart) {
         DividendsResponse res = new DividendsResponse();
         res.setTicker(ticker);
         res.setRange(range);
-
-        Map<String, Object> chart = (Map<String, Object>) body.get("chart");
-        if (chart == null) { res.setRows(List.of()); return res; }
-        List<Map<String, Object>> results = (List<Map<String, Object>>) chart.get("result");
-        if (results == null || results.isEmpty()) { res.setRows(List.of()); return res; }
-        Map<String, Object> r = results.get(0);
-
-        Map<String, Object> events = (Map<String, Object>) r.get("events");
-        if (events == null) { res.setRows(List.of()); return res; }
-        Map<String, Map<String, Object>> div = (Map<String, Map<String, Object>>) events.get("dividends");
-        if (div == null || div.isEmpty()) { res.setRows(List.of()); return res; }
-
-        List<DivRow> rows = div.values().stream().map(m -> {
-            DivRow d = new DivRow();
-            d.setDate(Instant.ofEpochSecond(((Number) m.get("date")).longValue()));
-            d.setAmount(d(m.get("amount")));
-            return d;
-        }).sorted(Comparator.comparing(DivRow::getDate)).collect(Collectors.toList());
-
-        res.setRows(rows);
+        res.setRows(chart.dividends());
         return res;
     }
-
-    private static Double d(Object o) { return o == null ? null : ((Number) o).doubleValue(); }
 }
-
-
@@ -1,90 +1,220 @@
 package com.example.yfin.service;
 
-import com.example.yfin.model.HistoryResponse;
-import com.example.yfin.model.HistoryRow;
+import com.example.yfin.model.indicators.BulkIndicatorRow;
+import com.example.yfin.model.indicators.IndicatorSetResponse;
 import com.example.yfin.model.indicators.MaPoint;
 import com.example.yfin.model.indicators.RsiPoint;
+import com.example.yfin.repo.ListingMetaRepository;
+import com.example.yfin.service.indicator.IndicatorEngine;
+import com.example.yfin.service.indicator.IndicatorResultCache;
+import com.example.yfin.service.indicator.IndicatorSpec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class IndicatorService {
 
+    private static final Logger log = LoggerFactory.getLogger(IndicatorService.class);
+    private static final TypeReference<List<MaPoint>> MA_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<RsiPoint>> RSI_TYPE = new TypeReference<>() {};
+    private static final TypeReference<IndicatorSetResponse> SET_TYPE = new TypeReference<>() {};
+
     private final ChartService chartService;
+    private final IndicatorResultCache results;
+    private final ListingMetaRepository listingRepo;
+    private final int bulkConcurrency;
+    private final int bulkMaxSymbols;
+    // 지표 계산 전용 스케줄러(Netty 이벤트 루프와 분리)
+    private final Scheduler computeScheduler;
 
-    public IndicatorService(ChartService chartService) {
+    public IndicatorService(ChartService chartService,
+                            IndicatorResultCache results,
+                            ListingMetaRepository listingRepo,
+                            @Value("${indicators.bulk.concurrency:8}") int bulkConcurrency,
+                            @Value("${indicators.bulk.max-symbols:3000}") int bulkMaxSymbols,
+                            @Value("${indicators.compute.threads:0}") int computeThreads) {
         this.chartService = chartService;
+        this.results = results;
+        this.listingRepo = listingRepo;
+        this.bulkConcurrency = Math.max(1, bulkConcurrency);
+        this.bulkMaxSymbols = Math.max(1, bulkMaxSymbols);
+        int threads = computeThreads > 0 ? computeThreads : Runtime.getRuntime().availableProcessors();
+        this.computeScheduler = Schedulers.newParallel("indicator-compute", threads, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        computeScheduler.dispose();
     }
 
+    // 결과는 히스토리 버전 키로 캐시: 히스토리 캐시 적중 시 재계산 없이 응답
     public Mono<List<MaPoint>> ma(String ticker, String range, String interval, boolean autoAdjust, int window) {
         final int w = window < 1 ? 1 : window;
-        return chartService.history(ticker, range, interval, autoAdjust)
-                .map(hr -> computeMa(hr, w));
+        return chartService.columns(ticker, range, interval, autoAdjust)
+                .flatMap(bars -> results.get(baseKey("ma:" + w, ticker, range, interval, autoAdjust), bars, MA_TYPE,
+                        () -> computeMa(new IndicatorEngine(bars), w), computeScheduler));
     }
 
     public Mono<List<RsiPoint>> rsi(String ticker, String range, String interval, boolean autoAdjust, int window) {
         final int w = window < 2 ? 14 : window;
-        return chartService.history(ticker, range, interval, autoAdjust)
-                .map(hr -> computeRsi(hr, w));
+        return chartService.columns(ticker, range, interval, autoAdjust)
+                .flatMap(bars -> results.get(baseKey("rsi:" + w, ticker, range, interval, autoAdjust), bars, RSI_TYPE,
+                        () -> computeRsi(new IndicatorEngine(bars), w), computeScheduler));
     }
 
-    private static List<MaPoint> computeMa(HistoryResponse hr, int window) {
-        List<MaPoint> out = new ArrayList<>();
-        if (hr == null || hr.getRows() == null) return out;
-        List<HistoryRow> rows = hr.getRows();
-        double sum = 0.0;
-        int n = rows.size();
-        for (int i = 0; i < n; i++) {
-            Double close = rows.get(i).getClose();
-            if (close != null) sum += close;
-            if (i >= window) {
-                Double old = rows.get(i - window).getClose();
-                if (old != null) sum -= old;
-            }
-            if (i >= window - 1) {
-                MaPoint p = new MaPoint();
-                p.setTime(rows.get(i).getTime());
-                p.setValue(sum / window);
-                out.add(p);
+    /** 히스토리 1회 조회 후 요청한 지표를 한 엔진에서 계산(중간값 공유) */
+    public Mono<IndicatorSetResponse> compute(String ticker, String range, String interval, boolean autoAdjust, String names) {
+        final List<IndicatorSpec> specs;
+        try {
+            specs = IndicatorSpec.parseList(names);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        return compute(ticker, range, interval, autoAdjust, specs);
+    }
+
+    private Mono<IndicatorSetResponse> compute(String ticker, String range, String interval, boolean autoAdjust, List<IndicatorSpec> specs) {
+        String specKey = specs.stream().map(IndicatorSpec::key).collect(Collectors.joining(","));
+        return chartService.columns(ticker, range, interval, autoAdjust)
+                .flatMap(bars -> results.get(baseKey(specKey, ticker, range, interval, autoAdjust), bars, SET_TYPE,
+                        () -> toResponse(ticker, range, interval, new IndicatorEngine(bars), specs), computeScheduler));
+    }
+
+    /**
+     * 다종목 지표. tickers가 없으면 market의 상장 목록(listing_meta) 사용.
+     * 히스토리 조회는 indicators.bulk.concurrency로 제한, 계산은 전용 스케줄러, 종목별 완료 순서대로 스트리밍.
+     * 종목 단위 실패는 error 필드로 담아 스트림을 끊지 않음.
+     * tickers가 indicators.bulk.max-symbols를 넘으면 IllegalArgumentException(400)
+     */
+    public Flux<BulkIndicatorRow> bulk(List<String> tickers, String market, String range, String interval, boolean autoAdjust,
+                                       String names, boolean full) {
+        final List<IndicatorSpec> specs;
+        try {
+            specs = IndicatorSpec.parseList(names);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(e);
+        }
+        if (tickers != null && !tickers.isEmpty()) {
+            List<String> symbols = tickers.stream().distinct().toList();
+            if (symbols.size() > bulkMaxSymbols) {
+                return Flux.error(new IllegalArgumentException("too many tickers (max " + bulkMaxSymbols + ")"));
             }
+            return rows(Flux.fromIterable(symbols), range, interval, autoAdjust, specs, full);
+        }
+        if (market == null || market.isBlank()) {
+            return Flux.error(new IllegalArgumentException("tickers or market is required"));
+        }
+        // 상장 목록이 상한을 넘으면 앞쪽 max-symbols개만 계산하고 마지막에 잘림 행(symbol 없음)을 붙임
+        return listingRepo.findAll()
+                .filter(doc -> market.equalsIgnoreCase(doc.getMarket()))
+                .map(doc -> doc.getId())
+                .distinct()
+                .take(bulkMaxSymbols + 1L)
+                .collectList()
+                .flatMapMany(symbols -> {
+                    if (symbols.size() <= bulkMaxSymbols) {
+                        return rows(Flux.fromIterable(symbols), range, interval, autoAdjust, specs, full);
+                    }
+                    log.warn("indicators bulk: market {} truncated to {} symbols", market, bulkMaxSymbols);
+                    return rows(Flux.fromIterable(symbols.subList(0, bulkMaxSymbols)), range, interval, autoAdjust, specs, full)
+                            .concatWith(Mono.just(BulkIndicatorRow.failed(null,
+                                    "truncated: market " + market + " has more than " + bulkMaxSymbols + " symbols")));
+                });
+    }
+
+    private Flux<BulkIndicatorRow> rows(Flux<String> symbols, String range, String interval, boolean autoAdjust,
+                                        List<IndicatorSpec> specs, boolean full) {
+        return symbols.flatMap(sym -> compute(sym, range, interval, autoAdjust, specs)
+                .map(res -> toBulkRow(sym, res, full))
+                .switchIfEmpty(Mono.fromSupplier(() -> BulkIndicatorRow.failed(sym, "no history")))
+                .onErrorResume(e -> Mono.just(BulkIndicatorRow.failed(sym, e.getMessage()))), bulkConcurrency);
+    }
+
+    // 종목별 마지막 바 값만 요약(단일 출력은 요청 이름, 복수 출력은 "이름.출력")
+    private static BulkIndicatorRow toBulkRow(String symbol, IndicatorSetResponse res, boolean full) {
+        BulkIndicatorRow row = new BulkIndicatorRow();
+        row.setSymbol(symbol);
+        List<Instant> time = res.getTime();
+        int last = time == null ? -1 : time.size() - 1;
+        if (last >= 0) row.setTime(time.get(last));
+        Map<String, Double> latest = new LinkedHashMap<>();
+        res.getIndicators().forEach((key, outputs) -> outputs.forEach((name, values) -> {
+            Double v = last >= 0 && values.size() > last ? values.get(last) : null;
+            latest.put(outputs.size() == 1 ? key : key + "." + name, v);
+        }));
+        row.setLatest(latest);
+        if (full) row.setSeries(res);
+        return row;
+    }
+
+    private static String baseKey(String names, String ticker, String range, String interval, boolean autoAdjust) {
+        return ticker + ":" + range + ":" + interval + ":" + autoAdjust + ":" + names;
+    }
+
+    static IndicatorSetResponse toResponse(String ticker, String range, String interval, IndicatorEngine engine, List<IndicatorSpec> specs) {
+        Map<String, Map<String, List<Double>>> values = new LinkedHashMap<>();
+        for (IndicatorSpec spec : specs) {
+            Map<String, List<Double>> outputs = new LinkedHashMap<>();
+            engine.compute(spec).forEach((name, arr) -> outputs.put(name, boxed(arr)));
+            values.put(spec.key(), outputs);
         }
+        List<Instant> time = new ArrayList<>(engine.size());
+        for (long t : engine.time()) time.add(Instant.ofEpochSecond(t));
+        IndicatorSetResponse res = new IndicatorSetResponse();
+        res.setTicker(ticker);
+        res.setRange(range);
+        res.setInterval(interval);
+        res.setTime(time);
+        res.setIndicators(values);
+        return res;
+    }
+
+    private static List<Double> boxed(double[] arr) {
+        List<Double> out = new ArrayList<>(arr.length);
+        for (double v : arr) out.add(Double.isNaN(v) || Double.isInfinite(v) ? null : v);
         return out;
     }
 
-    private static List<RsiPoint> computeRsi(HistoryResponse hr, int window) {
-        List<RsiPoint> out = new ArrayList<>();
-        if (hr == null || hr.getRows() == null || hr.getRows().size() < window + 1) return out;
-        List<HistoryRow> rows = hr.getRows();
-        double gain = 0.0, loss = 0.0;
-        for (int i = 1; i <= window; i++) {
-            Double prev = rows.get(i - 1).getClose();
-            Double curr = rows.get(i).getClose();
-            if (prev == null || curr == null) continue;
-            double diff = curr - prev;
-            if (diff >= 0) gain += diff; else loss += -diff;
+    private static List<MaPoint> computeMa(IndicatorEngine engine, int window) {
+        double[] sma = engine.sma(window);
+        long[] t = engine.time();
+        List<MaPoint> out = new ArrayList<>();
+        for (int i = window - 1; i < sma.length; i++) {
+            MaPoint p = new MaPoint();
+            p.setTime(Instant.ofEpochSecond(t[i]));
+            p.setValue(sma[i]);
+            out.add(p);
         }
-        gain /= window; loss /= window;
-        for (int i = window + 1; i < rows.size(); i++) {
-            Double prev = rows.get(i - 1).getClose();
-            Double curr = rows.get(i).getClose();
-            if (prev == null || curr == null) continue;
-            double diff = curr - prev;
-            double g = diff > 0 ? diff : 0.0;
-            double l = diff < 0 ? -diff : 0.0;
-            gain = (gain * (window - 1) + g) / window;
-            loss = (loss * (window - 1) + l) / window;
-            double rs = loss == 0.0 ? 100.0 : gain / loss;
-            double rsi = 100.0 - (100.0 / (1.0 + rs));
+        return out;
+    }
+
+    private static List<RsiPoint> computeRsi(IndicatorEngine engine, int window) {
+        double[] rsi = engine.rsi(window);
+        long[] t = engine.time();
+        List<RsiPoint> out = new ArrayList<>();
+        for (int i = window + 1; i < rsi.length; i++) {
+            // 결측 종가 구간은 기존과 같이 포인트 생략
+            if (Double.isNaN(rsi[i])) continue;
             RsiPoint p = new RsiPoint();
-            p.setTime(rows.get(i).getTime());
-            p.setValue(rsi);
+            p.setTime(Instant.ofEpochSecond(t[i]));
+            p.setValue(rsi[i]);
             out.add(p);
         }
         return out;
     }
 }
-
-
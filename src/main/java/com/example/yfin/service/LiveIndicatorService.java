@@ -0,0 +1,83 @@
+package com.example.yfin.service;
+
+import com.example.yfin.service.indicator.IndicatorSpec;
+import com.example.yfin.service.indicator.LiveIndicator;
+import com.example.yfin.service.indicator.LiveSeries;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 실시간 지표 상태 저장소.
+ * - (심볼, interval, 지표 집합)별 LiveSeries를 히스토리로 1회 시드 후 공유, 틱마다 O(1) 갱신
+ * - 일정 시간 미사용 시 제거, indicators.live.reseed-minutes마다 공식 히스토리로 다시 시드(틱 기반 봉 보정)
+ */
+@Service
+public class LiveIndicatorService {
+
+    private final ChartService chartService;
+    private final Cache<String, Mono<LiveSeries>> states;
+
+    public LiveIndicatorService(ChartService chartService,
+                                @Value("${indicators.live.idle-minutes:30}") long idleMinutes,
+                                @Value("${indicators.live.reseed-minutes:360}") long reseedMinutes,
+                                @Value("${indicators.live.max-series:10000}") long maxSeries) {
+        this.chartService = chartService;
+        this.states = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(Math.max(1, idleMinutes)))
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, reseedMinutes)))
+                .maximumSize(Math.max(1, maxSeries))
+                .build();
+    }
+
+    /** 실시간 지원 지표만 허용(sma/ema/rsi/macd). 형식 오류는 IllegalArgumentException(400) */
+    public static List<IndicatorSpec> parseSpecs(String names, String interval) {
+        List<IndicatorSpec> specs = IndicatorSpec.parseList(names);
+        specs.forEach(LiveIndicator::of);
+        LiveSeries.barSeconds(interval);
+        return specs;
+    }
+
+    /** 틱 반영 후 현재 지표 값 */
+    public Mono<Map<String, Double>> onTick(String symbol, String interval, List<IndicatorSpec> specs, double price, long epochSec) {
+        return series(symbol, interval, specs).map(s -> s.onTick(price, epochSec));
+    }
+
+    /** 틱 없이 현재 값(진행 중 봉은 마지막 가격 기준) */
+    public Mono<Map<String, Double>> current(String symbol, String interval, List<IndicatorSpec> specs) {
+        return series(symbol, interval, specs).map(LiveSeries::snapshot);
+    }
+
+    public Mono<LiveSeries> series(String symbol, String interval, List<IndicatorSpec> specs) {
+        String key = symbol + "|" + interval + "|" + specs.stream().map(IndicatorSpec::key).collect(Collectors.joining(","));
+        return states.get(key, k -> seed(symbol, interval, specs)
+                .doOnError(e -> states.invalidate(k))
+                .cache());
+    }
+
+    private Mono<LiveSeries> seed(String symbol, String interval, List<IndicatorSpec> specs) {
+        return chartService.columns(symbol, seedRange(interval), interval, true)
+                .map(bars -> {
+                    LiveSeries s = new LiveSeries(interval, specs);
+                    s.seed(bars);
+                    return s;
+                })
+                .defaultIfEmpty(new LiveSeries(interval, specs));
+    }
+
+    // 창 크기 대비 충분한 워밍업 구간
+    private static String seedRange(String interval) {
+        long sec = LiveSeries.barSeconds(interval);
+        if (sec < 3_600L) return "5d";
+        if (sec < 86_400L) return "1mo";
+        if (sec < 7 * 86_400L) return "1y";
+        return "5y";
+    }
+}
@@ -1,75 +1,202 @@
 package com.example.yfin.service;
 
+import com.example.yfin.model.BarColumns;
 import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.portfolio.PortfolioAnalytics;
+import com.example.yfin.model.portfolio.PortfolioBatchItem;
+import com.example.yfin.model.portfolio.PortfolioBatchRow;
 import com.example.yfin.model.portfolio.PortfolioSummary;
 import com.example.yfin.model.portfolio.PositionDto;
+import com.example.yfin.realtime.LiveTickSource;
+import com.example.yfin.service.portfolio.PortfolioAnalyticsEngine;
+import com.example.yfin.service.portfolio.PortfolioBook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * 포트폴리오 평가는 PortfolioBook(심볼 해시 색인 + 포지션별 정적/가격 의존 값 분리)으로 계산.
+ * - stream: 최초 1회 배당 보강 포함 시세로 전체 요약, 이후 실시간 틱마다 해당 심볼 포지션만 재계산해 증분 송출
+ * - batch: 여러 포트폴리오의 심볼 합집합을 시세 1회 조회로 공유하고 포트폴리오별 평가는 CPU 코어에 병렬 분산
+ * - analytics: 히스토리 저장소의 일봉으로 NAV 곡선/변동성/샤프/최대 낙폭/상관 행렬 계산
+ */
 @Service
-@RequiredArgsConstructor
 public class PortfolioService {
 
     private final QuoteService quoteService;
+    private final ChartService chartService;
+    private final LiveTickSource liveTicks;
+    private final int batchMaxPortfolios;
+    private final int analyticsConcurrency;
+    private final int analyticsMaxSymbols;
 
-    public Mono<PortfolioSummary> summarize(List<PositionDto> positions) {
-        if (positions == null || positions.isEmpty()) return Mono.just(new PortfolioSummary());
-        List<String> symbols = new ArrayList<>(positions.size());
-        for (PositionDto p : positions) symbols.add(p.getSymbol().trim().toUpperCase());
-        return quoteService.quotes(symbols).map(quotes -> compute(positions, quotes));
+    public PortfolioService(QuoteService quoteService,
+                            ChartService chartService,
+                            LiveTickSource liveTicks,
+                            @Value("${portfolio.batch.max-portfolios:20000}") int batchMaxPortfolios,
+                            @Value("${portfolio.analytics.concurrency:8}") int analyticsConcurrency,
+                            @Value("${portfolio.analytics.max-symbols:300}") int analyticsMaxSymbols) {
+        this.quoteService = quoteService;
+        this.chartService = chartService;
+        this.liveTicks = liveTicks;
+        this.batchMaxPortfolios = Math.max(1, batchMaxPortfolios);
+        this.analyticsConcurrency = Math.max(1, analyticsConcurrency);
+        this.analyticsMaxSymbols = Math.max(1, analyticsMaxSymbols);
     }
 
-    private static PortfolioSummary compute(List<PositionDto> positions, List<QuoteDto> quotes) {
-        PortfolioSummary sum = new PortfolioSummary();
-        double marketValue = 0.0, cost = 0.0, dividendAnnual = 0.0;
-        List<PortfolioSummary.PositionBreakdown> items = new ArrayList<>();
+    /**
+     * 기간 성과/위험 분석. 심볼별 일봉(수정주가)을 제한된 동시성으로 읽고(캐시 적중 시 업스트림 호출 없음)
+     * 계산은 병렬 스케줄러에서 수행. 히스토리가 없는 심볼은 missing으로 제외
+     */
+    public Mono<PortfolioAnalytics> analytics(List<PositionDto> positions, String range, double riskFreeRate) {
+        if (positions == null || positions.isEmpty()) throw new IllegalArgumentException("positions required");
+        Map<String, Double> quantityBySymbol = new LinkedHashMap<>();
         for (PositionDto p : positions) {
-            QuoteDto q = find(quotes, p.getSymbol());
-            PortfolioSummary.PositionBreakdown it = new PortfolioSummary.PositionBreakdown();
-            it.setSymbol(p.getSymbol());
-            it.setQuantity(n(p.getQuantity()));
-            Double price = q == null ? null : q.getRegularMarketPrice();
-            it.setPrice(price);
-            double mv = (price == null ? 0.0 : price) * n(p.getQuantity());
-            double c = n(p.getAverageCost()) * n(p.getQuantity());
-            it.setMarketValue(mv);
-            it.setCost(c);
-            it.setPnl(mv - c);
-            it.setPnlRate(c == 0.0 ? null : (mv - c) / c);
-            Double dy = q == null ? null : (q.getForwardDividendYield() != null ? q.getForwardDividendYield() : q.getTrailingAnnualDividendYield());
-            Double dr = q == null ? null : (q.getForwardDividendRate() != null ? q.getForwardDividendRate() : q.getTrailingAnnualDividendRate());
-            Double annual = null;
-            if (dr != null) annual = dr * n(p.getQuantity());
-            else if (dy != null && price != null) annual = dy * price * n(p.getQuantity());
-            it.setDividendAnnual(annual);
-            it.setDividendYield(price == null || annual == null ? null : (annual / mv));
-            items.add(it);
-            marketValue += mv;
-            cost += c;
-            dividendAnnual += (annual == null ? 0.0 : annual);
+            if (p.getSymbol() == null || p.getSymbol().isBlank()) continue;
+            quantityBySymbol.merge(p.getSymbol().trim().toUpperCase(Locale.ROOT), p.getQuantity() == null ? 0.0 : p.getQuantity(), Double::sum);
         }
-        sum.setItems(items);
-        sum.setMarketValue(marketValue);
-        sum.setCost(cost);
-        sum.setPnl(marketValue - cost);
-        sum.setPnlRate(cost == 0.0 ? null : (marketValue - cost) / cost);
-        sum.setDividendAnnual(dividendAnnual);
-        sum.setDividendYield(marketValue == 0.0 ? null : dividendAnnual / marketValue);
-        return sum;
+        if (quantityBySymbol.size() > analyticsMaxSymbols) {
+            throw new IllegalArgumentException("too many symbols (max " + analyticsMaxSymbols + ")");
+        }
+        List<String> requested = new ArrayList<>(quantityBySymbol.keySet());
+        return Flux.fromIterable(requested)
+                .flatMapSequential(sym -> chartService.columns(sym, range, "1d", true)
+                        .map(Optional::of)
+                        .onErrorResume(e -> Mono.just(Optional.empty()))
+                        .defaultIfEmpty(Optional.empty()), analyticsConcurrency)
+                .collectList()
+                .publishOn(Schedulers.parallel())
+                .map(loaded -> {
+                    List<String> symbols = new ArrayList<>();
+                    List<String> missing = new ArrayList<>();
+                    List<BarColumns> bars = new ArrayList<>();
+                    for (int i = 0; i < requested.size(); i++) {
+                        Optional<BarColumns> b = loaded.get(i);
+                        if (b.isPresent() && !b.get().isEmpty()) {
+                            symbols.add(requested.get(i));
+                            bars.add(b.get());
+                        } else {
+                            missing.add(requested.get(i));
+                        }
+                    }
+                    double[] quantity = new double[symbols.size()];
+                    for (int i = 0; i < quantity.length; i++) quantity[i] = quantityBySymbol.get(symbols.get(i));
+                    PortfolioAnalytics out = symbols.isEmpty()
+                            ? new PortfolioAnalytics()
+                            : PortfolioAnalyticsEngine.compute(symbols, quantity, bars, riskFreeRate);
+                    // 조회 실패 종목 + 유효 종가가 없어 계산에서 빠진 종목
+                    if (out.getMissing() != null) missing.addAll(out.getMissing());
+                    out.setRange(range);
+                    out.setMissing(missing);
+                    return out;
+                });
     }
 
-    private static QuoteDto find(List<QuoteDto> list, String symbol) {
-        if (list == null) return null;
-        for (QuoteDto q : list) if (q.getSymbol().equalsIgnoreCase(symbol)) return q;
-        return null;
+    public Mono<PortfolioSummary> summarize(List<PositionDto> positions) {
+        if (positions == null || positions.isEmpty()) return Mono.just(new PortfolioSummary());
+        PortfolioBook book = new PortfolioBook(positions);
+        return quoteService.quotes(book.symbols()).map(quotes -> {
+            book.applyQuotes(index(quotes));
+            return book.summary();
+        });
     }
 
-    private static double n(Double v) { return v == null ? 0.0 : v; }
-}
+    /**
+     * 다중 포트폴리오 일괄 평가. 전체 심볼 합집합을 심볼당 1회만 시세 조회(배당 보강 포함)한 뒤
+     * 포트폴리오별 평가를 병렬 스케줄러에서 수행하고 완료 순서대로 송출(입력 순서 보장 안 함).
+     * 공유 시세 조회 자체가 실패하면 스트림을 끊지 않고 모든 포트폴리오를 오류 행으로 송출
+     */
+    public Flux<PortfolioBatchRow> batch(List<PortfolioBatchItem> portfolios) {
+        if (portfolios == null || portfolios.isEmpty()) return Flux.empty();
+        if (portfolios.size() > batchMaxPortfolios) {
+            return Flux.error(new IllegalArgumentException("too many portfolios (max " + batchMaxPortfolios + ")"));
+        }
+        List<PortfolioBook> books = new ArrayList<>(portfolios.size());
+        List<String> invalid = new ArrayList<>(portfolios.size());
+        LinkedHashSet<String> union = new LinkedHashSet<>();
+        for (PortfolioBatchItem p : portfolios) {
+            PortfolioBook book = null;
+            String error = "positions required";
+            if (p != null && p.getPositions() != null && !p.getPositions().isEmpty()) {
+                try {
+                    book = new PortfolioBook(p.getPositions());
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            books.add(book);
+            invalid.add(book == null ? error : null);
+            if (book != null) union.addAll(book.symbols());
+        }
+        return quoteService.quotes(List.copyOf(union))
+                .map(list -> new SharedQuotes(index(list), null))
+                .onErrorResume(e -> Mono.just(new SharedQuotes(Map.of(), "quotes unavailable: " + e.getMessage())))
+                .flatMapMany(shared -> Flux.range(0, portfolios.size())
+                        .parallel()
+                        .runOn(Schedulers.parallel())
+                        .map(i -> {
+                            PortfolioBatchItem p = portfolios.get(i);
+                            String id = p == null ? null : p.getId();
+                            PortfolioBook book = books.get(i);
+                            if (book == null) return PortfolioBatchRow.failed(id, invalid.get(i));
+                            if (shared.error() != null) return PortfolioBatchRow.failed(id, shared.error());
+                            try {
+                                book.applyQuotes(shared.bySymbol());
+                                return PortfolioBatchRow.of(id, book.summary());
+                            } catch (RuntimeException e) {
+                                return PortfolioBatchRow.failed(id, e.getMessage());
+                            }
+                        })
+                        .sequential());
+    }
 
+    /**
+     * 실시간 평가 스트림: 첫 요소는 전체 요약, 이후는 합계 + 변경된 포지션만 담은 요약.
+     * WS 공급자(KIS/Finnhub)가 없으면 pollSec 주기 시세 폴링(배당 보강 생략)을 틱으로 사용
+     */
+    public Flux<PortfolioSummary> stream(List<PositionDto> positions, long pollSec) {
+        if (positions == null || positions.isEmpty()) throw new IllegalArgumentException("positions required");
+        PortfolioBook book = new PortfolioBook(positions);
+        List<String> symbols = book.symbols();
+        Duration poll = Duration.ofSeconds(Math.max(2, pollSec));
+        return quoteService.quotes(symbols).flatMapMany(quotes -> {
+            book.applyQuotes(index(quotes));
+            String sessionId = "portfolio-" + UUID.randomUUID();
+            Flux<QuoteDto> ticks = liveTicks.isEnabled()
+                    ? liveTicks.ticks(sessionId, symbols).doFinally(sig -> liveTicks.release(sessionId))
+                    : Flux.interval(poll, poll)
+                            .concatMap(i -> quoteService.quotes(symbols, false).onErrorResume(e -> Mono.just(List.of())))
+                            .flatMapIterable(list -> list);
+            Flux<PortfolioSummary> updates = ticks.concatMap(q -> {
+                Double price = q.getRegularMarketPrice();
+                if (price == null) return Mono.empty();
+                int[] changed = book.onPrice(q.getSymbol(), price);
+                return changed.length == 0 ? Mono.empty() : Mono.just(book.summary(changed));
+            });
+            return Flux.concat(Mono.just(book.summary()), updates);
+        });
+    }
 
+    private static Map<String, QuoteDto> index(List<QuoteDto> quotes) {
+        Map<String, QuoteDto> out = new HashMap<>(quotes.size() * 2);
+        for (QuoteDto q : quotes) {
+            if (q != null && q.getSymbol() != null) out.putIfAbsent(q.getSymbol().toUpperCase(Locale.ROOT), q);
+        }
+        return out;
+    }
 
+    private record SharedQuotes(Map<String, QuoteDto> bySymbol, String error) { }
+}
@@ -5,14 +5,17 @@ import com.example.yfin.http.YahooApiClient;
 import com.example.yfin.http.AlphaVantageClient;
 import com.example.yfin.http.FinnhubClient;
 import com.example.yfin.model.QuoteDto;
+import com.example.yfin.util.MicroBatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,12 +27,34 @@ public class QuoteService {
 
     private final YahooApiClient yahooApiClient;
     private final TickerResolver tickerResolver;
-    private final com.example.yfin.service.cache.RedisCacheService level2Cache;
-    private final DividendsService dividendsService;
     private final AlphaVantageClient alphaVantageClient;
     private final FinnhubClient finnhubClient;
+    private final com.example.yfin.http.RateGovernor rateGovernor;
+    private final DividendFieldsService dividendFieldsService;
+    private final com.example.yfin.service.cache.SwrCache swrCache;
+
+    private static final String QUOTE_KEY_PREFIX = "quote:";
+
+    @Value("${quote.batch.window-ms:10}")
+    private long batchWindowMs;
+    @Value("${quote.batch.max-symbols:50}")
+    private int batchMaxSymbols;
+    @Value("${quote.dividends.concurrency:4}")
+    private int dividendConcurrency;
+    private MicroBatcher<String, QuoteDto> quoteBatcher;
+
+    @PostConstruct
+    void initBatcher() {
+        // 배치 병렬도는 레이트 거버너 예산을 따름(요청 간 페이싱은 거버너가 담당)
+        quoteBatcher = new MicroBatcher<>(Duration.ofMillis(Math.max(1, batchWindowMs)), batchMaxSymbols,
+                rateGovernor.maxConcurrency(), this::fetchGroup);
+    }
+
+    @PreDestroy
+    void disposeBatcher() {
+        if (quoteBatcher != null) quoteBatcher.dispose();
+    }
 
-    
 
     @Cacheable(cacheNames = "quote", key = "#ticker")
     public Mono<QuoteDto> quote(String ticker) {
@@ -49,95 +74,108 @@ public class QuoteService {
     }
 
     public Mono<List<QuoteDto>> quotes(List<String> tickers) {
+        return quotes(tickers, true);
+    }
+
+    /** withDividends=false면 선행/TTM 배당 보강을 생략(배당 필드가 필요 없는 호출용) */
+    public Mono<List<QuoteDto>> quotes(List<String> tickers, boolean withDividends) {
         if (tickers == null || tickers.isEmpty()) return Mono.just(List.of());
         return normalizeTickers(tickers).flatMap(norm -> {
-            // 심볼을 6~8개 단위로 배치 분할
-            int batchSize = 8;
-            java.util.List<java.util.List<String>> batches = new java.util.ArrayList<>();
-            for (int i = 0; i < norm.size(); i += batchSize) {
-                batches.add(norm.subList(i, Math.min(i + batchSize, norm.size())));
-            }
-
-            // 배치를 직렬 처리 + 배치 간 지터로 차단 완화
-            return Flux.fromIterable(batches)
-                    .concatMap(group -> {
-                        long jitter = java.util.concurrent.ThreadLocalRandom.current().nextLong(120, 320);
-                        String symbols = String.join(",", group);
-                        String path = "/v7/finance/quote?symbols=" + symbols + "&lang=en-US&region=US&corsDomain=finance.yahoo.com";
-                        String ref = "/quote/" + group.get(0);
-                        String cacheKey = "quotes:" + symbols;
-                        Mono<java.util.List<QuoteDto>> call = level2Cache.get(cacheKey, new com.fasterxml.jackson.core.type.TypeReference<java.util.List<QuoteDto>>() {})
-                                .switchIfEmpty(
-                                        (yahooApiClient.isTemporarilyBlocked()
-                                                ? fallbackQuotes(group).map(this::mapQuotes)
-                                                : yahooApiClient.getJson(path, ref)
-                                                        .onErrorResume(e -> fallbackQuotes(group))
-                                                        .map(this::mapQuotes)
-                                        )
-                                                // 캐시 TTL을 조금 늘려 차단 시 재사용 여지 확보
-                                                .flatMap(list -> level2Cache.set(cacheKey, list, java.time.Duration.ofSeconds(45)).thenReturn(list))
-                                )
-                                .timeout(java.time.Duration.ofSeconds(12))
-                                .onErrorResume(e -> fallbackQuotes(group).map(this::mapQuotes));
-                        return reactor.core.publisher.Mono.delay(java.time.Duration.ofMillis(jitter)).then(call);
-                    }, 1)
-                    .collectList()
-                    .flatMap(parts -> {
-                        java.util.List<QuoteDto> all = new java.util.ArrayList<>();
-                        for (java.util.List<QuoteDto> p : parts) if (p != null) all.addAll(p);
-                        return Mono.just(all);
+            java.util.LinkedHashSet<String> symbols = new java.util.LinkedHashSet<>();
+            for (String n : norm) if (n != null && !n.isBlank()) symbols.add(n.trim().toUpperCase());
+            // 심볼별 키(quote:{sym})로 L1/L2(MGET) 조회 후, 미스 심볼만 마이크로 배처로 모아 /v7/finance/quote 배치 호출
+            java.util.List<String> keys = new java.util.ArrayList<>(symbols.size());
+            for (String sym : symbols) keys.add(QUOTE_KEY_PREFIX + sym);
+            return swrCache.getAll("quotes", keys,
+                            new com.fasterxml.jackson.core.type.TypeReference<com.example.yfin.service.cache.SwrEntry<QuoteDto>>() {},
+                            this::loadQuotesByKey)
+                    .map(found -> {
+                        java.util.List<QuoteDto> all = new java.util.ArrayList<>(found.size());
+                        for (String key : keys) {
+                            QuoteDto q = found.get(key);
+                            if (q != null) all.add(q);
+                        }
+                        return all;
                     })
-                    .flatMap(base -> {
-                java.util.List<String> needForward = new java.util.ArrayList<>();
-                for (QuoteDto q : base) {
-                    if (q.getForwardDividendYield() == null && q.getForwardDividendRate() == null) {
-                        needForward.add(q.getSymbol());
-                    }
-                }
-                if (needForward.isEmpty()) {
-                    return Mono.just(base);
-                }
-                String modules = "summaryDetail";
-                java.util.List<Mono<Void>> enrichCalls = new java.util.ArrayList<>();
-                for (QuoteDto q : base) {
-                    if (q.getForwardDividendYield() != null || q.getForwardDividendRate() != null) continue;
-                    String sym = q.getSymbol();
-                    if (!yahooApiClient.isTemporarilyBlocked()) {
-                        String p = "/v10/finance/quoteSummary/" + sym + "?modules=" + modules + "&lang=en-US&region=US&corsDomain=finance.yahoo.com";
-                        enrichCalls.add(
-                                yahooApiClient.getJson(p, "/quote/" + sym)
-                                        .doOnNext(b -> enrichForward(q, b))
-                                        .onErrorResume(err -> Mono.empty())
-                                        .then()
-                        );
-                    }
-                }
-                return Mono.when(enrichCalls).then(Mono.defer(() -> {
-                    java.util.List<Mono<Void>> ttmCalls = new java.util.ArrayList<>();
+                    .flatMap(base -> withDividends ? enrichDividends(base) : Mono.just(base));
+        });
+    }
+
+    /**
+     * 선행 배당 값이 없는 종목만 심볼 중복 제거 후 제한된 동시성으로 보강.
+     * 배당 지표는 DividendFieldsService에서 긴 TTL로 별도 캐시.
+     * base의 QuoteDto는 SWR 캐시/배처/스크리너가 공유하므로 보강은 복사본에만 적용하고 새 리스트로 반환
+     */
+    private Mono<List<QuoteDto>> enrichDividends(List<QuoteDto> base) {
+        java.util.Set<String> needForward = new java.util.LinkedHashSet<>();
+        for (QuoteDto q : base) {
+            if (q.getSymbol() == null) continue;
+            if (q.getForwardDividendYield() == null && q.getForwardDividendRate() == null) {
+                needForward.add(q.getSymbol().toUpperCase());
+            }
+        }
+        if (needForward.isEmpty()) return Mono.just(base);
+        return Flux.fromIterable(needForward)
+                .flatMap(sym -> dividendFieldsService.fields(sym)
+                        .map(f -> Map.entry(sym, f))
+                        .onErrorResume(err -> Mono.empty()), Math.max(1, dividendConcurrency))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(fields -> {
+                    if (fields.isEmpty()) return base;
+                    List<QuoteDto> out = new ArrayList<>(base.size());
                     for (QuoteDto q : base) {
-                        if (q.getForwardDividendYield() != null || q.getForwardDividendRate() != null) continue;
-                        String sym = q.getSymbol();
-                        ttmCalls.add(
-                                dividendsService.dividends(sym, "2y")
-                                        .doOnNext(div -> enrichTtm(q, div))
-                                        .onErrorResume(err -> Mono.empty())
-                                        .then()
-                        );
+                        com.example.yfin.model.DividendFields f = q.getSymbol() == null ? null : fields.get(q.getSymbol().toUpperCase());
+                        out.add(f == null ? q : withDividendFields(q, f));
                     }
-                    if (ttmCalls.isEmpty()) return Mono.just(base);
-                    return Mono.when(ttmCalls).thenReturn(base);
-                }));
-            });
+                    return out;
+                });
+    }
+
+    /** SWR 캐시 미스/갱신 키(quote:{sym}) → 배처 조회 → 키 기준 Map */
+    private Mono<Map<String, QuoteDto>> loadQuotesByKey(List<String> keys) {
+        java.util.List<String> syms = new java.util.ArrayList<>(keys.size());
+        for (String k : keys) syms.add(k.substring(QUOTE_KEY_PREFIX.length()));
+        return quoteBatcher.loadAll(syms).map(found -> {
+            Map<String, QuoteDto> byKey = new java.util.LinkedHashMap<>();
+            found.forEach((sym, q) -> byKey.put(QUOTE_KEY_PREFIX + sym, q));
+            return byKey;
+        });
+    }
+
+    /** 배처가 모은 심볼 그룹 1회 조회(Yahoo → 폴백). 결과는 심볼(대문자) 기준 Map */
+    private Mono<Map<String, QuoteDto>> fetchGroup(List<String> group) {
+        String symbols = String.join(",", group);
+        String path = "/v7/finance/quote?symbols=" + symbols + "&lang=en-US&region=US&corsDomain=finance.yahoo.com";
+        String ref = "/quote/" + group.get(0);
+        Mono<java.util.List<QuoteDto>> call = (yahooApiClient.isTemporarilyBlocked()
+                        ? fallbackQuotes(group).map(this::mapQuotes)
+                        : yahooApiClient.getJson(path, ref)
+                                .onErrorResume(e -> fallbackQuotes(group))
+                                .map(this::mapQuotes))
+                .timeout(java.time.Duration.ofSeconds(12))
+                .onErrorResume(e -> fallbackQuotes(group).map(this::mapQuotes));
+        return call.map(list -> {
+            Map<String, QuoteDto> bySymbol = new java.util.LinkedHashMap<>();
+            for (QuoteDto q : list) {
+                if (q != null && q.getSymbol() != null) bySymbol.put(q.getSymbol().toUpperCase(), q);
+            }
+            return bySymbol;
         });
     }
 
     public Mono<List<QuoteDto>> quotesEx(List<String> tickers, String exchange) {
+        return quotesEx(tickers, exchange, false);
+    }
+
+    /** exchange 지정 조회. withDividends는 quotes(tickers, withDividends)와 같은 배당 보강 */
+    public Mono<List<QuoteDto>> quotesEx(List<String> tickers, String exchange, boolean withDividends) {
         if (tickers == null || tickers.isEmpty()) return Mono.just(List.of());
         return normalizeTickers(tickers, exchange).flatMap(norm -> {
             String symbols = String.join(",", norm);
             String path = "/v7/finance/quote?symbols=" + symbols + "&lang=en-US&region=US&corsDomain=finance.yahoo.com";
             String ref = "/quote/" + norm.get(0);
-            return yahooApiClient.getJson(path, ref).map(this::mapQuotes);
+            return yahooApiClient.getJson(path, ref).map(this::mapQuotes)
+                    .flatMap(base -> withDividends ? enrichDividends(base) : Mono.just(base));
         });
     }
 
@@ -184,39 +222,23 @@ public class QuoteService {
         return out;
     }
 
-    private void enrichForward(QuoteDto target, Map<String, Object> body) {
-        Map<String, Object> qs = asMap(body.get("quoteSummary"));
-        if (qs == null) return;
-        List<Map<String, Object>> result = asListOfMap(qs.get("result"));
-        if (result == null || result.isEmpty()) return;
-        Map<String, Object> r0 = result.get(0);
-        Map<String, Object> sd = asMap(r0.get("summaryDetail"));
-        if (sd == null) return;
-        Object dy = sd.get("dividendYield");
-        Object dr = sd.get("dividendRate");
-        if (target.getForwardDividendYield() == null) target.setForwardDividendYield(normalizeYield(d(dy)));
-        if (target.getForwardDividendRate() == null) target.setForwardDividendRate(d(dr));
+    private static Double normalizeYield(Double v) { if (v == null) return null; return v > 1.0 ? v / 100.0 : v; }
+    private static QuoteDto withDividendFields(QuoteDto source, com.example.yfin.model.DividendFields f) {
+        // 공유 인스턴스 대신 얕은 복사본에 보강
+        QuoteDto target = source.toBuilder().build();
+        if (target.getForwardDividendYield() == null) target.setForwardDividendYield(f.getForwardDividendYield());
+        if (target.getForwardDividendRate() == null) target.setForwardDividendRate(f.getForwardDividendRate());
+        Double ttm = f.getTtmDividendRate();
+        if (ttm != null && ttm > 0.0) {
+            if (target.getForwardDividendRate() == null) target.setForwardDividendRate(ttm);
+            if (target.getForwardDividendYield() == null && target.getRegularMarketPrice() != null && target.getRegularMarketPrice() > 0.0) {
+                target.setForwardDividendYield(ttm / target.getRegularMarketPrice());
+            }
+        }
         if (target.getForwardDividendYield() != null && target.getForwardDividendYieldPct() == null) {
             target.setForwardDividendYieldPct(target.getForwardDividendYield() * 100.0);
         }
-    }
-
-    private static Double normalizeYield(Double v) { if (v == null) return null; return v > 1.0 ? v / 100.0 : v; }
-    private void enrichTtm(QuoteDto target, com.example.yfin.model.DividendsResponse div) {
-        if (div == null || div.getRows() == null || div.getRows().isEmpty()) return;
-        Instant cutoff = Instant.now().minus(365, ChronoUnit.DAYS);
-        double ttm = div.getRows().stream()
-                .filter(r -> r.getDate() != null && r.getDate().isAfter(cutoff))
-                .map(r -> r.getAmount() == null ? 0.0 : r.getAmount())
-                .mapToDouble(Double::doubleValue)
-                .sum();
-        if (ttm <= 0.0) return;
-        target.setForwardDividendRate(target.getForwardDividendRate() == null ? ttm : target.getForwardDividendRate());
-        if (target.getRegularMarketPrice() != null && target.getRegularMarketPrice() > 0.0) {
-            double y = ttm / target.getRegularMarketPrice();
-            if (target.getForwardDividendYield() == null) target.setForwardDividendYield(y);
-            if (target.getForwardDividendYieldPct() == null) target.setForwardDividendYieldPct(y * 100.0);
-        }
+        return target;
     }
     private Mono<List<String>> normalizeTickers(List<String> tickers) {
         List<Mono<String>> monos = new ArrayList<>(tickers.size());
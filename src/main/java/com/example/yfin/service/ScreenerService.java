@@ -1,92 +1,116 @@
 package com.example.yfin.service;
 
 import com.example.yfin.model.QuoteDto;
-import com.example.yfin.repo.ListingMetaRepository;
+import com.example.yfin.model.screener.ScreenerQueryResponse;
+import com.example.yfin.model.screener.ScreenerRow;
+import com.example.yfin.service.screener.ScreenerIndex;
+import com.example.yfin.service.screener.ScreenerQuery;
+import com.example.yfin.service.screener.ScreenerSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import com.example.yfin.model.ScreenerSortBy;
 
+/**
+ * 스크리너 질의는 ScreenerIndex의 현재 스냅샷(컬럼 배열 + 미리 정렬된 섹터 그룹)만 읽음.
+ * - query: where/sort 식은 한 번 파싱해 캐시, 스냅샷 컬럼에 바인딩된 판정식으로 평가
+ */
 @Service
 @RequiredArgsConstructor
 public class ScreenerService {
 
-    private final ListingMetaRepository listingRepo;
-    private final QuoteService quoteService;
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private final ScreenerIndex index;
+    // (where, sort) → 파싱된 질의(스냅샷별 컴파일 결과 포함)
+    private final Cache<String, ScreenerQuery> queries = Caffeine.newBuilder().maximumSize(1_000).build();
+
+    public Mono<ScreenerQueryResponse> query(String market, String where, String sort, int offset, Integer limit) {
+        String w = where == null ? "" : where.trim();
+        String o = sort == null ? "" : sort.trim();
+        ScreenerQuery q = queries.get(w + "\n" + o, k -> ScreenerQuery.parse(w, o));
+        int from = Math.max(0, offset);
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(0, Math.min(MAX_LIMIT, limit));
+        return index.snapshot().map(s -> {
+            int[] rows = q.select(s, s.members(market));
+            List<ScreenerRow> items = new ArrayList<>();
+            for (int k = from; k < rows.length && k < from + size; k++) items.add(toRow(s, rows[k], q));
+            ScreenerQueryResponse out = new ScreenerQueryResponse();
+            out.setTotal(rows.length);
+            out.setOffset(from);
+            out.setLimit(size);
+            out.setAsOf(Instant.ofEpochMilli(s.builtAtEpochMs()));
+            out.setItems(items);
+            return out;
+        });
+    }
+
+    private static ScreenerRow toRow(ScreenerSnapshot s, int i, ScreenerQuery q) {
+        ScreenerRow row = new ScreenerRow();
+        row.setSymbol(s.symbol(i));
+        row.setName(s.name(i));
+        row.setMarket(s.market(i));
+        row.setSector(s.sector(i));
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String f : q.numericFields()) {
+            double v = s.numericColumn(f)[i];
+            values.put(f, Double.isNaN(v) ? null : v);
+        }
+        row.setValues(values);
+        row.setQuote(s.quote(i));
+        return row;
+    }
 
     public Mono<List<QuoteDto>> filterBy(String market,
                                          Double minDividendYield,
                                          Double minVolatilityPct,
                                          Long minVolume) {
-        return listingRepo.findAll()
-                .filter(doc -> market == null || market.equalsIgnoreCase(doc.getMarket()))
-                .map(doc -> doc.getId())
-                .collectList()
-                .flatMap(ids -> quoteService.quotes(ids))
-                .map(list -> {
-                    List<QuoteDto> out = new ArrayList<>();
-                    for (QuoteDto q : list) {
-                        if (q == null) continue;
-                        if (minDividendYield != null) {
-                            Double dy = q.getForwardDividendYield();
-                            if (dy == null) dy = q.getTrailingAnnualDividendYield();
-                            if (dy == null || dy < minDividendYield) continue;
-                        }
-                        if (minVolume != null) {
-                            if (q.getRegularMarketVolume() == null || q.getRegularMarketVolume() < minVolume) continue;
-                        }
-                        // 변동성은 현 시점에 직접 계산 정보가 없으므로 dayHigh/Low 기반 근사(간단): (high-low)/price
-                        if (minVolatilityPct != null && minVolatilityPct > 0) {
-                            Double p = q.getRegularMarketPrice();
-                            Double hi = q.getDayHigh();
-                            Double lo = q.getDayLow();
-                            if (p == null || p <= 0 || hi == null || lo == null) continue;
-                            double approx = (hi - lo) / p * 100.0;
-                            if (approx < minVolatilityPct) continue;
-                        }
-                        out.add(q);
-                    }
-                    return out;
-                });
+        return index.snapshot().map(s -> {
+            List<QuoteDto> out = new ArrayList<>();
+            for (int i : s.members(market)) {
+                if (s.quote(i) == null) continue;
+                if (minDividendYield != null) {
+                    double dy = s.dividendYield(i);
+                    if (Double.isNaN(dy) || dy < minDividendYield) continue;
+                }
+                if (minVolume != null) {
+                    if (s.volume(i) < 0 || s.volume(i) < minVolume) continue;
+                }
+                // 20일 실현 변동성(연율화 %). 통계가 아직 없는 종목은 단위가 다른 근사값으로 대체하지 않고 제외
+                if (minVolatilityPct != null && minVolatilityPct > 0) {
+                    double vol = s.volatility20(i);
+                    if (Double.isNaN(vol) || vol < minVolatilityPct) continue;
+                }
+                out.add(s.quote(i));
+            }
+            return out;
+        });
     }
 
     public Mono<List<Map.Entry<String, List<QuoteDto>>>> rankBySectorTopN(String market, int topN, String sortBy) {
-        return listingRepo.findAll()
-                .filter(doc -> market == null || market.equalsIgnoreCase(doc.getMarket()))
-                .collectList()
-                .flatMap(docs -> {
-                    List<String> ids = docs.stream().map(d -> d.getId()).collect(Collectors.toList());
-                    return quoteService.quotes(ids).map(quotes -> {
-                        ScreenerSortBy by = ScreenerSortBy.from(sortBy);
-                        Map<String, List<QuoteDto>> grouped = docs.stream()
-                                .collect(Collectors.groupingBy(
-                                        d -> d.getSector() == null ? "UNKNOWN" : d.getSector(),
-                                        Collectors.mapping(d -> findQuote(quotes, d.getId()), Collectors.toList())
-                                ));
-                        Comparator<QuoteDto> cmp = buildComparator(by);
-                        List<Map.Entry<String, List<QuoteDto>>> ranked = new ArrayList<>(grouped.entrySet());
-                        for (Map.Entry<String, List<QuoteDto>> e : ranked) {
-                            List<QuoteDto> vs = e.getValue().stream().filter(q -> q != null).sorted(cmp.reversed()).limit(topN).collect(Collectors.toList());
-                            e.setValue(vs);
-                        }
-                        ranked.sort((a,b) -> Double.compare(score(a.getValue()), score(b.getValue())));
-                        return ranked;
-                    });
-                });
-    }
-
-    private static Comparator<QuoteDto> buildComparator(ScreenerSortBy sortBy) {
-        if (sortBy == ScreenerSortBy.VOLUME) {
-            return Comparator.comparing(q -> q.getRegularMarketVolume() == null ? 0L : q.getRegularMarketVolume());
-        }
-        // 기본: 수익률 기준
-        return Comparator.comparing(q -> q.getRegularMarketChangePercent() == null ? 0.0 : q.getRegularMarketChangePercent());
+        ScreenerSortBy by = ScreenerSortBy.from(sortBy);
+        return index.snapshot().map(s -> {
+            List<Map.Entry<String, List<QuoteDto>>> ranked = new ArrayList<>();
+            for (Map.Entry<String, ScreenerSnapshot.Sector> e : s.sectors(market).entrySet()) {
+                int[] order = by == ScreenerSortBy.VOLUME ? e.getValue().byVolumeDesc() : e.getValue().byChangeDesc();
+                int n = Math.min(Math.max(0, topN), order.length);
+                List<QuoteDto> top = new ArrayList<>(n);
+                for (int k = 0; k < n; k++) top.add(s.quote(order[k]));
+                ranked.add(new AbstractMap.SimpleEntry<>(e.getKey(), top));
+            }
+            ranked.sort((a, b) -> Double.compare(score(a.getValue()), score(b.getValue())));
+            return ranked;
+        });
     }
 
     private static double score(List<QuoteDto> list) {
@@ -95,13 +119,4 @@ public class ScreenerService {
         for (QuoteDto q : list) sum += (q.getRegularMarketChangePercent() == null ? 0.0 : q.getRegularMarketChangePercent());
         return sum;
     }
-
-    private static QuoteDto findQuote(List<QuoteDto> quotes, String symbol) {
-        for (QuoteDto q : quotes) {
-            if (q != null && symbol.equalsIgnoreCase(q.getSymbol())) return q;
-        }
-        return null;
-    }
 }
-
-
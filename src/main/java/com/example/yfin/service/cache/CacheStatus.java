@@ -0,0 +1,38 @@
+package com.example.yfin.service.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 단위 캐시 상태(Reactor Context에 보관).
+ * stale 값이 한 번이라도 응답에 쓰였으면 WebFilter가 X-Cache-Stale/Age 헤더로 노출
+ */
+public final class CacheStatus {
+
+    private final AtomicLong oldestStoredAtEpochMs = new AtomicLong(0);
+
+    public boolean isStale() { return oldestStoredAtEpochMs.get() > 0; }
+
+    /** 응답에 포함된 가장 오래된 stale 값의 나이(초) */
+    public long ageSeconds() {
+        long storedAt = oldestStoredAtEpochMs.get();
+        return storedAt <= 0 ? 0 : Math.max(0, (System.currentTimeMillis() - storedAt) / 1000);
+    }
+
+    void recordStale(long storedAtEpochMs) {
+        oldestStoredAtEpochMs.accumulateAndGet(storedAtEpochMs, (cur, v) -> cur == 0 ? v : Math.min(cur, v));
+    }
+
+    /** 현재 요청 컨텍스트에 stale 표시(컨텍스트 밖이면 무시) */
+    public static Mono<Void> markStale(SwrEntry<?> entry) {
+        return markStale(entry.getStoredAtEpochMs());
+    }
+
+    public static Mono<Void> markStale(long storedAtEpochMs) {
+        return Mono.deferContextual(ctx -> {
+            ctx.<CacheStatus>getOrEmpty(CacheStatus.class).ifPresent(s -> s.recordStale(storedAtEpochMs));
+            return Mono.empty();
+        });
+    }
+}
@@ -1,33 +1,89 @@
 package com.example.yfin.service.cache;
 
+import com.example.yfin.service.cache.codec.L2ValueCodec;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * L2(Redis) 캐시. 값은 L2ValueCodec 프레임(캐시별 코덱 + 선택적 LZ4)으로 저장하며,
+ * 헤더 없는 기존 JSON 문자열 값도 읽을 수 있음
+ */
 @Service
 public class RedisCacheService {
-    private final org.springframework.data.redis.core.ReactiveStringRedisTemplate redis;
-    private final ObjectMapper mapper;
+    private final ReactiveRedisTemplate<String, byte[]> redis;
+    private final L2ValueCodec codec;
 
-    public RedisCacheService(org.springframework.data.redis.core.ReactiveStringRedisTemplate redis, ObjectMapper mapper) {
+    public RedisCacheService(ReactiveRedisTemplate<String, byte[]> redis, L2ValueCodec codec) {
         this.redis = redis;
-        this.mapper = mapper;
+        this.codec = codec;
     }
 
     public <T> Mono<T> get(String key, TypeReference<T> type) {
         return redis.opsForValue().get(key)
-                .flatMap(json -> Mono.fromCallable(() -> mapper.readValue(json, type)))
+                .flatMap(raw -> Mono.fromCallable(() -> codec.decode(raw, type)))
                 .onErrorResume(e -> Mono.empty());
     }
 
     public Mono<Boolean> set(String key, Object value, Duration ttl) {
-        return Mono.fromCallable(() -> mapper.writeValueAsString(value))
-                .flatMap(js -> redis.opsForValue().set(key, js, ttl))
+        return Mono.fromCallable(() -> codec.encode(key, value))
+                .flatMap(bytes -> redis.opsForValue().set(key, bytes, ttl))
                 .onErrorReturn(false);
     }
-}
 
+    /** MGET 1회로 여러 키 조회. 없거나 역직렬화 실패한 키는 결과에서 빠짐 */
+    public <T> Mono<Map<String, T>> getAll(Collection<String> keys, TypeReference<T> type) {
+        if (keys == null || keys.isEmpty()) return Mono.just(Map.of());
+        List<String> ordered = new ArrayList<>(keys);
+        return redis.opsForValue().multiGet(ordered)
+                .map(values -> {
+                    Map<String, T> out = new LinkedHashMap<>();
+                    for (int i = 0; i < ordered.size() && i < values.size(); i++) {
+                        byte[] raw = values.get(i);
+                        if (raw == null) continue;
+                        try {
+                            T v = codec.decode(raw, type);
+                            if (v != null) out.put(ordered.get(i), v);
+                        } catch (Exception ignored) { }
+                    }
+                    return out;
+                })
+                .onErrorReturn(Map.of());
+    }
+
+    /** 여러 키를 SET EX 명령으로 한 커넥션에 파이프라인 전송. 성공 개수 반환 */
+    public Mono<Long> setAll(Map<String, ?> values, Duration ttl) {
+        if (values == null || values.isEmpty()) return Mono.just(0L);
+        return Mono.fromCallable(() -> {
+                    List<ReactiveStringCommands.SetCommand> cmds = new ArrayList<>(values.size());
+                    Expiration exp = Expiration.from(ttl);
+                    for (Map.Entry<String, ?> e : values.entrySet()) {
+                        cmds.add(ReactiveStringCommands.SetCommand.set(utf8(e.getKey()))
+                                .value(ByteBuffer.wrap(codec.encode(e.getKey(), e.getValue())))
+                                .expiring(exp));
+                    }
+                    return cmds;
+                })
+                .flatMap(cmds -> redis.execute(conn -> conn.stringCommands().set(Flux.fromIterable(cmds)))
+                        .filter(r -> Boolean.TRUE.equals(r.getOutput()))
+                        .count())
+                .onErrorReturn(0L);
+    }
 
+    private static ByteBuffer utf8(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.yfin.service.cache;
+
+import com.example.yfin.config.CacheConfig;
+import com.example.yfin.config.CachePolicyProperties;
+import com.example.yfin.util.SingleFlight;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * stale-while-revalidate L1(Caffeine)/L2(Redis) 캐시.
+ * - 소프트 TTL(cache.policies.{name}.refresh-after-write) 경과: stale 값을 즉시 반환하고 단일 비행으로 백그라운드 갱신
+ * - 하드 TTL(cache.policies.{name}.ttl) 경과 또는 미스: 로더 완료까지 대기
+ * - stale 응답 여부는 요청 컨텍스트의 CacheStatus에 기록
+ * - getAll: 키 단위 엔트리를 L1 → L2(MGET) 순으로 찾고, 미스 키만 로더 1회로 채워 파이프라인 SET
+ */
+@Service
+public class SwrCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SwrCache.class);
+
+    private final RedisCacheService l2;
+    private final CachePolicyProperties policies;
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<String, Cache<Object, Object>> locals = new ConcurrentHashMap<>();
+    private final SingleFlight<String, SwrEntry<?>> refreshes = new SingleFlight<>();
+    // getAll 백그라운드 갱신 중인 키(cacheName|key)
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    public SwrCache(RedisCacheService l2, CachePolicyProperties policies, ObjectMapper mapper) {
+        this.l2 = l2;
+        this.policies = policies;
+        this.mapper = mapper;
+    }
+
+    /** 값만 필요할 때: stale이면 CacheStatus에 표시 */
+    public <T> Mono<T> get(String cacheName, String key, TypeReference<SwrEntry<T>> type, Supplier<Mono<T>> loader) {
+        return getEntry(cacheName, key, type, loader)
+                .flatMap(e -> e.isStale(System.currentTimeMillis())
+                        ? CacheStatus.markStale(e).thenReturn(e.getValue())
+                        : Mono.just(e.getValue()));
+    }
+
+    /** 엔벌로프 그대로 반환(호출 측에서 stale 여부를 다른 컨텍스트로 전달해야 할 때) */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<SwrEntry<T>> getEntry(String cacheName, String key, TypeReference<SwrEntry<T>> type, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+            SwrEntry<T> local = (SwrEntry<T>) local(cacheName).getIfPresent(key);
+            if (local != null && !local.isExpired(now)) return Mono.just(serve(cacheName, key, local, loader, now));
+            return l2.get(key, type)
+                    .filter(e -> !e.isExpired(System.currentTimeMillis()))
+                    .doOnNext(e -> local(cacheName).put(key, e))
+                    .map(e -> serve(cacheName, key, e, loader, System.currentTimeMillis()))
+                    .switchIfEmpty(Mono.defer(() -> refresh(cacheName, key, loader)));
+        });
+    }
+
+    /**
+     * 다건 조회. 결과는 키 기준 Map(로더도 못 찾은 키는 빠짐).
+     * stale 엔트리는 즉시 반환하고 해당 키들만 모아 백그라운드 갱신
+     */
+    public <T> Mono<Map<String, T>> getAll(String cacheName, Collection<String> keys, TypeReference<SwrEntry<T>> type,
+                                           Function<List<String>, Mono<Map<String, T>>> loader) {
+        if (keys == null || keys.isEmpty()) return Mono.just(Map.of());
+        return Mono.defer(() -> {
+            Set<String> distinct = new LinkedHashSet<>(keys);
+            Map<String, SwrEntry<T>> hits = new LinkedHashMap<>();
+            List<String> missing = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            for (String key : distinct) {
+                @SuppressWarnings("unchecked")
+                SwrEntry<T> e = (SwrEntry<T>) local(cacheName).getIfPresent(key);
+                if (e != null && !e.isExpired(now)) hits.put(key, e);
+                else missing.add(key);
+            }
+            return l2.getAll(missing, type).flatMap(fromL2 -> {
+                long t = System.currentTimeMillis();
+                List<String> toLoad = new ArrayList<>();
+                for (String key : missing) {
+                    SwrEntry<T> e = fromL2.get(key);
+                    if (e != null && !e.isExpired(t)) {
+                        local(cacheName).put(key, e);
+                        hits.put(key, e);
+                    } else {
+                        toLoad.add(key);
+                    }
+                }
+                List<String> stale = new ArrayList<>();
+                for (Map.Entry<String, SwrEntry<T>> e : hits.entrySet()) {
+                    if (e.getValue().isStale(t)) stale.add(e.getKey());
+                }
+                if (!stale.isEmpty()) refreshAllInBackground(cacheName, stale, loader);
+                Mono<Map<String, SwrEntry<T>>> loaded = toLoad.isEmpty() ? Mono.just(Map.of()) : loadAll(cacheName, toLoad, loader);
+                return loaded.flatMap(fresh -> {
+                    Map<String, T> out = new LinkedHashMap<>();
+                    SwrEntry<T> oldestStale = null;
+                    for (String key : distinct) {
+                        SwrEntry<T> e = fresh.get(key);
+                        if (e == null) {
+                            e = hits.get(key);
+                            if (e != null && e.isStale(t) && (oldestStale == null || e.getStoredAtEpochMs() < oldestStale.getStoredAtEpochMs())) {
+                                oldestStale = e;
+                            }
+                        }
+                        if (e != null && e.getValue() != null) out.put(key, e.getValue());
+                    }
+                    return oldestStale == null ? Mono.just(out) : CacheStatus.markStale(oldestStale).thenReturn(out);
+                });
+            });
+        });
+    }
+
+    public void evict(String cacheName, String key) {
+        local(cacheName).invalidate(key);
+    }
+
+    private <T> SwrEntry<T> serve(String cacheName, String key, SwrEntry<T> entry, Supplier<Mono<T>> loader, long now) {
+        if (entry.isStale(now)) {
+            // 소프트 TTL 경과: 기존 값 반환 + 백그라운드 갱신(동시 갱신은 하나로 합침)
+            refresh(cacheName, key, loader).subscribe(
+                    e -> { },
+                    err -> log.debug("SWR background refresh failed {}: {}", key, err.toString()));
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<SwrEntry<T>> refresh(String cacheName, String key, Supplier<Mono<T>> loader) {
+        Mono<SwrEntry<?>> flight = refreshes.execute(cacheName + "|" + key, () -> {
+            CachePolicyProperties.Policy p = policies.policy(cacheName);
+            Duration hard = p.getTtl() == null ? Duration.ofMinutes(5) : p.getTtl();
+            Duration soft = p.getRefreshAfterWrite() == null ? hard : p.getRefreshAfterWrite();
+            return Mono.defer(loader)
+                    .map(v -> {
+                        long now = System.currentTimeMillis();
+                        return new SwrEntry<>(v, now, now + soft.toMillis(), now + hard.toMillis());
+                    })
+                    .flatMap(e -> {
+                        local(cacheName).put(key, e);
+                        return l2.set(key, e, hard).thenReturn(e);
+                    });
+        });
+        return flight.map(e -> (SwrEntry<T>) e);
+    }
+
+    private <T> void refreshAllInBackground(String cacheName, List<String> staleKeys, Function<List<String>, Mono<Map<String, T>>> loader) {
+        List<String> claimed = new ArrayList<>(staleKeys.size());
+        for (String key : staleKeys) {
+            if (refreshingKeys.add(cacheName + "|" + key)) claimed.add(key);
+        }
+        if (claimed.isEmpty()) return;
+        loadAll(cacheName, claimed, loader)
+                .doFinally(sig -> claimed.forEach(k -> refreshingKeys.remove(cacheName + "|" + k)))
+                .subscribe(
+                        m -> { },
+                        err -> log.debug("SWR background refresh failed {} ({} keys): {}", cacheName, claimed.size(), err.toString()));
+    }
+
+    private <T> Mono<Map<String, SwrEntry<T>>> loadAll(String cacheName, List<String> keys, Function<List<String>, Mono<Map<String, T>>> loader) {
+        CachePolicyProperties.Policy p = policies.policy(cacheName);
+        Duration hard = p.getTtl() == null ? Duration.ofMinutes(5) : p.getTtl();
+        Duration soft = p.getRefreshAfterWrite() == null ? hard : p.getRefreshAfterWrite();
+        return Mono.defer(() -> loader.apply(keys))
+                .defaultIfEmpty(Map.of())
+                .flatMap(values -> {
+                    long now = System.currentTimeMillis();
+                    Map<String, SwrEntry<T>> entries = new LinkedHashMap<>();
+                    for (Map.Entry<String, T> v : values.entrySet()) {
+                        if (v.getValue() == null) continue;
+                        SwrEntry<T> e = new SwrEntry<>(v.getValue(), now, now + soft.toMillis(), now + hard.toMillis());
+                        local(cacheName).put(v.getKey(), e);
+                        entries.put(v.getKey(), e);
+                    }
+                    return l2.setAll(entries, hard).thenReturn(entries);
+                });
+    }
+
+    private Cache<Object, Object> local(String cacheName) {
+        return locals.computeIfAbsent(cacheName, n -> CacheConfig.builder(policies.policy(n), mapper).build());
+    }
+}
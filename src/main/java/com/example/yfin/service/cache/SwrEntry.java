@@ -0,0 +1,36 @@
+package com.example.yfin.service.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * stale-while-revalidate 캐시 엔벌로프.
+ * - staleAt 이후: 값은 즉시 반환하되 백그라운드 갱신 대상
+ * - expiresAt 이후: 더 이상 사용하지 않음(하드 TTL)
+ */
+@Getter
+@Setter
+public class SwrEntry<T> {
+    private T value;
+    private long storedAtEpochMs;
+    private long staleAtEpochMs;
+    private long expiresAtEpochMs;
+
+    public SwrEntry() { }
+
+    public SwrEntry(T value, long storedAtEpochMs, long staleAtEpochMs, long expiresAtEpochMs) {
+        this.value = value;
+        this.storedAtEpochMs = storedAtEpochMs;
+        this.staleAtEpochMs = staleAtEpochMs;
+        this.expiresAtEpochMs = expiresAtEpochMs;
+    }
+
+    public boolean isStale(long nowEpochMs) { return nowEpochMs >= staleAtEpochMs; }
+
+    public boolean isExpired(long nowEpochMs) { return nowEpochMs >= expiresAtEpochMs; }
+
+    /** 같은 시각 정보로 값만 바꾼 엔벌로프(배치 결과를 심볼별로 나눌 때 사용) */
+    public <R> SwrEntry<R> withValue(R newValue) {
+        return new SwrEntry<>(newValue, storedAtEpochMs, staleAtEpochMs, expiresAtEpochMs);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.yfin.service.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+
+/**
+ * L2 캐시 값 직렬화 방식. 빈으로 등록하면 L2ValueCodec이 이름(cache.l2.codec/codecs 값)으로 수집.
+ * id는 프레임 헤더에 기록되므로 변경 금지, 이름/id는 코덱 간 중복 불가
+ */
+public interface CacheCodec {
+
+    byte id();
+
+    String name();
+
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] buf, int offset, int length, TypeReference<T> type) throws IOException;
+}
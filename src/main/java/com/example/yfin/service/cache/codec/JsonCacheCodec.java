@@ -0,0 +1,34 @@
+package com.example.yfin.service.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/** JSON 텍스트(UTF-8). 헤더 없는 기존 값 역직렬화에도 사용 */
+@Component
+public class JsonCacheCodec implements CacheCodec {
+
+    public static final byte ID = 1;
+
+    private final ObjectMapper mapper;
+
+    public JsonCacheCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override public byte id() { return ID; }
+
+    @Override public String name() { return "json"; }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] buf, int offset, int length, TypeReference<T> type) throws IOException {
+        return mapper.readValue(buf, offset, length, type);
+    }
+}
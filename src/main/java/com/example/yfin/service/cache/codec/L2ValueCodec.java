@@ -0,0 +1,120 @@
+package com.example.yfin.service.cache.codec;
+
+import com.example.yfin.config.CachePolicyProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * L2 값 프레이밍: [magic 2B][version 1B][codec id 1B][flags 1B]([원본 길이 4B] if LZ4)[payload]
+ * - 코덱은 CacheCodec 빈을 이름으로 수집하고, 키 접두어(캐시 이름, 예: history:...) 기준으로
+ *   cache.l2.codecs.{prefix} → cache.l2.codec 순으로 선택(없는 이름이면 json)
+ * - 인코딩 결과가 cache.l2.compress-above 이상이면 LZ4 압축(더 작아질 때만)
+ * - 헤더가 없으면 기존 JSON 문자열 값으로 보고 JSON 디코딩
+ */
+@Component
+public class L2ValueCodec {
+
+    static final byte MAGIC_0 = (byte) 0xCA;
+    static final byte MAGIC_1 = (byte) 0xFE;
+    static final byte VERSION = 1;
+    static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER = 5;
+
+    private final CachePolicyProperties policies;
+    private final CacheCodec json;
+    private final Map<String, CacheCodec> byName;
+    private final Map<Byte, CacheCodec> byId;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public L2ValueCodec(CachePolicyProperties policies, ObjectMapper mapper, List<CacheCodec> codecs) {
+        this.policies = policies;
+        Map<String, CacheCodec> names = new HashMap<>();
+        Map<Byte, CacheCodec> ids = new HashMap<>();
+        for (CacheCodec c : codecs) {
+            CacheCodec dupName = names.putIfAbsent(c.name().toLowerCase(), c);
+            CacheCodec dupId = ids.putIfAbsent(c.id(), c);
+            if (dupName != null || dupId != null) {
+                throw new IllegalStateException("Duplicate L2 codec " + c.name() + " (id " + c.id() + ")");
+            }
+        }
+        // 헤더 없는 기존 값은 JSON으로 읽으므로 json 코덱은 항상 보장
+        CacheCodec j = names.get("json");
+        this.json = j != null ? j : new JsonCacheCodec(mapper);
+        names.putIfAbsent("json", json);
+        ids.putIfAbsent(json.id(), json);
+        this.byName = Map.copyOf(names);
+        this.byId = Map.copyOf(ids);
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    public byte[] encode(String key, Object value) throws IOException {
+        CachePolicyProperties.L2 cfg = policies.getL2();
+        CacheCodec codec = codecFor(key);
+        byte[] payload = codec.encode(value);
+        byte flags = 0;
+        int originalLength = payload.length;
+        long threshold = cfg.getCompressAbove() == null ? Long.MAX_VALUE : cfg.getCompressAbove().toBytes();
+        if (payload.length >= threshold) {
+            byte[] packed = compressor.compress(payload);
+            if (packed.length + 4 < payload.length) {
+                payload = packed;
+                flags |= FLAG_LZ4;
+            }
+        }
+        boolean lz4 = (flags & FLAG_LZ4) != 0;
+        byte[] out = new byte[HEADER + (lz4 ? 4 : 0) + payload.length];
+        out[0] = MAGIC_0;
+        out[1] = MAGIC_1;
+        out[2] = VERSION;
+        out[3] = codec.id();
+        out[4] = flags;
+        int pos = HEADER;
+        if (lz4) {
+            out[pos++] = (byte) (originalLength >>> 24);
+            out[pos++] = (byte) (originalLength >>> 16);
+            out[pos++] = (byte) (originalLength >>> 8);
+            out[pos++] = (byte) originalLength;
+        }
+        System.arraycopy(payload, 0, out, pos, payload.length);
+        return out;
+    }
+
+    public <T> T decode(byte[] raw, TypeReference<T> type) throws IOException {
+        if (raw == null || raw.length == 0) return null;
+        if (raw.length < HEADER || raw[0] != MAGIC_0 || raw[1] != MAGIC_1) {
+            // 헤더 없는 기존 JSON 문자열
+            return json.decode(raw, 0, raw.length, type);
+        }
+        if (raw[2] != VERSION) throw new IOException("Unsupported L2 frame version " + raw[2]);
+        CacheCodec codec = byId.get(raw[3]);
+        if (codec == null) throw new IOException("Unknown L2 codec id " + raw[3]);
+        if ((raw[4] & FLAG_LZ4) != 0) {
+            int originalLength = ((raw[5] & 0xFF) << 24) | ((raw[6] & 0xFF) << 16) | ((raw[7] & 0xFF) << 8) | (raw[8] & 0xFF);
+            byte[] plain = decompressor.decompress(raw, HEADER + 4, originalLength);
+            return codec.decode(plain, 0, plain.length, type);
+        }
+        return codec.decode(raw, HEADER, raw.length - HEADER, type);
+    }
+
+    CacheCodec codecFor(String key) {
+        CachePolicyProperties.L2 cfg = policies.getL2();
+        int colon = key == null ? -1 : key.indexOf(':');
+        String prefix = colon > 0 ? key.substring(0, colon) : key;
+        String name = prefix == null ? null : cfg.getCodecs().get(prefix);
+        if (name == null) name = cfg.getCodec();
+        CacheCodec codec = name == null ? null : byName.get(name.toLowerCase());
+        return codec != null ? codec : json;
+    }
+}
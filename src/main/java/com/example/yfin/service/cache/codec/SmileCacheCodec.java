@@ -0,0 +1,42 @@
+package com.example.yfin.service.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Smile(바이너리 JSON). 애플리케이션 ObjectMapper 설정(JavaTimeModule 등)을 그대로 복사해 사용.
+ * 반복되는 필드명/짧은 문자열을 백레퍼런스로 공유하여 행 단위 응답(history, options)에서 크기 이득이 큼
+ */
+@Component
+public class SmileCacheCodec implements CacheCodec {
+
+    public static final byte ID = 2;
+
+    private final ObjectMapper smile;
+
+    public SmileCacheCodec(ObjectMapper base) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.smile = base.copyWith(factory);
+    }
+
+    @Override public byte id() { return ID; }
+
+    @Override public String name() { return "smile"; }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return smile.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] buf, int offset, int length, TypeReference<T> type) throws IOException {
+        return smile.readValue(buf, offset, length, type);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.yfin.service.dividend;
+
+import com.example.yfin.model.DivRow;
+import com.example.yfin.model.calendar.CalendarResponse;
+import com.example.yfin.model.dividend.DividendSchedule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 배당 이력(DivRow, 날짜 = 배당락일)과 캘린더로 향후 12개월 지급 일정 추정.
+ * - 주기: 최근 최대 8개 간격의 중앙값(≤45일 월, ≤135일 분기, ≤270일 반기, ≤450일 연, 그 외 불규칙)
+ * - 최근 1주기 지급(마지막 배당락일 기준 1년 - 간격/2 이내)을 1년 단위로 이월해 반복(연말 특별배당 등 계절성 유지)
+ * - 캘린더의 미래 배당락일이 있으면 가장 가까운 추정일을 확정일로 대체, 지급일 간격도 캘린더에서 계산
+ * - 마지막 배당락일이 간격의 2배 + 30일 이상 지났으면 중단으로 보고 추정 지급 없음
+ */
+public final class DividendProjector {
+
+    private static final long DAY_SEC = 86_400L;
+
+    private DividendProjector() { }
+
+    public static DividendSchedule infer(String symbol, List<DivRow> history, CalendarResponse calendar, Instant now, int defaultPayLagDays) {
+        List<DivRow> rows = new ArrayList<>();
+        if (history != null) {
+            for (DivRow r : history) {
+                if (r != null && r.getDate() != null && r.getAmount() != null && r.getAmount() > 0) rows.add(r);
+            }
+        }
+        rows.sort(Comparator.comparing(DivRow::getDate));
+
+        DividendSchedule out = new DividendSchedule();
+        out.setSymbol(symbol);
+        out.setComputedAt(now);
+        out.setPayLagDays(payLagDays(calendar, defaultPayLagDays));
+        out.setPayments(List.of());
+        Instant confirmedEx = futureExDate(calendar, now);
+        if (rows.isEmpty()) {
+            out.setFrequency(0);
+            if (confirmedEx != null) {
+                out.setNextExDate(confirmedEx);
+                out.setConfirmed(true);
+            }
+            return out;
+        }
+
+        long medianGapDays = medianGapDays(rows);
+        Instant last = rows.get(rows.size() - 1).getDate();
+        out.setLastExDate(last);
+        out.setFrequency(frequency(medianGapDays));
+
+        // 최근 1주기 지급
+        Instant windowStart = last.minusSeconds((365L - medianGapDays / 2) * DAY_SEC);
+        List<DivRow> cycle = new ArrayList<>();
+        double ttm = 0.0;
+        for (DivRow r : rows) {
+            if (r.getDate().isAfter(windowStart)) {
+                cycle.add(r);
+                ttm += r.getAmount();
+            }
+        }
+        out.setTtmAmount(ttm);
+
+        boolean suspended = Duration.between(last, now).toDays() > medianGapDays * 2 + 30;
+        List<DividendSchedule.Payment> payments = new ArrayList<>();
+        Instant horizon = now.atZone(ZoneOffset.UTC).plusYears(1).toInstant();
+        if (!suspended && out.getFrequency() > 0) {
+            for (DivRow r : cycle) {
+                for (int k = 1; k <= 2; k++) {
+                    Instant ex = r.getDate().atZone(ZoneOffset.UTC).plusYears(k).toInstant();
+                    if (ex.isAfter(now) && !ex.isAfter(horizon)) payments.add(payment(ex, r.getAmount(), out.getPayLagDays()));
+                }
+            }
+        }
+        if (confirmedEx != null && !confirmedEx.isAfter(horizon)) {
+            // 확정 배당락일에 가장 가까운 추정 지급(간격/2 이내)을 대체, 없으면 직전 배당금으로 추가
+            DividendSchedule.Payment nearest = null;
+            long best = Long.MAX_VALUE;
+            for (DividendSchedule.Payment p : payments) {
+                long d = Math.abs(Duration.between(p.getExDate(), confirmedEx).toDays());
+                if (d < best) {
+                    best = d;
+                    nearest = p;
+                }
+            }
+            if (nearest != null && best <= Math.max(15, medianGapDays / 2)) {
+                payments.set(payments.indexOf(nearest), payment(confirmedEx, nearest.getAmount(), out.getPayLagDays()));
+            } else {
+                payments.add(payment(confirmedEx, rows.get(rows.size() - 1).getAmount(), out.getPayLagDays()));
+            }
+            out.setConfirmed(true);
+        }
+        payments.sort(Comparator.comparing(DividendSchedule.Payment::getExDate));
+        out.setPayments(payments);
+        if (!payments.isEmpty()) out.setNextExDate(payments.get(0).getExDate());
+        out.setConfirmed(out.isConfirmed() && confirmedEx.equals(out.getNextExDate()));
+        return out;
+    }
+
+    private static int frequency(long medianGapDays) {
+        if (medianGapDays <= 45) return 12;
+        if (medianGapDays <= 135) return 4;
+        if (medianGapDays <= 270) return 2;
+        if (medianGapDays <= 450) return 1;
+        return 0;
+    }
+
+    // 이력이 1건이면 연 1회로 간주
+    private static long medianGapDays(List<DivRow> rows) {
+        int from = Math.max(1, rows.size() - 8);
+        if (rows.size() < 2) return 365L;
+        long[] gaps = new long[rows.size() - from];
+        for (int i = from; i < rows.size(); i++) {
+            gaps[i - from] = Duration.between(rows.get(i - 1).getDate(), rows.get(i).getDate()).toDays();
+        }
+        Arrays.sort(gaps);
+        return Math.max(1L, gaps[gaps.length / 2]);
+    }
+
+    private static DividendSchedule.Payment payment(Instant ex, double amount, int lagDays) {
+        DividendSchedule.Payment p = new DividendSchedule.Payment();
+        p.setExDate(ex);
+        p.setPayDate(ex.plusSeconds(lagDays * DAY_SEC));
+        p.setAmount(amount);
+        return p;
+    }
+
+    private static Instant futureExDate(CalendarResponse c, Instant now) {
+        if (c == null || c.getExDividendDate() == null || c.getExDividendDate().getRaw() == null) return null;
+        Instant ex = Instant.ofEpochSecond(c.getExDividendDate().getRaw());
+        return ex.isAfter(now) ? ex : null;
+    }
+
+    // 캘린더의 배당락일/지급일이 모두 있고 간격이 0~120일이면 사용
+    private static int payLagDays(CalendarResponse c, int defaultDays) {
+        if (c == null || c.getExDividendDate() == null || c.getDividendDate() == null
+                || c.getExDividendDate().getRaw() == null || c.getDividendDate().getRaw() == null) return defaultDays;
+        long days = (c.getDividendDate().getRaw() - c.getExDividendDate().getRaw()) / DAY_SEC;
+        return days >= 0 && days <= 120 ? (int) days : defaultDays;
+    }
+}
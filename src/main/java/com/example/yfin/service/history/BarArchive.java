@@ -0,0 +1,223 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.HistorySeries;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 로컬 디스크 바 아카이브(심볼/interval/autoAdj별 파일 1개, 재시작 후에도 유지).
+ * - 파일 형식: 64바이트 헤더 + 48바이트 고정폭 레코드(epochSec, open, high, low, close, volume), 시간 오름차순
+ * - 헤더: magic, version, 레코드 수, 전체 로드 시각, 꼬리 갱신 시각, 로드한 range
+ * - 읽기는 메모리 매핑(읽기 전용)으로 복사 없이 MappedBars 뷰 제공, 구간 탐색은 타임스탬프 이진 탐색
+ * - 쓰기는 전체/꼬리 모두 임시 파일 작성(force) 후 원자적 교체. 기존 파일은 제자리에서 수정하지 않으므로
+ *   이전 매핑 뷰를 들고 있는 리더는 교체 전 내용을 끝까지 일관되게 읽음(꼬리 병합은 절단 지점 앞 레코드를 그대로 복사)
+ * - 매핑 캐시는 history.archive.max-mapped-files개까지 유지(LRU 축출). 축출된 매핑은 참조하는 뷰가 없어지면 GC가 해제
+ */
+@Component
+public class BarArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(BarArchive.class);
+
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 48;
+    private static final int MAGIC = 0x59424152; // "YBAR"
+    private static final int VERSION = 1;
+    private static final int RANGE_OFFSET = 32;
+    private static final int RANGE_BYTES = 16;
+
+    private final boolean enabled;
+    private final Path dir;
+    // 파일별 현재 매핑(쓰기 시 무효화)
+    private final Cache<Path, Mapped> mappings;
+    private final ConcurrentMap<Path, Object> writeLocks = new ConcurrentHashMap<>();
+
+    public BarArchive(@Value("${history.archive.enabled:true}") boolean enabled,
+                      @Value("${history.archive.dir:./data/bars}") String dir,
+                      @Value("${history.archive.max-mapped-files:1024}") long maxMappedFiles) {
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.mappings = Caffeine.newBuilder().maximumSize(Math.max(1, maxMappedFiles)).build();
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** 저장된 스냅샷(헤더 + 매핑 뷰). 없거나 손상된 파일이면 empty */
+    public Optional<Snapshot> read(String symbol, String interval, boolean autoAdjust) {
+        if (!enabled) return Optional.empty();
+        Path file = file(symbol, interval, autoAdjust);
+        try {
+            // 키 단위 원자적 매핑: 쓰기 측 invalidate는 진행 중인 매핑이 끝난 뒤에 적용되므로
+            // 교체 직전 파일의 매핑이 invalidate 이후에 다시 들어가는 일이 없음
+            Mapped m = mappings.get(file, BarArchive::mapUnchecked);
+            return m == null ? Optional.empty() : Optional.of(m.snapshot());
+        } catch (RuntimeException e) {
+            log.warn("Bar archive read failed {}: {}", file, e.toString());
+            mappings.invalidate(file);
+            return Optional.empty();
+        }
+    }
+
+    /** 전체 시계열 저장(임시 파일 → 원자적 교체) */
+    public void writeFull(String symbol, String interval, boolean autoAdjust, HistorySeries series,
+                          String loadedRange, long fullLoadedAtMs, long refreshedAtMs) {
+        if (!enabled) return;
+        Path file = file(symbol, interval, autoAdjust);
+        synchronized (writeLocks.computeIfAbsent(file, f -> new Object())) {
+            try {
+                Files.createDirectories(file.getParent());
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    writeRecords(ch, series, 0);
+                    writeHeader(ch, series.size(), loadedRange, fullLoadedAtMs, refreshedAtMs);
+                    ch.force(true);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Bar archive write failed {}: {}", file, e.toString());
+            } finally {
+                mappings.invalidate(file);
+            }
+        }
+    }
+
+    /**
+     * 꼬리 병합 결과 저장: 기존 파일의 from 이전 레코드를 임시 파일로 복사하고 from 이후만 새로 기록한 뒤 원자적 교체.
+     * 파일이 없거나 어긋나면 전체 저장
+     */
+    public void writeTail(String symbol, String interval, boolean autoAdjust, HistorySeries series, int from,
+                          String loadedRange, long fullLoadedAtMs, long refreshedAtMs) {
+        if (!enabled) return;
+        Path file = file(symbol, interval, autoAdjust);
+        synchronized (writeLocks.computeIfAbsent(file, f -> new Object())) {
+            try {
+                if (Files.exists(file)) {
+                    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                    boolean copied = false;
+                    try (FileChannel src = FileChannel.open(file, StandardOpenOption.READ);
+                         FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                        int stored = readCount(src);
+                        if (stored >= from && from >= 0) {
+                            long prefix = HEADER_BYTES + (long) from * RECORD_BYTES;
+                            long pos = 0;
+                            while (pos < prefix) {
+                                long n = src.transferTo(pos, prefix - pos, ch);
+                                if (n <= 0) throw new IOException("short copy at " + pos);
+                                pos += n;
+                            }
+                            writeRecords(ch, series, from);
+                            writeHeader(ch, series.size(), loadedRange, fullLoadedAtMs, refreshedAtMs);
+                            ch.force(true);
+                            copied = true;
+                        }
+                    }
+                    if (copied) {
+                        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        return;
+                    }
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException e) {
+                log.warn("Bar archive tail write failed {}: {}", file, e.toString());
+            } finally {
+                mappings.invalidate(file);
+            }
+        }
+        writeFull(symbol, interval, autoAdjust, series, loadedRange, fullLoadedAtMs, refreshedAtMs);
+    }
+
+    private Path file(String symbol, String interval, boolean autoAdjust) {
+        return dir.resolve(safe(symbol)).resolve(safe(interval) + (autoAdjust ? "-adj" : "-raw") + ".bars");
+    }
+
+    private static String safe(String s) {
+        return s == null ? "_" : s.replaceAll("[^A-Za-z0-9.^=\\-]", "_");
+    }
+
+    private static void writeRecords(FileChannel ch, HistorySeries s, int from) throws IOException {
+        int n = s.size() - from;
+        if (n <= 0) return;
+        ByteBuffer b = ByteBuffer.allocate(n * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = from; i < s.size(); i++) {
+            b.putLong(s.epochSecAt(i)).putDouble(s.openAt(i)).putDouble(s.highAt(i))
+                    .putDouble(s.lowAt(i)).putDouble(s.closeAt(i)).putLong(s.volumeAt(i));
+        }
+        b.flip();
+        long pos = HEADER_BYTES + (long) from * RECORD_BYTES;
+        while (b.hasRemaining()) pos += ch.write(b, pos);
+    }
+
+    // 헤더는 레코드 뒤에 기록: 레코드 수가 먼저 늘어나 미완성 레코드를 읽는 일이 없도록
+    private static void writeHeader(FileChannel ch, int count, String loadedRange, long fullLoadedAtMs, long refreshedAtMs) throws IOException {
+        ByteBuffer h = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        h.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0).putLong(fullLoadedAtMs).putLong(refreshedAtMs);
+        byte[] r = (loadedRange == null ? "" : loadedRange).getBytes(StandardCharsets.US_ASCII);
+        h.put(r, 0, Math.min(r.length, RANGE_BYTES));
+        h.position(HEADER_BYTES).flip();
+        int pos = 0;
+        while (h.hasRemaining()) pos += ch.write(h, pos);
+    }
+
+    private static int readCount(FileChannel ch) throws IOException {
+        ByteBuffer h = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        if (ch.read(h, 0) < 12) return -1;
+        h.flip();
+        if (h.getInt() != MAGIC || h.getInt() != VERSION) return -1;
+        return h.getInt();
+    }
+
+    private static Mapped mapUnchecked(Path file) {
+        try {
+            return map(file);
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    private static Mapped map(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) return null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long len = ch.size();
+            if (len < HEADER_BYTES) return null;
+            MappedByteBuffer mb = ch.map(FileChannel.MapMode.READ_ONLY, 0, len);
+            ByteBuffer buf = mb.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) return null;
+            int count = buf.getInt(8);
+            if (count < 0 || HEADER_BYTES + (long) count * RECORD_BYTES > len) return null;
+            byte[] r = new byte[RANGE_BYTES];
+            buf.get(RANGE_OFFSET, r);
+            int rl = 0;
+            while (rl < r.length && r[rl] != 0) rl++;
+            return new Mapped(buf, count, buf.getLong(16), buf.getLong(24), new String(r, 0, rl, StandardCharsets.US_ASCII));
+        }
+    }
+
+    private record Mapped(ByteBuffer buf, int count, long fullLoadedAtMs, long refreshedAtMs, String loadedRange) {
+        Snapshot snapshot() {
+            return new Snapshot(new MappedBars(buf, 0, count), loadedRange, fullLoadedAtMs, refreshedAtMs);
+        }
+    }
+
+    public record Snapshot(BarColumns bars, String loadedRange, long fullLoadedAtMs, long refreshedAtMs) { }
+}
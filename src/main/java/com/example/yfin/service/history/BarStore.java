@@ -0,0 +1,268 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.config.CachePolicyProperties;
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.HistorySeries;
+import com.example.yfin.service.cache.CacheStatus;
+import com.example.yfin.util.SingleFlight;
+import com.example.yfin.util.SymbolUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * (심볼, interval, autoAdj) 단위 증분 바 저장소.
+ * - 최초(또는 더 넓은 range 요청 시) 전체 구간 1회 로드, 이후에는 짧은 꼬리 구간(range=1d/5d/...)만 받아 병합
+ * - 요청 range는 저장된 시계열을 잘라서 응답
+ * - 꼬리 갱신 주기는 cache.policies.history.refresh-after-write(소프트 TTL), 그 이상 ttl(하드)까지는 이전 값 즉시 응답 + 백그라운드 갱신
+ * - autoAdj 과거 가격 보정(배당/분할)은 꼬리 병합으로 반영되지 않으므로 history.store.full-reload-minutes마다 전체 재로드
+ * - 업스트림 요청은 ChartFetcher 경유: 일봉 전체 로드 응답은 배당/분할 조회와 공유
+ * - BarArchive가 켜져 있으면 로드/병합 결과를 디스크에 기록하고, 재시작 후에는 아카이브에서 복원해 꼬리만 갱신
+ */
+@Component
+public class BarStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BarStore.class);
+
+    /** range → 대략적인 기간(초). 여기 없는 range는 저장소를 거치지 않음 */
+    private static final Map<String, Long> RANGE_SECONDS = Map.ofEntries(
+            Map.entry("1d", days(1)), Map.entry("5d", days(5)),
+            Map.entry("1mo", days(31)), Map.entry("3mo", days(92)), Map.entry("6mo", days(183)),
+            Map.entry("ytd", days(366)), Map.entry("1y", days(366)), Map.entry("2y", days(731)),
+            Map.entry("5y", days(1827)), Map.entry("10y", days(3653)), Map.entry("max", Long.MAX_VALUE));
+
+    private final ChartFetcher chart;
+    private final CachePolicyProperties policies;
+    private final BarArchive archive;
+    private final Duration fullReload;
+    private final Cache<String, Bars> bars;
+    private final SingleFlight<String, Bars> loads = new SingleFlight<>();
+
+    public BarStore(ChartFetcher chart,
+                    CachePolicyProperties policies,
+                    BarArchive archive,
+                    @Value("${history.store.full-reload-minutes:360}") long fullReloadMinutes,
+                    @Value("${history.store.max-megabytes:256}") long maxMegabytes) {
+        this.chart = chart;
+        this.policies = policies;
+        this.archive = archive;
+        this.fullReload = Duration.ofMinutes(Math.max(1, fullReloadMinutes));
+        this.bars = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxMegabytes) * 1024 * 1024)
+                // 바 1개 ≈ 48바이트(8 + 8*4 + 8)
+                .weigher((String k, Bars b) -> Math.max(1, b.series().size() * 48))
+                .build();
+    }
+
+    public static boolean supports(String range) {
+        return range != null && RANGE_SECONDS.containsKey(range);
+    }
+
+    /** range만큼 잘라낸 시계열(힙 복사). 지원하지 않는 range면 empty */
+    public Mono<HistorySeries> series(String symbol, String range, String interval, boolean autoAdjust) {
+        if (!supports(range)) return Mono.empty();
+        return current(symbol, range, interval, autoAdjust)
+                .map(b -> b.series().slice(sliceFrom(b.series(), range, SymbolUtils.exchangeZone(symbol)), b.series().size()));
+    }
+
+    /**
+     * range만큼 잘라낸 컬럼 뷰. 아카이브가 최신이면 매핑 파일 위의 뷰(복사 없음), 아니면 메모리 시계열
+     */
+    public Mono<BarColumns> columns(String symbol, String range, String interval, boolean autoAdjust) {
+        if (!supports(range)) return Mono.empty();
+        return current(symbol, range, interval, autoAdjust).map(b -> {
+            BarColumns src = archive.read(symbol, interval, autoAdjust)
+                    .filter(snap -> snap.refreshedAtMs() == b.refreshedAtMs() && snap.bars().size() == b.series().size())
+                    .<BarColumns>map(BarArchive.Snapshot::bars)
+                    .orElse(b.series());
+            return src.slice(sliceFrom(src, range, SymbolUtils.exchangeZone(symbol)), src.size());
+        });
+    }
+
+    public int size() {
+        return (int) bars.estimatedSize();
+    }
+
+    private Mono<Bars> current(String symbol, String range, String interval, boolean autoAdjust) {
+        String key = symbol + ":" + interval + ":" + autoAdjust;
+        return Mono.defer(() -> {
+            Bars b = bars.getIfPresent(key);
+            if (b != null || !archive.enabled()) return fresh(key, b, symbol, range, interval, autoAdjust);
+            // 재시작 후 첫 요청: 디스크 아카이브에서 복원 후 꼬리만 갱신
+            return Mono.fromCallable(() -> restore(key, symbol, interval, autoAdjust))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(r -> fresh(key, r, symbol, range, interval, autoAdjust))
+                    .switchIfEmpty(Mono.defer(() -> fresh(key, null, symbol, range, interval, autoAdjust)));
+        });
+    }
+
+    private Mono<Bars> fresh(String key, Bars b, String symbol, String range, String interval, boolean autoAdjust) {
+        long now = System.currentTimeMillis();
+        CachePolicyProperties.Policy p = policies.policy("history");
+        long soft = p.getRefreshAfterWrite() == null ? 20_000L : p.getRefreshAfterWrite().toMillis();
+        long hard = p.getTtl() == null ? 600_000L : p.getTtl().toMillis();
+
+        if (b == null || wider(range, b.loadedRange()) || now - b.fullLoadedAtMs() >= fullReload.toMillis()) {
+            String loadRange = (b == null || !wider(b.loadedRange(), range)) ? range : b.loadedRange();
+            // 비행 키에 종류/range 포함: 좁은 로드나 꼬리 갱신에 합류해 range보다 짧은 결과를 받지 않도록
+            Mono<Bars> full = loads.execute(key + ":full:" + loadRange, () -> fullLoad(key, symbol, loadRange, interval, autoAdjust));
+            // 재로드 실패 시 기존 값이라도 응답
+            return b == null ? full : full.onErrorReturn(b);
+        }
+        long age = now - b.refreshedAtMs();
+        if (age < soft) return Mono.just(b);
+        Mono<Bars> tail = loads.execute(key + ":tail", () -> refreshTail(key, b, symbol, interval, autoAdjust));
+        if (age < hard) {
+            tail.subscribe(x -> { }, e -> log.debug("BarStore tail refresh failed {}: {}", key, e.toString()));
+            return CacheStatus.markStale(b.refreshedAtMs()).thenReturn(b);
+        }
+        return tail.onErrorReturn(b);
+    }
+
+    private Bars restore(String key, String symbol, String interval, boolean autoAdjust) {
+        return archive.read(symbol, interval, autoAdjust)
+                .filter(snap -> supports(snap.loadedRange()) && !snap.bars().isEmpty())
+                .map(snap -> {
+                    Bars r = new Bars(HistorySeries.copyOf(snap.bars()), snap.loadedRange(), snap.fullLoadedAtMs(), snap.refreshedAtMs());
+                    Bars prev = bars.asMap().putIfAbsent(key, r);
+                    return prev != null ? prev : r;
+                })
+                .orElse(null);
+    }
+
+    private Mono<Bars> fullLoad(String key, String symbol, String range, String interval, boolean autoAdjust) {
+        long started = System.currentTimeMillis();
+        return fetch(symbol, range, interval, autoAdjust).flatMap(s -> {
+            long now = System.currentTimeMillis();
+            Bars loaded = new Bars(s, range, now, now);
+            // 그사이 더 넓은 전체 로드가 먼저 끝났으면 그 결과를 유지
+            Bars b = bars.asMap().compute(key, (k, latest) ->
+                    latest != null && latest.fullLoadedAtMs() >= started && wider(latest.loadedRange(), range) ? latest : loaded);
+            if (b != loaded) return Mono.just(b);
+            return persist(key, () -> archive.writeFull(symbol, interval, autoAdjust, s, range, now, now)).thenReturn(b);
+        });
+    }
+
+    private Mono<Bars> refreshTail(String key, Bars current, String symbol, String interval, boolean autoAdjust) {
+        return fetch(symbol, tailRange(interval), interval, autoAdjust).flatMap(tail -> {
+            int[] cut = new int[1];
+            // 그사이 전체 재로드로 교체됐으면 최신 값 위에 꼬리를 병합(구간/적재 시각 보존)
+            Bars next = bars.asMap().compute(key, (k, latest) -> {
+                Bars base = latest != null ? latest : current;
+                HistorySeries s = base.series();
+                cut[0] = tail.isEmpty() ? s.size() : lowerBound(s.epochSec(), tail.epochSec()[0]);
+                return new Bars(merge(s, tail), base.loadedRange(), base.fullLoadedAtMs(), System.currentTimeMillis());
+            });
+            return persist(key, () -> archive.writeTail(symbol, interval, autoAdjust, next.series(), cut[0],
+                    next.loadedRange(), next.fullLoadedAtMs(), next.refreshedAtMs())).thenReturn(next);
+        });
+    }
+
+    // 디스크 기록은 boundedElastic에서, 실패해도 응답에는 영향 없음
+    private Mono<Void> persist(String key, Runnable write) {
+        if (!archive.enabled()) return Mono.empty();
+        return Mono.fromRunnable(write)
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.debug("BarStore archive write failed {}: {}", key, e.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<HistorySeries> fetch(String symbol, String range, String interval, boolean autoAdjust) {
+        return chart.load(symbol, range, interval, autoAdjust).map(cd -> cd.series());
+    }
+
+    /** 꼬리 구간: 분/시간봉 1d, 일봉 5d, 주봉 1mo, 월봉 이상 3mo */
+    static String tailRange(String interval) {
+        if (interval == null) return "5d";
+        if (interval.endsWith("m") && !interval.endsWith("mo") || interval.endsWith("h")) return "1d";
+        return switch (interval) {
+            case "1d", "5d" -> "5d";
+            case "1wk" -> "1mo";
+            default -> "3mo";
+        };
+    }
+
+    /** 꼬리 첫 시각 이후의 기존 바는 꼬리로 교체(마지막 미완성 바 갱신 포함) */
+    static HistorySeries merge(HistorySeries base, HistorySeries tail) {
+        if (tail == null || tail.isEmpty()) return base;
+        if (base == null || base.isEmpty()) return tail;
+        int cut = lowerBound(base.epochSec(), tail.epochSec()[0]);
+        HistorySeries.Builder b = new HistorySeries.Builder(cut + tail.size());
+        for (int i = 0; i < cut; i++) {
+            b.add(base.epochSec()[i], base.open()[i], base.high()[i], base.low()[i], base.close()[i], base.volume()[i]);
+        }
+        for (int i = 0; i < tail.size(); i++) {
+            b.add(tail.epochSec()[i], tail.open()[i], tail.high()[i], tail.low()[i], tail.close()[i], tail.volume()[i]);
+        }
+        return b.build();
+    }
+
+    /**
+     * range 기준 시작 인덱스. 1d/5d는 최근 N개 거래일(거래소 시간대의 현지 날짜), ytd는 현지 올해 1월 1일, 그 외는 현재 시각 기준 기간
+     */
+    static int sliceFrom(BarColumns s, String range, ZoneId zone) {
+        int n = s.size();
+        if (n == 0 || "max".equals(range)) return 0;
+        if ("1d".equals(range) || "5d".equals(range)) {
+            int days = "1d".equals(range) ? 1 : 5;
+            long lastDay = localDay(s.epochSecAt(n - 1), zone);
+            int seen = 1;
+            int from = n - 1;
+            while (from > 0) {
+                long d = localDay(s.epochSecAt(from - 1), zone);
+                if (d != lastDay) {
+                    if (seen == days) break;
+                    seen++;
+                    lastDay = d;
+                }
+                from--;
+            }
+            return from;
+        }
+        return s.lowerBound(cutoffEpochSec(range, zone));
+    }
+
+    /** 거래소 현지 날짜(epoch day). 미국 시간외/아시아 장 시작이 UTC 자정을 넘어도 같은 거래일로 묶임 */
+    static long localDay(long epochSec, ZoneId zone) {
+        int offset = zone.getRules().getOffset(Instant.ofEpochSecond(epochSec)).getTotalSeconds();
+        return Math.floorDiv(epochSec + offset, 86_400L);
+    }
+
+    /** range 기준 시작 시각(epoch 초). 1d/5d는 달력 일수 기준 근사, max는 Long.MIN_VALUE */
+    static long cutoffEpochSec(String range, ZoneId zone) {
+        if ("ytd".equals(range)) return LocalDate.now(zone).withDayOfYear(1).atStartOfDay(zone).toEpochSecond();
+        long span = RANGE_SECONDS.getOrDefault(range, Long.MAX_VALUE);
+        return span == Long.MAX_VALUE ? Long.MIN_VALUE : Instant.now().getEpochSecond() - span;
+    }
+
+    static boolean wider(String a, String b) {
+        return RANGE_SECONDS.getOrDefault(a, 0L) > RANGE_SECONDS.getOrDefault(b, 0L);
+    }
+
+    static int lowerBound(long[] a, long key) {
+        int lo = 0, hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static long days(int n) { return n * 86_400L; }
+
+    private record Bars(HistorySeries series, String loadedRange, long fullLoadedAtMs, long refreshedAtMs) { }
+}
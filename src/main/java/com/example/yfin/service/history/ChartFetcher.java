@@ -0,0 +1,114 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.config.CachePolicyProperties;
+import com.example.yfin.http.YahooApiClient;
+import com.example.yfin.http.decode.ChartData;
+import com.example.yfin.http.decode.ChartDecoder;
+import com.example.yfin.model.DivRow;
+import com.example.yfin.model.HistorySeries;
+import com.example.yfin.util.SingleFlight;
+import com.example.yfin.util.SymbolUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /v8/finance/chart 단일 호출 지점.
+ * - 일봉 응답(시계열 + 배당/분할 이벤트)을 (심볼, autoAdj) 단위로 가장 넓은 range 하나만 보관
+ * - history/dividends/splits/corp-actions는 같은 응답을 range만큼 잘라 각자 투영(캐시 정책 cache.policies.chart)
+ * - 보관된 range보다 넓은 요청이 오면 그 range로 1회 재요청해 교체
+ */
+@Component
+public class ChartFetcher {
+
+    private final YahooApiClient yahoo;
+    private final Cache<String, Loaded> daily;
+    private final SingleFlight<String, ChartData> fetches = new SingleFlight<>();
+
+    public ChartFetcher(YahooApiClient yahoo, CachePolicyProperties policies) {
+        this.yahoo = yahoo;
+        CachePolicyProperties.Policy p = policies.policy("chart");
+        Duration ttl = p.getTtl() == null ? Duration.ofHours(1) : p.getTtl();
+        long maxBytes = p.getMaxWeight() == null ? 64L * 1024 * 1024 : p.getMaxWeight().toBytes();
+        this.daily = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxBytes)
+                // 바 1개 ≈ 48바이트, 이벤트 1개 ≈ 32바이트
+                .weigher((String k, Loaded l) -> Math.max(1, l.data().series().size() * 48
+                        + (l.data().dividends().size() + l.data().splits().size()) * 32))
+                .build();
+    }
+
+    /**
+     * 일봉 + 배당/분할 이벤트. 보관된 응답이 range를 덮으면 잘라서 반환(업스트림 호출 없음), 아니면 range로 1회 요청
+     */
+    public Mono<ChartData> daily(String symbol, String range, boolean autoAdjust) {
+        if (!BarStore.supports(range)) return fetch(symbol, range, "1d", autoAdjust);
+        String key = symbol + ":" + autoAdjust;
+        return Mono.defer(() -> {
+            Loaded l = daily.getIfPresent(key);
+            if (l != null && !BarStore.wider(range, l.range())) return Mono.just(slice(l.data(), range, SymbolUtils.exchangeZone(symbol)));
+            return load(symbol, range, "1d", autoAdjust).map(cd -> slice(cd, range, SymbolUtils.exchangeZone(symbol)));
+        });
+    }
+
+    /**
+     * 항상 업스트림 요청. 일봉이면 응답을 보관해 이후 배당/분할 조회가 재사용
+     */
+    public Mono<ChartData> load(String symbol, String range, String interval, boolean autoAdjust) {
+        if (!"1d".equals(interval) || !BarStore.supports(range)) return fetch(symbol, range, interval, autoAdjust);
+        String key = symbol + ":" + autoAdjust;
+        return fetch(symbol, range, interval, autoAdjust).doOnNext(cd -> {
+            // 더 좁은 응답(꼬리 갱신 등)은 넓은 응답을 밀어내거나 만료를 연장하지 않음
+            Loaded prev = daily.getIfPresent(key);
+            if (prev == null || !BarStore.wider(prev.range(), range)) daily.put(key, new Loaded(cd, range));
+        });
+    }
+
+    public int size() {
+        return (int) daily.estimatedSize();
+    }
+
+    private Mono<ChartData> fetch(String symbol, String range, String interval, boolean autoAdjust) {
+        String path = "/v8/finance/chart/" + symbol +
+                "?range=" + range + "&interval=" + interval +
+                "&events=div%2Csplits&includePrePost=false&useYfid=true&autoAdj=" + autoAdjust +
+                "&lang=en-US&region=US&corsDomain=finance.yahoo.com";
+        return fetches.execute(path, () -> yahoo.getTyped(path, "/quote/" + symbol, ChartDecoder.INSTANCE));
+    }
+
+    /** range만큼 잘라낸 시계열/이벤트. 거래일 경계는 거래소 시간대(zone) 기준. 이벤트는 잘린 첫 바 시각(없으면 range 기준 시각) 이후만 유지 */
+    public static ChartData slice(ChartData cd, String range, ZoneId zone) {
+        if (!BarStore.supports(range) || "max".equals(range)) return cd;
+        return cut(cd, BarStore.sliceFrom(cd.series(), range, zone), BarStore.cutoffEpochSec(range, zone));
+    }
+
+    /** 최근 days일 구간(range 목록에 없는 기간용, 예: 기업행위 3년). 이벤트 규칙은 slice와 같음 */
+    public static ChartData lastDays(ChartData cd, int days) {
+        long cutoff = Instant.now().getEpochSecond() - days * 86_400L;
+        return cut(cd, cd.series().lowerBound(cutoff), cutoff);
+    }
+
+    private static ChartData cut(ChartData cd, int from, long fallbackCutoff) {
+        HistorySeries s = cd.series();
+        long cutoff = from < s.size() ? s.epochSec()[from] : fallbackCutoff;
+        List<DivRow> divs = new ArrayList<>();
+        for (DivRow d : cd.dividends()) {
+            if (d.getDate() != null && d.getDate().getEpochSecond() >= cutoff) divs.add(d);
+        }
+        List<ChartData.Split> splits = new ArrayList<>();
+        for (ChartData.Split sp : cd.splits()) {
+            if (sp.epochSec() >= cutoff) splits.add(sp);
+        }
+        return new ChartData(s.slice(from, s.size()), divs, splits);
+    }
+
+    private record Loaded(ChartData data, String range) { }
+}
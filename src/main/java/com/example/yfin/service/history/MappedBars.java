@@ -0,0 +1,43 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.model.BarColumns;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 메모리 매핑된 바 아카이브 파일 위의 읽기 전용 뷰.
+ * - 레코드는 힙으로 복사하지 않고 매핑 버퍼에서 절대 위치로 직접 읽음
+ * - slice는 같은 버퍼를 공유하는 오프셋 뷰(복사 없음)
+ */
+public final class MappedBars implements BarColumns {
+
+    private final ByteBuffer buf;
+    private final int from;
+    private final int size;
+
+    MappedBars(ByteBuffer buf, int from, int size) {
+        this.buf = buf;
+        this.from = from;
+        this.size = size;
+    }
+
+    private int at(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        return BarArchive.HEADER_BYTES + (from + i) * BarArchive.RECORD_BYTES;
+    }
+
+    @Override public int size() { return size; }
+    @Override public long epochSecAt(int i) { return buf.getLong(at(i)); }
+    @Override public double openAt(int i) { return buf.getDouble(at(i) + 8); }
+    @Override public double highAt(int i) { return buf.getDouble(at(i) + 16); }
+    @Override public double lowAt(int i) { return buf.getDouble(at(i) + 24); }
+    @Override public double closeAt(int i) { return buf.getDouble(at(i) + 32); }
+    @Override public long volumeAt(int i) { return buf.getLong(at(i) + 40); }
+
+    @Override
+    public MappedBars slice(int from, int to) {
+        int f = Math.max(0, from), t = Math.min(size, to);
+        if (f == 0 && t == size) return this;
+        return new MappedBars(buf, this.from + f, Math.max(0, t - f));
+    }
+}
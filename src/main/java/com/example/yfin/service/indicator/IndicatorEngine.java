@@ -0,0 +1,330 @@
+package com.example.yfin.service.indicator;
+
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.HistorySeries;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 번 받은 시계열 위에서 여러 지표를 계산하는 엔진.
+ * - 입력은 원시 double[] 컬럼(HistorySeries면 배열 그대로, 그 외 컬럼 뷰는 1회 복사)
+ * - 종가 차분, 창별 이동합/EMA, True Range, 창별 최고/최저 등 공통 중간값은 메모이즈해 지표 간 공유
+ * - 결과는 바와 같은 길이의 배열, 값이 없는 구간(워밍업/결측)은 NaN
+ * - 인스턴스는 요청 1건 전용(스레드 안전하지 않음)
+ */
+public final class IndicatorEngine {
+
+    private final int n;
+    private final long[] time;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+
+    private double[] diff;
+    private double[] trueRange;
+    private final Map<Integer, double[]> sma = new HashMap<>();
+    private final Map<Integer, double[]> ema = new HashMap<>();
+    private final Map<Integer, double[]> rollingMax = new HashMap<>();
+    private final Map<Integer, double[]> rollingMin = new HashMap<>();
+
+    public IndicatorEngine(BarColumns bars) {
+        HistorySeries s = HistorySeries.copyOf(bars);
+        this.n = s.size();
+        this.time = s.epochSec();
+        this.high = s.high();
+        this.low = s.low();
+        this.close = s.close();
+        this.volume = new double[n];
+        long[] v = s.volume();
+        for (int i = 0; i < n; i++) volume[i] = v[i] == HistorySeries.MISSING_VOLUME ? 0.0 : v[i];
+    }
+
+    public int size() { return n; }
+
+    public long[] time() { return time; }
+
+    /** 지표 1건 계산. 출력이 여러 개인 지표(macd/bb/stoch)는 이름별 배열 */
+    public Map<String, double[]> compute(IndicatorSpec spec) {
+        Map<String, double[]> out = new LinkedHashMap<>();
+        switch (spec.name()) {
+            case "sma" -> out.put("value", sma(spec.window()));
+            case "ema" -> out.put("value", ema(spec.window()));
+            case "wma" -> out.put("value", wma(spec.window()));
+            case "rsi" -> out.put("value", rsi(spec.window()));
+            case "atr" -> out.put("value", atr(spec.window()));
+            case "obv" -> out.put("value", obv());
+            case "vwap" -> out.put("value", vwap());
+            case "macd" -> {
+                double[][] m = macd(spec.intParam(0), spec.intParam(1), spec.intParam(2));
+                out.put("macd", m[0]);
+                out.put("signal", m[1]);
+                out.put("histogram", m[2]);
+            }
+            case "bb" -> {
+                double[][] b = bollinger(spec.window(), spec.params()[1]);
+                out.put("middle", b[0]);
+                out.put("upper", b[1]);
+                out.put("lower", b[2]);
+            }
+            case "stoch" -> {
+                double[][] st = stochastic(spec.intParam(0), spec.intParam(1));
+                out.put("k", st[0]);
+                out.put("d", st[1]);
+            }
+            default -> throw new IllegalArgumentException("unknown indicator: " + spec.name());
+        }
+        return out;
+    }
+
+    /** 단순이동평균. 결측(NaN) 종가는 합계에서 제외하고 window로 나눔(기존 /indicators/ma와 동일) */
+    public double[] sma(int window) {
+        return sma.computeIfAbsent(window, w -> {
+            double[] out = nans();
+            double sum = 0.0;
+            for (int i = 0; i < n; i++) {
+                if (!Double.isNaN(close[i])) sum += close[i];
+                if (i >= w && !Double.isNaN(close[i - w])) sum -= close[i - w];
+                if (i >= w - 1) out[i] = sum / w;
+            }
+            return out;
+        });
+    }
+
+    /** 지수이동평균: 첫 값은 같은 창의 SMA, 결측 종가에서는 직전 값 유지 */
+    public double[] ema(int period) {
+        return ema.computeIfAbsent(period, p -> emaOf(close, sma(p), p));
+    }
+
+    /** 가중이동평균(최근 바 가중치 window, 가장 오래된 바 1). 결측은 0으로 취급 */
+    public double[] wma(int window) {
+        double[] out = nans();
+        double denom = window * (window + 1) / 2.0;
+        double sum = 0.0, weighted = 0.0;
+        for (int i = 0; i < n; i++) {
+            double c = Double.isNaN(close[i]) ? 0.0 : close[i];
+            // 창이 한 칸 밀리면 기존 항 가중치가 1씩 줄어듦: WS_i = WS_{i-1} + w*c_i - S_{i-1}
+            weighted += window * c - sum;
+            sum += c;
+            if (i >= window) sum -= Double.isNaN(close[i - window]) ? 0.0 : close[i - window];
+            if (i >= window - 1) out[i] = weighted / denom;
+        }
+        return out;
+    }
+
+    /**
+     * 와일더 RSI(기존 /indicators/rsi와 동일한 계산).
+     * - 첫 window개 차분의 평균으로 시작, 이후 지수 평활
+     * - 평균 손실이 0이면 rs=100으로 처리
+     */
+    public double[] rsi(int window) {
+        double[] out = nans();
+        if (n < window + 1) return out;
+        double[] d = diff();
+        double gain = 0.0, loss = 0.0;
+        for (int i = 1; i <= window; i++) {
+            if (Double.isNaN(d[i])) continue;
+            if (d[i] >= 0) gain += d[i]; else loss += -d[i];
+        }
+        gain /= window; loss /= window;
+        for (int i = window + 1; i < n; i++) {
+            if (Double.isNaN(d[i])) continue;
+            double g = d[i] > 0 ? d[i] : 0.0;
+            double l = d[i] < 0 ? -d[i] : 0.0;
+            gain = (gain * (window - 1) + g) / window;
+            loss = (loss * (window - 1) + l) / window;
+            double rs = loss == 0.0 ? 100.0 : gain / loss;
+            out[i] = 100.0 - (100.0 / (1.0 + rs));
+        }
+        return out;
+    }
+
+    /** MACD 선, 시그널(MACD 선의 EMA), 히스토그램 */
+    public double[][] macd(int fast, int slow, int signal) {
+        double[] f = ema(fast), s = ema(slow);
+        double[] line = nans();
+        for (int i = 0; i < n; i++) line[i] = f[i] - s[i];
+        double[] sig = emaOf(line, null, signal);
+        double[] hist = nans();
+        for (int i = 0; i < n; i++) hist[i] = line[i] - sig[i];
+        return new double[][]{line, sig, hist};
+    }
+
+    /** 볼린저 밴드: 중심선은 sma(window) 공유, 모표준편차 × k */
+    public double[][] bollinger(int window, double k) {
+        double[] mid = sma(window);
+        double[] upper = nans(), lower = nans();
+        double sq = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(close[i])) sq += close[i] * close[i];
+            if (i >= window && !Double.isNaN(close[i - window])) sq -= close[i - window] * close[i - window];
+            if (i >= window - 1) {
+                double sd = Math.sqrt(Math.max(0.0, sq / window - mid[i] * mid[i]));
+                upper[i] = mid[i] + k * sd;
+                lower[i] = mid[i] - k * sd;
+            }
+        }
+        return new double[][]{mid, upper, lower};
+    }
+
+    /** 와일더 ATR: 첫 값은 TR 단순평균, 이후 (atr*(w-1)+tr)/w */
+    public double[] atr(int window) {
+        double[] tr = trueRange();
+        double[] out = nans();
+        double acc = 0.0;
+        int count = 0;
+        double prev = Double.NaN;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(prev)) {
+                if (Double.isNaN(tr[i])) continue;
+                acc += tr[i];
+                if (++count == window) {
+                    prev = acc / window;
+                    out[i] = prev;
+                }
+                continue;
+            }
+            if (!Double.isNaN(tr[i])) prev = (prev * (window - 1) + tr[i]) / window;
+            out[i] = prev;
+        }
+        return out;
+    }
+
+    /** 스토캐스틱 %K(window 최고/최저 대비 위치), %D(%K의 smooth 구간 평균) */
+    public double[][] stochastic(int window, int smooth) {
+        double[] hh = rollingMax(window), ll = rollingMin(window);
+        double[] k = nans();
+        for (int i = 0; i < n; i++) {
+            double range = hh[i] - ll[i];
+            if (Double.isNaN(range) || Double.isNaN(close[i])) continue;
+            k[i] = range == 0.0 ? 50.0 : 100.0 * (close[i] - ll[i]) / range;
+        }
+        double[] d = nans();
+        double sum = 0.0;
+        int valid = 0;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(k[i])) { sum += k[i]; valid++; }
+            if (i >= smooth && !Double.isNaN(k[i - smooth])) { sum -= k[i - smooth]; valid--; }
+            if (i >= smooth - 1 && valid == smooth) d[i] = sum / smooth;
+        }
+        return new double[][]{k, d};
+    }
+
+    /** OBV: 종가 상승 시 거래량 가산, 하락 시 차감 */
+    public double[] obv() {
+        double[] d = diff();
+        double[] out = nans();
+        double acc = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && !Double.isNaN(d[i])) {
+                if (d[i] > 0) acc += volume[i];
+                else if (d[i] < 0) acc -= volume[i];
+            }
+            out[i] = acc;
+        }
+        return out;
+    }
+
+    /** VWAP: 전형가격((H+L+C)/3) 거래량 가중 누적. 분/시간봉이면 UTC 날짜가 바뀔 때 초기화 */
+    public double[] vwap() {
+        double[] out = nans();
+        boolean intraday = n > 1 && (time[n - 1] - time[0]) / (n - 1) < 86_400L;
+        double pv = 0.0, vol = 0.0;
+        long day = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            long d = Math.floorDiv(time[i], 86_400L);
+            if (intraday && d != day) { pv = 0.0; vol = 0.0; day = d; }
+            double tp = (high[i] + low[i] + close[i]) / 3.0;
+            if (!Double.isNaN(tp) && volume[i] > 0) {
+                pv += tp * volume[i];
+                vol += volume[i];
+            }
+            if (vol > 0) out[i] = pv / vol;
+        }
+        return out;
+    }
+
+    // 종가 차분(둘 중 하나라도 결측이면 NaN). RSI/OBV 공유
+    private double[] diff() {
+        if (diff == null) {
+            diff = nans();
+            for (int i = 1; i < n; i++) diff[i] = close[i] - close[i - 1];
+        }
+        return diff;
+    }
+
+    private double[] trueRange() {
+        if (trueRange == null) {
+            trueRange = nans();
+            for (int i = 0; i < n; i++) {
+                double hl = high[i] - low[i];
+                if (i == 0 || Double.isNaN(close[i - 1])) {
+                    trueRange[i] = hl;
+                } else {
+                    trueRange[i] = Math.max(hl, Math.max(Math.abs(high[i] - close[i - 1]), Math.abs(low[i] - close[i - 1])));
+                }
+            }
+        }
+        return trueRange;
+    }
+
+    private double[] rollingMax(int window) {
+        return rollingMax.computeIfAbsent(window, w -> rollingExtreme(high, w, true));
+    }
+
+    private double[] rollingMin(int window) {
+        return rollingMin.computeIfAbsent(window, w -> rollingExtreme(low, w, false));
+    }
+
+    // 단조 덱으로 O(n) 창별 최고/최저. 창 안에 결측이 있으면 유효 값만으로 계산
+    private double[] rollingExtreme(double[] src, int window, boolean max) {
+        double[] out = nans();
+        ArrayDeque<Integer> dq = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            while (!dq.isEmpty() && dq.peekFirst() <= i - window) dq.pollFirst();
+            if (!Double.isNaN(src[i])) {
+                while (!dq.isEmpty() && (max ? src[dq.peekLast()] <= src[i] : src[dq.peekLast()] >= src[i])) dq.pollLast();
+                dq.addLast(i);
+            }
+            if (i >= window - 1 && !dq.isEmpty()) out[i] = src[dq.peekFirst()];
+        }
+        return out;
+    }
+
+    /**
+     * src의 지수이동평균. seed가 있으면 seed의 첫 유효 값(같은 창 SMA)에서 시작,
+     * 없으면 src의 첫 period개 유효 값 평균에서 시작
+     */
+    private double[] emaOf(double[] src, double[] seed, int period) {
+        double[] out = nans();
+        double alpha = 2.0 / (period + 1);
+        double prev = Double.NaN;
+        double acc = 0.0;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(prev)) {
+                if (seed != null) {
+                    if (i >= period - 1 && !Double.isNaN(seed[i])) prev = seed[i];
+                } else if (!Double.isNaN(src[i])) {
+                    acc += src[i];
+                    if (++count == period) prev = acc / period;
+                }
+                out[i] = prev;
+                continue;
+            }
+            if (!Double.isNaN(src[i])) prev += alpha * (src[i] - prev);
+            out[i] = prev;
+        }
+        return out;
+    }
+
+    private double[] nans() {
+        double[] a = new double[n];
+        Arrays.fill(a, Double.NaN);
+        return a;
+    }
+}
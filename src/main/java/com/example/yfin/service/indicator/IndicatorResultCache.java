@@ -0,0 +1,82 @@
+package com.example.yfin.service.indicator;
+
+import com.example.yfin.config.CacheConfig;
+import com.example.yfin.config.CachePolicyProperties;
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.service.cache.RedisCacheService;
+import com.example.yfin.util.SingleFlight;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 지표 계산 결과 캐시(L1 Caffeine + L2 Redis, cache.policies.indicators).
+ * - 키에 원본 히스토리 버전(바 개수, 마지막 바 시각, 전체 OHLCV 지문)을 포함해 새 바, 진행 중 봉의 고가/저가/거래량 변경,
+ *   수정주가 재로드로 과거 종가가 바뀐 경우 모두 다른 키가 됨(인스턴스/재시작과 무관하게 같은 내용이면 같은 키)
+ * - TTL은 오래된 버전 정리용(무효화는 버전 변경으로 처리)
+ * - 같은 키 동시 계산은 단일 비행으로 합침
+ */
+@Component
+public class IndicatorResultCache {
+
+    private final RedisCacheService l2;
+    private final Cache<Object, Object> local;
+    private final Duration ttl;
+    private final SingleFlight<String, Object> computing = new SingleFlight<>();
+
+    public IndicatorResultCache(RedisCacheService l2, CachePolicyProperties policies, ObjectMapper mapper) {
+        CachePolicyProperties.Policy p = policies.policy("indicators");
+        this.l2 = l2;
+        this.local = CacheConfig.builder(p, mapper).build();
+        this.ttl = p.getTtl() == null ? Duration.ofMinutes(10) : p.getTtl();
+    }
+
+    /**
+     * baseKey: 지표/파라미터/조회 조건. 실제 키는 "ind:{baseKey}:{히스토리 버전}".
+     * 미스 시 계산은 computeOn 스케줄러에서 실행(이벤트 루프 점유 방지)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(String baseKey, BarColumns bars, TypeReference<T> type, Supplier<T> compute, Scheduler computeOn) {
+        String key = "ind:" + baseKey + ":" + version(bars);
+        return Mono.defer(() -> {
+            Object hit = local.getIfPresent(key);
+            if (hit != null) return Mono.just((T) hit);
+            return computing.execute(key, () -> l2.get(key, type)
+                    .map(v -> (Object) v)
+                    .switchIfEmpty(Mono.fromSupplier(compute)
+                            .subscribeOn(computeOn)
+                            .flatMap(v -> l2.set(key, v, ttl).thenReturn((Object) v)))
+                    .doOnNext(v -> local.put(key, v)))
+                    .map(v -> (T) v);
+        });
+    }
+
+    /**
+     * 히스토리 버전: 바 개수 + 마지막 바 시각 + 전체 바 OHLCV를 64비트 단위로 섞은 FNV-1a 방식 지문.
+     * 전체 스캔은 O(n)이지만 지표 계산보다 훨씬 싸고, 값이 하나라도 바뀌면 키가 바뀜
+     */
+    static String version(BarColumns bars) {
+        int n = bars == null ? 0 : bars.size();
+        if (n == 0) return "0";
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < n; i++) {
+            h = mix(h, bars.epochSecAt(i));
+            h = mix(h, Double.doubleToLongBits(bars.openAt(i)));
+            h = mix(h, Double.doubleToLongBits(bars.highAt(i)));
+            h = mix(h, Double.doubleToLongBits(bars.lowAt(i)));
+            h = mix(h, Double.doubleToLongBits(bars.closeAt(i)));
+            h = mix(h, bars.volumeAt(i));
+        }
+        return n + "-" + bars.epochSecAt(n - 1) + "-" + Long.toHexString(h);
+    }
+
+    private static long mix(long h, long v) {
+        return (h ^ v) * 0x100000001b3L;
+    }
+}
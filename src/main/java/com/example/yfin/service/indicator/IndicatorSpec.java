@@ -0,0 +1,74 @@
+package com.example.yfin.service.indicator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 지표 요청 1건. "ma:20", "rsi:14", "macd", "macd:12:26:9", "bb:20:2" 형식.
+ * - key: 응답에서 쓰는 정규화된 이름(요청 토큰 그대로, 소문자)
+ * - params: 생략된 파라미터는 지표별 기본값으로 채움
+ */
+public record IndicatorSpec(String key, String name, double[] params) {
+
+    public static final int MAX_SPECS = 20;
+    public static final int MAX_WINDOW = 1000;
+
+    /** 지표별 기본 파라미터 */
+    private static final Map<String, double[]> DEFAULTS = Map.ofEntries(
+            Map.entry("sma", new double[]{20}),
+            Map.entry("ema", new double[]{20}),
+            Map.entry("wma", new double[]{20}),
+            Map.entry("rsi", new double[]{14}),
+            Map.entry("macd", new double[]{12, 26, 9}),
+            Map.entry("bb", new double[]{20, 2}),
+            Map.entry("atr", new double[]{14}),
+            Map.entry("stoch", new double[]{14, 3}),
+            Map.entry("obv", new double[]{}),
+            Map.entry("vwap", new double[]{}));
+
+    public int window() { return (int) params[0]; }
+
+    public int intParam(int i) { return (int) params[i]; }
+
+    /** 쉼표 구분 목록 파싱(중복 제거, 순서 유지). 형식 오류는 IllegalArgumentException(400) */
+    public static List<IndicatorSpec> parseList(String names) {
+        if (names == null || names.isBlank()) throw new IllegalArgumentException("names is required");
+        Map<String, IndicatorSpec> out = new LinkedHashMap<>();
+        for (String token : names.split(",")) {
+            if (token.isBlank()) continue;
+            IndicatorSpec spec = parse(token);
+            out.putIfAbsent(spec.key(), spec);
+        }
+        if (out.isEmpty()) throw new IllegalArgumentException("names is required");
+        if (out.size() > MAX_SPECS) throw new IllegalArgumentException("too many indicators (max " + MAX_SPECS + ")");
+        return new ArrayList<>(out.values());
+    }
+
+    public static IndicatorSpec parse(String token) {
+        String key = token.trim().toLowerCase(Locale.ROOT);
+        String[] parts = key.split(":");
+        String name = "ma".equals(parts[0]) ? "sma" : parts[0];
+        double[] defaults = DEFAULTS.get(name);
+        if (defaults == null) throw new IllegalArgumentException("unknown indicator: " + parts[0]);
+        if (parts.length - 1 > defaults.length) throw new IllegalArgumentException("too many parameters: " + key);
+        double[] params = defaults.clone();
+        for (int i = 1; i < parts.length; i++) {
+            double v;
+            try {
+                v = Double.parseDouble(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid parameter: " + key);
+            }
+            // bb의 두 번째 파라미터(표준편차 배수)만 실수 허용, 나머지는 양의 정수 창 크기
+            boolean multiplier = "bb".equals(name) && i == 2;
+            if (!(v > 0) || (!multiplier && (v != Math.rint(v) || v > MAX_WINDOW))) {
+                throw new IllegalArgumentException("invalid parameter: " + key);
+            }
+            params[i - 1] = v;
+        }
+        return new IndicatorSpec(key, name, params);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.yfin.service.indicator;
+
+/**
+ * 봉 단위로 전진하는 O(1) 지표 계산기.
+ * - close(price): 봉 확정(상태 변경)
+ * - preview(price): 진행 중 봉이 price로 끝난다고 가정한 현재 값(상태 변경 없음), 출력 순서는 outputs()
+ * - 시드/계산 방식은 IndicatorEngine과 동일(결측 NaN 처리 포함)
+ */
+public interface LiveIndicator {
+
+    String[] VALUE = {"value"};
+
+    void close(double price);
+
+    double[] preview(double price);
+
+    default String[] outputs() { return VALUE; }
+
+    /** 실시간 지원 지표: sma, ema, rsi, macd */
+    static LiveIndicator of(IndicatorSpec spec) {
+        return switch (spec.name()) {
+            case "sma" -> new Sma(spec.window());
+            case "ema" -> new Ema(spec.window());
+            case "rsi" -> new Rsi(spec.window());
+            case "macd" -> new Macd(spec.intParam(0), spec.intParam(1), spec.intParam(2));
+            default -> throw new IllegalArgumentException("live indicator not supported: " + spec.name());
+        };
+    }
+
+    /** 링 버퍼 이동합(결측은 합계 제외, window로 나눔) */
+    final class Sma implements LiveIndicator {
+        private final int window;
+        private final double[] ring;
+        private long count;
+        private double sum;
+
+        Sma(int window) {
+            this.window = window;
+            this.ring = new double[window];
+        }
+
+        @Override
+        public void close(double price) {
+            int slot = (int) (count % window);
+            if (count >= window && !Double.isNaN(ring[slot])) sum -= ring[slot];
+            ring[slot] = price;
+            if (!Double.isNaN(price)) sum += price;
+            count++;
+        }
+
+        @Override
+        public double[] preview(double price) {
+            return new double[]{value(price)};
+        }
+
+        double value(double price) {
+            if (count + 1 < window) return Double.NaN;
+            double s = sum;
+            if (count >= window) {
+                double old = ring[(int) (count % window)];
+                if (!Double.isNaN(old)) s -= old;
+            }
+            if (!Double.isNaN(price)) s += price;
+            return s / window;
+        }
+    }
+
+    /** 지수이동평균: 첫 period개 봉의 SMA로 시작, 결측 봉에서는 직전 값 유지 */
+    final class Ema implements LiveIndicator {
+        private final Sma seed;
+        private final int period;
+        private final double alpha;
+        private long count;
+        private double prev = Double.NaN;
+
+        Ema(int period) {
+            this.seed = new Sma(period);
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        @Override
+        public void close(double price) {
+            prev = next(price);
+            if (count < period) seed.close(price);
+            count++;
+        }
+
+        @Override
+        public double[] preview(double price) {
+            return new double[]{next(price)};
+        }
+
+        double next(double price) {
+            if (Double.isNaN(prev)) return count == period - 1 ? seed.value(price) : Double.NaN;
+            return Double.isNaN(price) ? prev : prev + alpha * (price - prev);
+        }
+    }
+
+    /** 와일더 RSI(평균 손실 0이면 rs=100) */
+    final class Rsi implements LiveIndicator {
+        private final int window;
+        private long count;
+        private double prevClose = Double.NaN;
+        private double gain, loss;
+
+        Rsi(int window) {
+            this.window = window;
+        }
+
+        @Override
+        public void close(double price) {
+            if (count >= 1) {
+                double diff = price - prevClose;
+                if (count <= window) {
+                    if (!Double.isNaN(diff)) {
+                        if (diff >= 0) gain += diff; else loss += -diff;
+                    }
+                    if (count == window) { gain /= window; loss /= window; }
+                } else if (!Double.isNaN(diff)) {
+                    gain = (gain * (window - 1) + (diff > 0 ? diff : 0.0)) / window;
+                    loss = (loss * (window - 1) + (diff < 0 ? -diff : 0.0)) / window;
+                }
+            }
+            prevClose = price;
+            count++;
+        }
+
+        @Override
+        public double[] preview(double price) {
+            if (count <= window) return new double[]{Double.NaN};
+            double diff = price - prevClose;
+            if (Double.isNaN(diff)) return new double[]{Double.NaN};
+            double g = (gain * (window - 1) + (diff > 0 ? diff : 0.0)) / window;
+            double l = (loss * (window - 1) + (diff < 0 ? -diff : 0.0)) / window;
+            double rs = l == 0.0 ? 100.0 : g / l;
+            return new double[]{100.0 - (100.0 / (1.0 + rs))};
+        }
+    }
+
+    /** MACD 선(fast EMA - slow EMA), 시그널(선의 첫 signal개 평균으로 시작하는 EMA), 히스토그램 */
+    final class Macd implements LiveIndicator {
+        private static final String[] OUTPUTS = {"macd", "signal", "histogram"};
+        private final Ema fast, slow;
+        private final int signal;
+        private final double alpha;
+        private int seeded;
+        private double seedSum;
+        private double sig = Double.NaN;
+
+        Macd(int fast, int slow, int signal) {
+            this.fast = new Ema(fast);
+            this.slow = new Ema(slow);
+            this.signal = signal;
+            this.alpha = 2.0 / (signal + 1);
+        }
+
+        @Override
+        public String[] outputs() { return OUTPUTS; }
+
+        @Override
+        public void close(double price) {
+            double line = fast.next(price) - slow.next(price);
+            sig = nextSignal(line);
+            if (Double.isNaN(sig) && !Double.isNaN(line)) { seedSum += line; seeded++; }
+            fast.close(price);
+            slow.close(price);
+        }
+
+        @Override
+        public double[] preview(double price) {
+            double line = fast.next(price) - slow.next(price);
+            double s = nextSignal(line);
+            return new double[]{line, s, line - s};
+        }
+
+        private double nextSignal(double line) {
+            if (Double.isNaN(sig)) {
+                return !Double.isNaN(line) && seeded == signal - 1 ? (seedSum + line) / signal : Double.NaN;
+            }
+            return Double.isNaN(line) ? sig : sig + alpha * (line - sig);
+        }
+    }
+}
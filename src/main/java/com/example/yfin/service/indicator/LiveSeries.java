@@ -0,0 +1,116 @@
+package com.example.yfin.service.indicator;
+
+import com.example.yfin.model.BarColumns;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * (심볼, interval, 지표 집합) 단위 실시간 지표 상태.
+ * - 히스토리로 1회 시드한 뒤 틱마다 진행 중 봉 가격만 갱신(O(1)), 봉 경계를 넘는 틱이 오면 직전 봉 확정
+ * - 같은 틱이 여러 구독 경로로 중복 도착해도 결과가 같도록 틱 처리는 멱등
+ * - 봉 경계는 interval 배수에 시드 봉 시각의 위상(offset)을 더한 값. 예: 미국 1h 봉은 :30 시작, 주봉은 월요일 시작
+ *   (시드가 없으면 UTC 배수, 주봉만 월요일 00:00 UTC). 서머타임 전환으로 어긋난 위상은 재시드 때 보정
+ */
+public final class LiveSeries {
+
+    private static final long WEEK_SECONDS = 7 * 86_400L;
+
+    private final long barSeconds;
+    private final List<IndicatorSpec> specs;
+    private final List<LiveIndicator> calculators;
+    private long offset;
+    private long barStart = Long.MIN_VALUE;
+    private double lastPrice = Double.NaN;
+
+    public LiveSeries(String interval, List<IndicatorSpec> specs) {
+        this.barSeconds = barSeconds(interval);
+        // 1970-01-01은 목요일이므로 주 단위 배수는 4일 밀어 월요일에 맞춤
+        this.offset = barSeconds % WEEK_SECONDS == 0 ? 4 * 86_400L : 0L;
+        this.specs = List.copyOf(specs);
+        this.calculators = new ArrayList<>(specs.size());
+        for (IndicatorSpec s : specs) calculators.add(LiveIndicator.of(s));
+    }
+
+    /** 마지막 봉을 제외한 봉은 확정, 마지막 봉은 진행 중 봉으로 둠 */
+    public synchronized void seed(BarColumns bars) {
+        int n = bars.size();
+        for (int i = 0; i < n - 1; i++) {
+            double c = bars.closeAt(i);
+            for (LiveIndicator li : calculators) li.close(c);
+        }
+        if (n > 0) {
+            // 마지막 봉은 최신 체결 시각으로 찍히기도 하므로 확정된 직전 봉의 시각으로 위상 결정
+            offset = Math.floorMod(bars.epochSecAt(n >= 2 ? n - 2 : n - 1), barSeconds);
+            barStart = bucket(bars.epochSecAt(n - 1));
+            lastPrice = bars.closeAt(n - 1);
+        }
+    }
+
+    public synchronized Map<String, Double> onTick(double price, long epochSec) {
+        long bucket = bucket(epochSec);
+        if (bucket > barStart) {
+            if (barStart != Long.MIN_VALUE) {
+                for (LiveIndicator li : calculators) li.close(lastPrice);
+            }
+            barStart = bucket;
+        }
+        lastPrice = price;
+        return values();
+    }
+
+    public synchronized Map<String, Double> snapshot() {
+        return values();
+    }
+
+    public synchronized double lastPrice() {
+        return lastPrice;
+    }
+
+    private long bucket(long epochSec) {
+        return Math.floorDiv(epochSec - offset, barSeconds) * barSeconds + offset;
+    }
+
+    // 단일 출력은 요청 이름, 복수 출력은 "이름.출력"(예: macd.signal). 값이 없으면 null
+    private Map<String, Double> values() {
+        Map<String, Double> out = new LinkedHashMap<>();
+        for (int i = 0; i < calculators.size(); i++) {
+            LiveIndicator li = calculators.get(i);
+            String key = specs.get(i).key();
+            double[] v = li.preview(lastPrice);
+            String[] names = li.outputs();
+            if (names.length == 1) {
+                out.put(key, boxed(v[0]));
+            } else {
+                for (int j = 0; j < names.length; j++) out.put(key + "." + names[j], boxed(v[j]));
+            }
+        }
+        return out;
+    }
+
+    private static Double boxed(double v) {
+        return Double.isNaN(v) || Double.isInfinite(v) ? null : v;
+    }
+
+    /**
+     * 분/시간/1일/주 봉만 지원. 월봉 이상은 경계가 고정 길이가 아니고, 다일봉(5d 등)은 거래일 기준이라
+     * 고정 길이 버킷으로 맞출 수 없어 제외
+     */
+    public static long barSeconds(String interval) {
+        String iv = interval == null ? "" : interval.trim().toLowerCase(Locale.ROOT);
+        long seconds = 0;
+        try {
+            if (iv.endsWith("wk")) seconds = Long.parseLong(iv.substring(0, iv.length() - 2)) * 7 * 86_400L;
+            else if (iv.endsWith("mo")) seconds = 0;
+            else if (iv.endsWith("m")) seconds = Long.parseLong(iv.substring(0, iv.length() - 1)) * 60L;
+            else if (iv.endsWith("h")) seconds = Long.parseLong(iv.substring(0, iv.length() - 1)) * 3_600L;
+            else if (iv.endsWith("d")) seconds = Long.parseLong(iv.substring(0, iv.length() - 1)) == 1 ? 86_400L : 0;
+        } catch (NumberFormatException ignored) {
+        }
+        if (seconds <= 0) throw new IllegalArgumentException("unsupported live interval: " + interval);
+        return seconds;
+    }
+}
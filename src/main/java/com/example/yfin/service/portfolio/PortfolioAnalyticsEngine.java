@@ -0,0 +1,150 @@
+package com.example.yfin.service.portfolio;
+
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.portfolio.PortfolioAnalytics;
+import com.example.yfin.util.SeriesMath;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 보유 종목 일봉으로 포트폴리오 NAV/위험 지표 계산(원시 배열만 사용).
+ * - 날짜(UTC epochDay) 합집합 달력에 종목별 종가를 직전 값으로 채워 정렬하고,
+ *   모든 종목의 첫 거래일 이후 구간만 사용
+ * - NAV = Σ 수량 × 종가(통화 환산 없음), 변동성/샤프는 일간 단순수익률 기준 √252 연율화
+ * - 종목 간 상관은 SeriesMath.correlationMatrix(ForkJoin 병렬)
+ * - 유효 종가(양수)가 하나도 없는 종목은 계산에서 빼고 결과의 missing에 담음(요청 전체를 실패시키지 않음)
+ */
+public final class PortfolioAnalyticsEngine {
+
+    private PortfolioAnalyticsEngine() { }
+
+    /** requested[i]의 수량 requestedQuantity[i], 일봉 bars[i] (동일 심볼은 호출 측에서 합산) */
+    public static PortfolioAnalytics compute(List<String> requested, double[] requestedQuantity, List<BarColumns> bars, double riskFreeRate) {
+        int r = requested.size();
+        long[][] days = new long[r][];
+        double[][] closes = new double[r][];
+        List<String> symbols = new ArrayList<>(r);
+        List<String> missing = new ArrayList<>();
+        double[] quantity = new double[r];
+        long start = Long.MIN_VALUE;
+        int total = 0;
+        int k = 0;
+        for (int q = 0; q < r; q++) {
+            BarColumns b = bars.get(q);
+            int n = b.size();
+            long[] d = new long[n];
+            double[] c = new double[n];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                double close = b.closeAt(i);
+                if (Double.isNaN(close) || close <= 0) continue;
+                long day = Math.floorDiv(b.epochSecAt(i), 86_400L);
+                // 같은 날짜 중복 바는 마지막 값 사용
+                if (m > 0 && d[m - 1] == day) m--;
+                d[m] = day;
+                c[m++] = close;
+            }
+            if (m == 0) {
+                missing.add(requested.get(q));
+                continue;
+            }
+            days[k] = Arrays.copyOf(d, m);
+            closes[k] = Arrays.copyOf(c, m);
+            quantity[k] = requestedQuantity[q];
+            symbols.add(requested.get(q));
+            start = Math.max(start, days[k][0]);
+            total += m;
+            k++;
+        }
+        PortfolioAnalytics out = new PortfolioAnalytics();
+        out.setSymbols(List.copyOf(symbols));
+        out.setMissing(missing);
+        if (k == 0) return out;
+        days = Arrays.copyOf(days, k);
+
+        long[] calendar = calendar(days, start, total);
+        int t = calendar.length;
+        double[][] aligned = new double[k][];
+        double[] nav = new double[t];
+        for (int h = 0; h < k; h++) {
+            aligned[h] = forwardFill(days[h], closes[h], calendar);
+            for (int i = 0; i < t; i++) nav[i] += quantity[h] * aligned[h][i];
+        }
+
+        double[] navReturns = simpleReturns(nav);
+        double[][] holdingReturns = new double[k][];
+        for (int h = 0; h < k; h++) holdingReturns[h] = simpleReturns(aligned[h]);
+
+        List<Instant> time = new ArrayList<>(t);
+        List<Double> navList = new ArrayList<>(t);
+        for (int i = 0; i < t; i++) {
+            time.add(Instant.ofEpochSecond(calendar[i] * 86_400L));
+            navList.add(nav[i]);
+        }
+        out.setTime(time);
+        out.setNav(navList);
+        if (t >= 2) {
+            double years = t / SeriesMath.TRADING_DAYS;
+            double totalReturn = nav[t - 1] / nav[0] - 1.0;
+            double meanDaily = SeriesMath.mean(navReturns, 0, navReturns.length);
+            double sdDaily = SeriesMath.stdev(navReturns, 0, navReturns.length);
+            double volatility = sdDaily * Math.sqrt(SeriesMath.TRADING_DAYS);
+            out.setTotalReturn(boxed(totalReturn));
+            out.setCagr(boxed(years > 0 && nav[0] > 0 ? Math.pow(nav[t - 1] / nav[0], 1.0 / years) - 1.0 : Double.NaN));
+            out.setVolatilityPct(boxed(volatility * 100.0));
+            out.setSharpe(boxed(volatility > 0 ? (meanDaily * SeriesMath.TRADING_DAYS - riskFreeRate) / volatility : Double.NaN));
+            out.setMaxDrawdownPct(boxed(SeriesMath.maxDrawdownPct(nav, 0, t)));
+            out.setCorrelation(toLists(SeriesMath.correlationMatrix(holdingReturns)));
+        }
+        return out;
+    }
+
+    // start 이후 날짜 합집합(정렬, 중복 제거)
+    private static long[] calendar(long[][] days, long start, int total) {
+        long[] all = new long[total];
+        int n = 0;
+        for (long[] d : days) {
+            for (long day : d) if (day >= start) all[n++] = day;
+        }
+        Arrays.sort(all, 0, n);
+        int m = 0;
+        for (int i = 0; i < n; i++) if (m == 0 || all[m - 1] != all[i]) all[m++] = all[i];
+        return Arrays.copyOf(all, m);
+    }
+
+    // 달력 각 날짜에 그 날짜 이하 마지막 종가
+    private static double[] forwardFill(long[] days, double[] close, long[] calendar) {
+        double[] out = new double[calendar.length];
+        int j = 0;
+        double last = Double.NaN;
+        for (int i = 0; i < calendar.length; i++) {
+            while (j < days.length && days[j] <= calendar[i]) last = close[j++];
+            out[i] = last;
+        }
+        return out;
+    }
+
+    // r[i-1] = x[i] / x[i-1] - 1 (길이 n-1)
+    private static double[] simpleReturns(double[] x) {
+        double[] r = new double[Math.max(0, x.length - 1)];
+        for (int i = 1; i < x.length; i++) r[i - 1] = x[i - 1] > 0 ? x[i] / x[i - 1] - 1.0 : 0.0;
+        return r;
+    }
+
+    private static List<List<Double>> toLists(double[][] m) {
+        List<List<Double>> out = new ArrayList<>(m.length);
+        for (double[] row : m) {
+            List<Double> r = new ArrayList<>(row.length);
+            for (double v : row) r.add(boxed(v));
+            out.add(r);
+        }
+        return out;
+    }
+
+    private static Double boxed(double v) {
+        return Double.isNaN(v) || Double.isInfinite(v) ? null : v;
+    }
+}
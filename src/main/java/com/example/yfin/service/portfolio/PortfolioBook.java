@@ -0,0 +1,185 @@
+package com.example.yfin.service.portfolio;
+
+import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.portfolio.PortfolioSummary;
+import com.example.yfin.model.portfolio.PositionDto;
+import com.example.yfin.realtime.LiveTickSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 포트폴리오 평가 상태(포지션 1개 = 인덱스 1개, 결측: NaN).
+ * - 정적 값(수량/원가)은 생성 시 1회 계산, 가격 의존 값(평가금액/배당)만 시세 반영 시 갱신
+ * - 심볼 → 포지션 인덱스 해시 색인(같은 심볼의 여러 포지션 포함, KIS 6자리 코드도 별칭으로 등록)
+ * - 틱 반영(onPrice)은 해당 심볼 포지션만 재계산하고 합계는 증감분으로 갱신. 부동소수 누적 오차가 쌓이지 않도록
+ *   전체 요약 시와 RESYNC_EVERY회 갱신마다 합계를 포지션 값에서 다시 계산
+ * - 심볼이 없거나 빈 포지션은 생성 시 IllegalArgumentException(400)
+ * - 스레드 안전하지 않음: 스트림 1개 안에서 순차 적용
+ */
+public final class PortfolioBook {
+
+    static final int RESYNC_EVERY = 1_024;
+
+    private final String[] symbols;
+    private final double[] quantity;
+    private final double[] cost;
+    private final double[] price;
+    private final double[] dividendRate;
+    private final double[] dividendYield;
+    private final double[] marketValue;
+    private final double[] dividendAnnual;
+    private final Map<String, int[]> bySymbol;
+    private double totalMarketValue;
+    private double totalCost;
+    private double totalDividendAnnual;
+    private int repricesSinceResync;
+
+    public PortfolioBook(List<PositionDto> positions) {
+        int n = positions.size();
+        symbols = new String[n];
+        quantity = new double[n];
+        cost = new double[n];
+        price = new double[n];
+        dividendRate = new double[n];
+        dividendYield = new double[n];
+        marketValue = new double[n];
+        dividendAnnual = new double[n];
+        Map<String, List<Integer>> idx = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            PositionDto p = positions.get(i);
+            if (p == null || p.getSymbol() == null || p.getSymbol().isBlank()) {
+                throw new IllegalArgumentException("symbol required (position " + i + ")");
+            }
+            symbols[i] = p.getSymbol();
+            quantity[i] = n(p.getQuantity());
+            cost[i] = n(p.getAverageCost()) * quantity[i];
+            totalCost += cost[i];
+            price[i] = Double.NaN;
+            dividendRate[i] = Double.NaN;
+            dividendYield[i] = Double.NaN;
+            dividendAnnual[i] = Double.NaN;
+            String key = key(p.getSymbol());
+            idx.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            String kis = LiveTickSource.toKisSymbol(key);
+            if (!kis.equals(key)) idx.computeIfAbsent(kis, k -> new ArrayList<>()).add(i);
+        }
+        bySymbol = new HashMap<>(idx.size() * 2);
+        idx.forEach((k, v) -> bySymbol.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /** 시세 조회용 심볼(대문자, 중복 제거, 입력 순서) */
+    public List<String> symbols() {
+        Set<String> out = new LinkedHashSet<>();
+        for (String s : symbols) out.add(key(s));
+        return new ArrayList<>(out);
+    }
+
+    public int size() { return symbols.length; }
+
+    /** 시세(배당 필드 포함) 전체 반영. 시세가 없는 포지션은 가격 결측으로 평가 */
+    public void applyQuotes(Map<String, QuoteDto> quoteBySymbol) {
+        for (int i = 0; i < symbols.length; i++) {
+            QuoteDto q = quoteBySymbol.get(key(symbols[i]));
+            dividendRate[i] = q == null ? Double.NaN : num(q.getForwardDividendRate() != null ? q.getForwardDividendRate() : q.getTrailingAnnualDividendRate());
+            dividendYield[i] = q == null ? Double.NaN : num(q.getForwardDividendYield() != null ? q.getForwardDividendYield() : q.getTrailingAnnualDividendYield());
+            reprice(i, q == null ? Double.NaN : num(q.getRegularMarketPrice()));
+        }
+        resync();
+    }
+
+    /** 심볼 가격 갱신. 영향받은 포지션 인덱스(없으면 빈 배열) */
+    public int[] onPrice(String symbol, double newPrice) {
+        int[] affected = symbol == null ? null : bySymbol.get(symbol.toUpperCase(Locale.ROOT));
+        if (affected == null || Double.isNaN(newPrice)) return new int[0];
+        int changed = 0;
+        int[] out = new int[affected.length];
+        for (int i : affected) {
+            if (price[i] == newPrice) continue;
+            reprice(i, newPrice);
+            out[changed++] = i;
+        }
+        if (repricesSinceResync >= RESYNC_EVERY) resync();
+        return changed == out.length ? out : Arrays.copyOf(out, changed);
+    }
+
+    /** 전체 포지션 요약(합계는 포지션 값에서 다시 계산) */
+    public PortfolioSummary summary() {
+        resync();
+        int[] all = new int[symbols.length];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        return summary(all);
+    }
+
+    /** 합계 + 지정 포지션만 items로 담은 요약(증분 스트림용) */
+    public PortfolioSummary summary(int[] positions) {
+        PortfolioSummary sum = new PortfolioSummary();
+        List<PortfolioSummary.PositionBreakdown> items = new ArrayList<>(positions.length);
+        for (int i : positions) items.add(breakdown(i));
+        sum.setItems(items);
+        sum.setMarketValue(totalMarketValue);
+        sum.setCost(totalCost);
+        sum.setPnl(totalMarketValue - totalCost);
+        sum.setPnlRate(totalCost == 0.0 ? null : (totalMarketValue - totalCost) / totalCost);
+        sum.setDividendAnnual(totalDividendAnnual);
+        sum.setDividendYield(totalMarketValue == 0.0 ? null : totalDividendAnnual / totalMarketValue);
+        return sum;
+    }
+
+    private PortfolioSummary.PositionBreakdown breakdown(int i) {
+        PortfolioSummary.PositionBreakdown it = new PortfolioSummary.PositionBreakdown();
+        it.setSymbol(symbols[i]);
+        it.setQuantity(quantity[i]);
+        it.setPrice(boxed(price[i]));
+        it.setMarketValue(marketValue[i]);
+        it.setCost(cost[i]);
+        it.setPnl(marketValue[i] - cost[i]);
+        it.setPnlRate(cost[i] == 0.0 ? null : (marketValue[i] - cost[i]) / cost[i]);
+        it.setDividendAnnual(boxed(dividendAnnual[i]));
+        it.setDividendYield(Double.isNaN(price[i]) || Double.isNaN(dividendAnnual[i]) ? null : dividendAnnual[i] / marketValue[i]);
+        return it;
+    }
+
+    // 가격 의존 값 재계산 + 합계 증감 반영. 배당은 주당 배당금 우선, 없으면 수익률 × 가격
+    private void reprice(int i, double p) {
+        double mv = (Double.isNaN(p) ? 0.0 : p) * quantity[i];
+        double annual;
+        if (!Double.isNaN(dividendRate[i])) annual = dividendRate[i] * quantity[i];
+        else if (!Double.isNaN(dividendYield[i]) && !Double.isNaN(p)) annual = dividendYield[i] * p * quantity[i];
+        else annual = Double.NaN;
+        totalMarketValue += mv - marketValue[i];
+        totalDividendAnnual += (Double.isNaN(annual) ? 0.0 : annual) - (Double.isNaN(dividendAnnual[i]) ? 0.0 : dividendAnnual[i]);
+        price[i] = p;
+        marketValue[i] = mv;
+        dividendAnnual[i] = annual;
+        repricesSinceResync++;
+    }
+
+    // 합계를 포지션 값의 합으로 재계산(증감 누적 오차 제거)
+    private void resync() {
+        double mv = 0.0, div = 0.0;
+        for (int i = 0; i < symbols.length; i++) {
+            mv += marketValue[i];
+            if (!Double.isNaN(dividendAnnual[i])) div += dividendAnnual[i];
+        }
+        totalMarketValue = mv;
+        totalDividendAnnual = div;
+        repricesSinceResync = 0;
+    }
+
+    private static String key(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static double n(Double v) { return v == null ? 0.0 : v; }
+
+    private static double num(Double v) { return v == null ? Double.NaN : v; }
+
+    private static Double boxed(double v) { return Double.isNaN(v) ? null : v; }
+}
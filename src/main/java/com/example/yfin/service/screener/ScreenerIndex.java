@@ -0,0 +1,105 @@
+package com.example.yfin.service.screener;
+
+import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.doc.ListingMetaDoc;
+import com.example.yfin.repo.ListingMetaRepository;
+import com.example.yfin.service.QuoteService;
+import com.example.yfin.util.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 백그라운드로 유지되는 스크리너 스냅샷.
+ * - screener.index.refresh-seconds마다 상장 목록(listing_meta) + 전 종목 시세(배당 보강 포함)로 새 스냅샷을 만들어 교체
+ * - 요청은 현재 스냅샷만 읽음(요청마다 findAll/전체 시세 조회 없음). 최초 요청 시 스냅샷이 없으면 1회 생성 대기,
+ *   주기 갱신은 첫 생성 이후부터 동작
+ * - 히스토리 통계는 ScreenerStatsJob의 현재 테이블을 조인(다음 갱신부터 새 통계 반영)
+ * - 갱신 실패 시 직전 스냅샷 유지
+ */
+@Component
+public class ScreenerIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenerIndex.class);
+
+    private final ListingMetaRepository listingRepo;
+    private final QuoteService quoteService;
+    private final ScreenerStatsJob statsJob;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final SingleFlight<String, ScreenerSnapshot> builds = new SingleFlight<>();
+    private volatile ScreenerSnapshot current;
+    private Disposable refresher;
+
+    public ScreenerIndex(ListingMetaRepository listingRepo,
+                         QuoteService quoteService,
+                         ScreenerStatsJob statsJob,
+                         @Value("${screener.index.enabled:true}") boolean enabled,
+                         @Value("${screener.index.refresh-seconds:60}") long refreshSeconds) {
+        this.listingRepo = listingRepo;
+        this.quoteService = quoteService;
+        this.statsJob = statsJob;
+        this.enabled = enabled;
+        this.refreshInterval = Duration.ofSeconds(Math.max(10, refreshSeconds));
+    }
+
+    @PostConstruct
+    public void startBackgroundRefresh() {
+        if (!enabled) return;
+        // 스크리너가 한 번이라도 사용된 뒤부터 주기 갱신
+        refresher = Flux.interval(refreshInterval, refreshInterval)
+                .filter(i -> current != null)
+                .concatMap(i -> rebuild()
+                        .onErrorResume(e -> {
+                            log.warn("Screener index refresh failed: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopBackgroundRefresh() {
+        if (refresher != null) refresher.dispose();
+    }
+
+    /** 현재 스냅샷. 아직 없으면(기동 직후) 생성 완료까지 대기 */
+    public Mono<ScreenerSnapshot> snapshot() {
+        ScreenerSnapshot s = current;
+        if (s != null) return Mono.just(s);
+        return rebuild();
+    }
+
+    public Mono<ScreenerSnapshot> rebuild() {
+        return builds.execute("snapshot", () -> listingRepo.findAll()
+                .collectList()
+                .flatMap(this::build)
+                .doOnNext(s -> {
+                    current = s;
+                    log.debug("Screener index rebuilt: {} listings", s.size());
+                }));
+    }
+
+    private Mono<ScreenerSnapshot> build(List<ListingMetaDoc> listings) {
+        List<String> ids = listings.stream().map(ListingMetaDoc::getId).filter(id -> id != null && !id.isBlank()).toList();
+        return quoteService.quotes(ids, true)
+                .map(quotes -> {
+                    Map<String, QuoteDto> bySymbol = new HashMap<>(quotes.size() * 2);
+                    for (QuoteDto q : quotes) {
+                        if (q != null && q.getSymbol() != null) bySymbol.putIfAbsent(q.getSymbol().toUpperCase(Locale.ROOT), q);
+                    }
+                    return new ScreenerSnapshot(listings, bySymbol, statsJob.current(), System.currentTimeMillis());
+                });
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.yfin.service.screener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 스크리너 질의: where 식 + 다중 키 정렬.
+ * <pre>
+ * expr    := or
+ * or      := and (OR and)*
+ * and     := unary (AND unary)*
+ * unary   := NOT unary | '(' expr ')' | cond
+ * cond    := field (&lt; | &lt;= | &gt; | &gt;= | = | !=) value
+ *          | field [NOT] BETWEEN number AND number
+ *          | field [NOT] IN '(' value (',' value)* ')'
+ * sort    := field[:asc|desc] (',' field[:asc|desc])*
+ * </pre>
+ * - 파싱은 1회(호출 측 캐시), bind(snapshot)로 스냅샷 컬럼 배열을 직접 참조하는 행 판정식으로 컴파일
+ * - 결측 값(숫자 NaN, 문자열 null)이 걸린 비교는 NOT/NOT BETWEEN/NOT IN/!=를 포함해 항상 불일치.
+ *   SQL과 같은 3값 논리로 판정(결측 비교는 '미정'이고 NOT으로 뒤집어도 '미정', AND/OR은 다른 쪽이 결과를 정하면 그 값)
+ * - 정렬에서 결측은 방향과 무관하게 마지막
+ * - 문법/필드 오류는 IllegalArgumentException(400)
+ */
+public final class ScreenerQuery {
+
+    public static final int MAX_LENGTH = 2_000;
+    private static final int MAX_DEPTH = 64;
+
+    /** 스냅샷 행 판정식 */
+    @FunctionalInterface
+    public interface RowPredicate {
+        boolean test(int row);
+    }
+
+    /** 스냅샷 행 비교자 */
+    @FunctionalInterface
+    public interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    private sealed interface Node permits Cmp, Between, In, And, Or, Not { }
+    private record Cmp(String field, String op, double number, String text) implements Node { }
+    private record Between(String field, double lo, double hi) implements Node { }
+    private record In(String field, List<String> texts, List<Double> numbers) implements Node { }
+    private record And(Node left, Node right) implements Node { }
+    private record Or(Node left, Node right) implements Node { }
+    private record Not(Node inner) implements Node { }
+    private record SortKey(String field, boolean desc) { }
+
+    private final Node where;
+    private final List<SortKey> sort;
+    private final Set<String> fields;
+    // 마지막으로 바인딩한 스냅샷의 컴파일 결과(스냅샷 교체 전까지 재사용)
+    private volatile Bound bound;
+
+    private record Bound(ScreenerSnapshot snapshot, RowPredicate predicate, RowComparator comparator) { }
+
+    /** 3값 판정: matches(참 확정), fails(거짓 확정). 둘 다 아니면 결측으로 미정 */
+    private record Tri(RowPredicate matches, RowPredicate fails) {
+        Tri not() {
+            return new Tri(fails, matches);
+        }
+    }
+
+    private ScreenerQuery(Node where, List<SortKey> sort, Set<String> fields) {
+        this.where = where;
+        this.sort = sort;
+        this.fields = fields;
+    }
+
+    /** where/sort 모두 생략 가능 */
+    public static ScreenerQuery parse(String where, String sort) {
+        Set<String> fields = new LinkedHashSet<>();
+        Node node = null;
+        if (where != null && !where.isBlank()) {
+            if (where.length() > MAX_LENGTH) throw new IllegalArgumentException("where is too long");
+            Parser p = new Parser(where, fields);
+            node = p.parseExpr(0);
+            p.expectEnd();
+        }
+        List<SortKey> keys = new ArrayList<>();
+        if (sort != null && !sort.isBlank()) {
+            for (String part : sort.split(",")) {
+                if (part.isBlank()) continue;
+                String[] kv = part.trim().split(":");
+                String field = numericField(kv[0].trim());
+                boolean desc = false;
+                if (kv.length > 1) {
+                    String dir = kv[1].trim().toLowerCase(Locale.ROOT);
+                    if (!dir.equals("asc") && !dir.equals("desc")) throw new IllegalArgumentException("invalid sort direction: " + kv[1]);
+                    desc = dir.equals("desc");
+                }
+                keys.add(new SortKey(field, desc));
+                fields.add(field);
+            }
+        }
+        return new ScreenerQuery(node, List.copyOf(keys), fields);
+    }
+
+    /** where/sort에 등장한 숫자 필드(응답 values에 포함) */
+    public Set<String> numericFields() {
+        Set<String> out = new LinkedHashSet<>();
+        for (String f : fields) if (ScreenerSnapshot.numericFields().contains(f)) out.add(f);
+        return out;
+    }
+
+    public boolean hasSort() {
+        return !sort.isEmpty();
+    }
+
+    /**
+     * rows 중 where를 통과한 행을 정렬해 반환(원본 배열은 변경하지 않음).
+     * 판정식/비교자는 스냅샷 단위로 컴파일해 재사용.
+     */
+    public int[] select(ScreenerSnapshot s, int[] rows) {
+        Bound b = bound;
+        if (b == null || b.snapshot() != s) {
+            b = new Bound(s, bind(s), comparator(s));
+            bound = b;
+        }
+        int[] out = new int[rows.length];
+        int n = 0;
+        RowPredicate p = b.predicate();
+        for (int row : rows) if (p.test(row)) out[n++] = row;
+        out = n == out.length ? out : Arrays.copyOf(out, n);
+        if (hasSort()) mergeSort(out, new int[n], 0, n, b.comparator());
+        return out;
+    }
+
+    /** 스냅샷 컬럼에 바인딩한 판정식. where가 없으면 항상 true */
+    public RowPredicate bind(ScreenerSnapshot s) {
+        return where == null ? row -> true : compile(where, s).matches();
+    }
+
+    /** 스냅샷 컬럼에 바인딩한 다중 키 비교자. 정렬 키가 없으면 상장 순서 */
+    public RowComparator comparator(ScreenerSnapshot s) {
+        RowComparator cmp = Integer::compare;
+        for (int k = sort.size() - 1; k >= 0; k--) {
+            SortKey key = sort.get(k);
+            double[] col = s.numericColumn(key.field());
+            RowComparator next = cmp;
+            cmp = (a, b) -> {
+                double x = col[a], y = col[b];
+                boolean xn = Double.isNaN(x), yn = Double.isNaN(y);
+                if (xn || yn) return xn == yn ? next.compare(a, b) : (xn ? 1 : -1);
+                int c = key.desc() ? Double.compare(y, x) : Double.compare(x, y);
+                return c != 0 ? c : next.compare(a, b);
+            };
+        }
+        return cmp;
+    }
+
+    // 안정 병합 정렬(int[] 그대로, 박싱 없음)
+    private static void mergeSort(int[] a, int[] tmp, int from, int to, RowComparator cmp) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int v = a[i], j = i - 1;
+                while (j >= from && cmp.compare(a[j], v) > 0) a[j + 1] = a[j--];
+                a[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, cmp);
+        mergeSort(a, tmp, mid, to, cmp);
+        if (cmp.compare(a[mid - 1], a[mid]) <= 0) return;
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) a[k++] = cmp.compare(tmp[j], tmp[i]) < 0 ? tmp[j++] : tmp[i++];
+        while (i < mid) a[k++] = tmp[i++];
+        while (j < to) a[k++] = tmp[j++];
+    }
+
+    private static Tri compile(Node node, ScreenerSnapshot s) {
+        if (node instanceof And a) {
+            Tri l = compile(a.left(), s), r = compile(a.right(), s);
+            return new Tri(row -> l.matches().test(row) && r.matches().test(row),
+                    row -> l.fails().test(row) || r.fails().test(row));
+        }
+        if (node instanceof Or o) {
+            Tri l = compile(o.left(), s), r = compile(o.right(), s);
+            return new Tri(row -> l.matches().test(row) || r.matches().test(row),
+                    row -> l.fails().test(row) && r.fails().test(row));
+        }
+        if (node instanceof Not n) {
+            return compile(n.inner(), s).not();
+        }
+        if (node instanceof Between b) {
+            double[] col = s.numericColumn(b.field());
+            double lo = b.lo(), hi = b.hi();
+            return new Tri(row -> col[row] >= lo && col[row] <= hi,
+                    row -> col[row] < lo || col[row] > hi);
+        }
+        if (node instanceof In in) {
+            // 스냅샷 단위로 미리 계산한 행 마스크(결측 행은 양쪽 모두 false)
+            boolean[] match = new boolean[s.size()];
+            boolean[] fail = new boolean[s.size()];
+            String[] text = s.stringColumn(in.field());
+            if (text != null) {
+                Set<String> values = new HashSet<>();
+                for (String v : in.texts()) values.add(v.toUpperCase(Locale.ROOT));
+                for (int i = 0; i < match.length; i++) {
+                    if (text[i] == null) continue;
+                    match[i] = values.contains(text[i].toUpperCase(Locale.ROOT));
+                    fail[i] = !match[i];
+                }
+            } else {
+                double[] col = s.numericColumn(in.field());
+                for (int i = 0; i < match.length; i++) {
+                    if (Double.isNaN(col[i])) continue;
+                    match[i] = in.numbers().contains(col[i]);
+                    fail[i] = !match[i];
+                }
+            }
+            return new Tri(row -> match[row], row -> fail[row]);
+        }
+        Cmp c = (Cmp) node;
+        String[] text = s.stringColumn(c.field());
+        if (text != null) {
+            String v = c.text();
+            boolean eq = c.op().equals("=");
+            return new Tri(row -> text[row] != null && text[row].equalsIgnoreCase(v) == eq,
+                    row -> text[row] != null && text[row].equalsIgnoreCase(v) != eq);
+        }
+        double[] col = s.numericColumn(c.field());
+        double v = c.number();
+        // NaN과의 <, <=, >, >=, == 비교는 모두 false이므로 두 방향 모두 결측 행은 자연히 제외됨
+        return switch (c.op()) {
+            case "<" -> new Tri(row -> col[row] < v, row -> col[row] >= v);
+            case "<=" -> new Tri(row -> col[row] <= v, row -> col[row] > v);
+            case ">" -> new Tri(row -> col[row] > v, row -> col[row] <= v);
+            case ">=" -> new Tri(row -> col[row] >= v, row -> col[row] < v);
+            case "=" -> new Tri(row -> col[row] == v, row -> col[row] < v || col[row] > v);
+            default -> new Tri(row -> col[row] < v || col[row] > v, row -> col[row] == v);
+        };
+    }
+
+    private static String numericField(String name) {
+        String f = ScreenerSnapshot.canonicalField(name);
+        if (f == null || !ScreenerSnapshot.numericFields().contains(f)) throw new IllegalArgumentException("unknown numeric field: " + name);
+        return f;
+    }
+
+    /** 재귀 하강 파서(토큰화 포함) */
+    private static final class Parser {
+        private final String src;
+        private final Set<String> fields;
+        private int pos;
+
+        Parser(String src, Set<String> fields) {
+            this.src = src;
+            this.fields = fields;
+        }
+
+        Node parseExpr(int depth) {
+            if (depth > MAX_DEPTH) throw error("expression is nested too deeply");
+            Node left = parseAnd(depth);
+            while (keyword("OR") || symbol("||")) left = new Or(left, parseAnd(depth));
+            return left;
+        }
+
+        private Node parseAnd(int depth) {
+            Node left = parseUnary(depth);
+            while (keyword("AND") || symbol("&&")) left = new And(left, parseUnary(depth));
+            return left;
+        }
+
+        private Node parseUnary(int depth) {
+            if (keyword("NOT") || symbol("!")) return new Not(parseUnary(depth + 1));
+            if (symbol("(")) {
+                Node inner = parseExpr(depth + 1);
+                if (!symbol(")")) throw error("')' expected");
+                return inner;
+            }
+            return parseCondition();
+        }
+
+        private Node parseCondition() {
+            int at = skipSpaces();
+            String name = identifier();
+            if (name == null) throw error("field name expected");
+            String field = ScreenerSnapshot.canonicalField(name);
+            if (field == null) {
+                pos = at;
+                throw error("unknown field: " + name);
+            }
+            fields.add(field);
+            boolean numeric = ScreenerSnapshot.numericFields().contains(field);
+            boolean negate = keyword("NOT");
+            if (keyword("BETWEEN")) {
+                if (!numeric) throw error("BETWEEN requires a numeric field: " + name);
+                double lo = number();
+                if (!keyword("AND")) throw error("AND expected in BETWEEN");
+                double hi = number();
+                Node n = new Between(field, lo, hi);
+                return negate ? new Not(n) : n;
+            }
+            if (keyword("IN")) {
+                if (!symbol("(")) throw error("'(' expected after IN");
+                List<String> texts = new ArrayList<>();
+                List<Double> numbers = new ArrayList<>();
+                do {
+                    if (numeric) numbers.add(number()); else texts.add(text());
+                } while (symbol(","));
+                if (!symbol(")")) throw error("')' expected");
+                Node n = new In(field, texts, numbers);
+                return negate ? new Not(n) : n;
+            }
+            if (negate) throw error("BETWEEN or IN expected after NOT");
+            String op = operator();
+            if (op == null) throw error("comparison operator expected");
+            if (!numeric) {
+                if (!op.equals("=") && !op.equals("!=")) throw error("only = and != apply to text field: " + name);
+                return new Cmp(field, op, Double.NaN, text());
+            }
+            return new Cmp(field, op, number(), null);
+        }
+
+        private String operator() {
+            skipSpaces();
+            for (String op : new String[]{"<=", ">=", "!=", "<>", "==", "<", ">", "="}) {
+                if (src.startsWith(op, pos)) {
+                    pos += op.length();
+                    return switch (op) {
+                        case "<>" -> "!=";
+                        case "==" -> "=";
+                        default -> op;
+                    };
+                }
+            }
+            return null;
+        }
+
+        private double number() {
+            skipSpaces();
+            int start = pos;
+            if (pos < src.length() && (src.charAt(pos) == '-' || src.charAt(pos) == '+')) pos++;
+            while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.'
+                    || src.charAt(pos) == 'e' || src.charAt(pos) == 'E'
+                    || ((src.charAt(pos) == '-' || src.charAt(pos) == '+') && (src.charAt(pos - 1) == 'e' || src.charAt(pos - 1) == 'E')))) {
+                pos++;
+            }
+            try {
+                return Double.parseDouble(src.substring(start, pos));
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("number expected");
+            }
+        }
+
+        // 따옴표 문자열 또는 따옴표 없는 단어
+        private String text() {
+            skipSpaces();
+            if (pos < src.length() && (src.charAt(pos) == '\'' || src.charAt(pos) == '"')) {
+                char quote = src.charAt(pos++);
+                int end = src.indexOf(quote, pos);
+                if (end < 0) throw error("unterminated string");
+                String v = src.substring(pos, end);
+                pos = end + 1;
+                return v;
+            }
+            String word = identifier();
+            if (word == null) throw error("value expected");
+            return word;
+        }
+
+        private String identifier() {
+            skipSpaces();
+            int start = pos;
+            while (pos < src.length() && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_' || src.charAt(pos) == '.' || src.charAt(pos) == '^')) {
+                pos++;
+            }
+            return pos == start ? null : src.substring(start, pos);
+        }
+
+        private boolean keyword(String kw) {
+            int at = skipSpaces();
+            int end = at + kw.length();
+            if (end <= src.length() && src.regionMatches(true, at, kw, 0, kw.length())
+                    && (end == src.length() || !Character.isLetterOrDigit(src.charAt(end)))) {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean symbol(String sym) {
+            int at = skipSpaces();
+            // '!'는 '!='의 일부면 논리 부정이 아님
+            if (sym.equals("!") && src.startsWith("!=", at)) return false;
+            if (src.startsWith(sym, at)) {
+                pos = at + sym.length();
+                return true;
+            }
+            return false;
+        }
+
+        private int skipSpaces() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+            return pos;
+        }
+
+        void expectEnd() {
+            if (skipSpaces() != src.length()) throw error("unexpected input");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
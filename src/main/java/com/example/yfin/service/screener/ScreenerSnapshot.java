@@ -0,0 +1,255 @@
+package com.example.yfin.service.screener;
+
+import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.doc.ListingMetaDoc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 스크리너용 불변 컬럼 스냅샷(상장 목록 1행 = 인덱스 1개).
+ * - 숫자 필드는 이름별 원시 double[] 컬럼(결측: NaN), 문자열 필드는 String[] 컬럼
+ * - 히스토리 통계(ScreenerStats: 실현 변동성/베타/최대 낙폭)는 생성 시 심볼로 조인한 컬럼
+ * - 필드 이름은 대소문자 무시, QuoteDto 원래 이름(regularMarketPrice 등)도 별칭으로 허용
+ * - 시장별 인덱스, (시장, 섹터)별 인덱스와 등락률/거래량 내림차순 정렬을 생성 시 미리 계산
+ * - 시장 미지정 조회는 ALL 그룹 사용
+ */
+public final class ScreenerSnapshot {
+
+    public static final String ALL = "*";
+    public static final String UNKNOWN_SECTOR = "UNKNOWN";
+
+    /** 숫자 필드 정의(정식 이름 → 추출기). dividendYield는 선행 우선, 없으면 TTM */
+    private static final Map<String, Function<QuoteDto, Number>> NUMERIC_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, String> ALIASES = new HashMap<>();
+    private static final Set<String> NUMERIC_NAMES;
+    static {
+        numeric("price", QuoteDto::getRegularMarketPrice, "regularMarketPrice");
+        numeric("change", QuoteDto::getRegularMarketChange, "regularMarketChange");
+        numeric("changePercent", QuoteDto::getRegularMarketChangePercent, "regularMarketChangePercent");
+        numeric("volume", QuoteDto::getRegularMarketVolume, "regularMarketVolume");
+        numeric("previousClose", QuoteDto::getPreviousClose);
+        numeric("dayHigh", QuoteDto::getDayHigh);
+        numeric("dayLow", QuoteDto::getDayLow);
+        numeric("dividendYield", q -> q.getForwardDividendYield() != null ? q.getForwardDividendYield() : q.getTrailingAnnualDividendYield());
+        numeric("forwardDividendYield", QuoteDto::getForwardDividendYield);
+        numeric("forwardDividendRate", QuoteDto::getForwardDividendRate);
+        numeric("trailingAnnualDividendYield", QuoteDto::getTrailingAnnualDividendYield);
+        numeric("trailingAnnualDividendRate", QuoteDto::getTrailingAnnualDividendRate);
+        numeric("fiftyTwoWeekHigh", QuoteDto::getFiftyTwoWeekHigh);
+        numeric("fiftyTwoWeekLow", QuoteDto::getFiftyTwoWeekLow);
+        // (고가-저가)/가격 근사 변동성(%)
+        numeric("rangeVolatilityPct", q -> {
+            Double p = q.getRegularMarketPrice(), hi = q.getDayHigh(), lo = q.getDayLow();
+            return p == null || p <= 0 || hi == null || lo == null ? null : (hi - lo) / p * 100.0;
+        });
+        for (String f : ScreenerStats.FIELDS) ALIASES.put(f.toLowerCase(Locale.ROOT), f);
+        for (String f : List.of("symbol", "name", "market", "sector", "currency")) ALIASES.put(f.toLowerCase(Locale.ROOT), f);
+        Set<String> all = new LinkedHashSet<>(NUMERIC_FIELDS.keySet());
+        all.addAll(ScreenerStats.FIELDS);
+        NUMERIC_NAMES = Collections.unmodifiableSet(all);
+    }
+
+    private static void numeric(String name, Function<QuoteDto, Number> getter, String... aliases) {
+        NUMERIC_FIELDS.put(name, getter);
+        ALIASES.put(name.toLowerCase(Locale.ROOT), name);
+        for (String a : aliases) ALIASES.put(a.toLowerCase(Locale.ROOT), name);
+    }
+
+    final String[] symbols;
+    final String[] markets;
+    final String[] sectors;
+    final String[] names;
+    final String[] currencies;
+    final QuoteDto[] quotes;
+    private final Map<String, double[]> numeric;
+    private final double[] price;
+    private final double[] changePct;
+    private final double[] volume;
+    private final double[] dividendYield;
+    private final double[] rangeVolatilityPct;
+    private final double[] volatility20;
+    private final long builtAtEpochMs;
+    private final Map<String, Integer> bySymbol;
+    private final Map<String, int[]> byMarket;
+    private final Map<String, Map<String, Sector>> sectorsByMarket;
+
+    /** 섹터 그룹: 소속 인덱스(상장 순서)와 정렬된 인덱스(시세 없는 종목 제외) */
+    public record Sector(int[] members, int[] byChangeDesc, int[] byVolumeDesc) { }
+
+    ScreenerSnapshot(List<ListingMetaDoc> listings, Map<String, QuoteDto> quoteBySymbol, ScreenerStats stats, long builtAtEpochMs) {
+        int n = listings.size();
+        this.builtAtEpochMs = builtAtEpochMs;
+        symbols = new String[n];
+        markets = new String[n];
+        sectors = new String[n];
+        names = new String[n];
+        currencies = new String[n];
+        quotes = new QuoteDto[n];
+        bySymbol = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            ListingMetaDoc d = listings.get(i);
+            symbols[i] = d.getId();
+            markets[i] = d.getMarket() == null ? "" : d.getMarket().toUpperCase(Locale.ROOT);
+            sectors[i] = d.getSector() == null ? UNKNOWN_SECTOR : d.getSector();
+            QuoteDto q = d.getId() == null ? null : quoteBySymbol.get(d.getId().toUpperCase(Locale.ROOT));
+            quotes[i] = q;
+            names[i] = d.getName() != null ? d.getName() : (q == null ? null : q.getShortName());
+            currencies[i] = q == null ? null : q.getCurrency();
+            if (symbols[i] != null) bySymbol.putIfAbsent(symbols[i].toUpperCase(Locale.ROOT), i);
+        }
+        numeric = new HashMap<>();
+        NUMERIC_FIELDS.forEach((name, getter) -> {
+            double[] col = new double[n];
+            for (int i = 0; i < n; i++) {
+                Number v = quotes[i] == null ? null : getter.apply(quotes[i]);
+                col[i] = v == null ? Double.NaN : v.doubleValue();
+            }
+            numeric.put(name, col);
+        });
+        for (int f = 0; f < ScreenerStats.FIELDS.size(); f++) {
+            double[] col = new double[n];
+            for (int i = 0; i < n; i++) col[i] = stats.value(symbols[i], f);
+            numeric.put(ScreenerStats.FIELDS.get(f), col);
+        }
+        price = numeric.get("price");
+        changePct = numeric.get("changePercent");
+        volume = numeric.get("volume");
+        dividendYield = numeric.get("dividendYield");
+        rangeVolatilityPct = numeric.get("rangeVolatilityPct");
+        volatility20 = numeric.get("volatility20");
+
+        Map<String, List<Integer>> marketMembers = new LinkedHashMap<>();
+        Map<String, Map<String, List<Integer>>> sectorMembers = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            for (String m : new String[]{ALL, markets[i]}) {
+                marketMembers.computeIfAbsent(m, k -> new ArrayList<>()).add(i);
+                sectorMembers.computeIfAbsent(m, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(sectors[i], k -> new ArrayList<>()).add(i);
+            }
+        }
+        byMarket = new HashMap<>();
+        marketMembers.forEach((m, idx) -> byMarket.put(m, toArray(idx)));
+        sectorsByMarket = new HashMap<>();
+        sectorMembers.forEach((m, groups) -> {
+            Map<String, Sector> out = new LinkedHashMap<>();
+            groups.forEach((sector, idx) -> out.put(sector, new Sector(toArray(idx),
+                    sortedDesc(idx, i -> changePct[i]), sortedDesc(idx, i -> volume[i]))));
+            sectorsByMarket.put(m, Collections.unmodifiableMap(out));
+        });
+    }
+
+    public int size() { return symbols.length; }
+
+    public long builtAtEpochMs() { return builtAtEpochMs; }
+
+    public QuoteDto quote(int i) { return quotes[i]; }
+
+    public String symbol(int i) { return symbols[i]; }
+
+    public String sector(int i) { return sectors[i]; }
+
+    public String market(int i) { return markets[i]; }
+
+    public double price(int i) { return price[i]; }
+
+    public double changePct(int i) { return changePct[i]; }
+
+    /** 거래량, 결측이면 -1 */
+    public long volume(int i) { return Double.isNaN(volume[i]) ? -1L : (long) volume[i]; }
+
+    public double dividendYield(int i) { return dividendYield[i]; }
+
+    public double rangeVolatilityPct(int i) { return rangeVolatilityPct[i]; }
+
+    /** 20일 실현 변동성(연율화 %), 통계 없으면 NaN */
+    public double volatility20(int i) { return volatility20[i]; }
+
+    public String name(int i) { return names[i]; }
+
+    /** 정식 필드 이름(별칭/대소문자 정규화). 없으면 null */
+    public static String canonicalField(String field) {
+        return field == null ? null : ALIASES.get(field.toLowerCase(Locale.ROOT));
+    }
+
+    /** 숫자 필드 컬럼(복사 없음, 읽기 전용). 없으면 null */
+    public double[] numericColumn(String field) {
+        String f = canonicalField(field);
+        return f == null ? null : numeric.get(f);
+    }
+
+    /** 문자열 필드 컬럼(symbol/name/market/sector/currency). 없으면 null */
+    public String[] stringColumn(String field) {
+        String f = canonicalField(field);
+        if (f == null) return null;
+        return switch (f) {
+            case "symbol" -> symbols;
+            case "name" -> names;
+            case "market" -> markets;
+            case "sector" -> sectors;
+            case "currency" -> currencies;
+            default -> null;
+        };
+    }
+
+    /** 시세 필드 + 히스토리 통계 필드(ScreenerStats.FIELDS) */
+    public static Set<String> numericFields() {
+        return NUMERIC_NAMES;
+    }
+
+    /** 심볼 → 인덱스(O(1)), 없으면 -1 */
+    public int indexOf(String symbol) {
+        if (symbol == null) return -1;
+        Integer i = bySymbol.get(symbol.toUpperCase(Locale.ROOT));
+        return i == null ? -1 : i;
+    }
+
+    /** 시장(null이면 전체) 소속 인덱스, 상장 순서 */
+    public int[] members(String market) {
+        int[] idx = byMarket.get(key(market));
+        return idx == null ? new int[0] : idx;
+    }
+
+    /** 시장(null이면 전체)의 섹터 그룹, 상장 순서상 처음 등장한 순 */
+    public Map<String, Sector> sectors(String market) {
+        Map<String, Sector> m = sectorsByMarket.get(key(market));
+        return m == null ? Map.of() : m;
+    }
+
+    private static String key(String market) {
+        return market == null || market.isBlank() ? ALL : market.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // 시세 없는 종목 제외, 값 결측은 0으로 간주(기존 랭킹과 동일), 동률은 상장 순서 유지
+    private int[] sortedDesc(List<Integer> idx, ToDoubleFunction<Integer> value) {
+        Integer[] sorted = idx.stream().filter(i -> quotes[i] != null).toArray(Integer[]::new);
+        Arrays.sort(sorted, Comparator.comparingDouble((Integer i) -> {
+            double v = value.applyAsDouble(i);
+            return Double.isNaN(v) ? 0.0 : v;
+        }).reversed());
+        int[] out = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) out[i] = sorted[i];
+        return out;
+    }
+
+    private static int[] toArray(List<Integer> idx) {
+        int[] out = new int[idx.size()];
+        for (int i = 0; i < out.length; i++) out[i] = idx.get(i);
+        return out;
+    }
+
+    private static double num(Double v) {
+        return v == null ? Double.NaN : v;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.yfin.service.screener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 심볼별 히스토리 통계 테이블(필드별 double[] 컬럼, 결측: NaN).
+ * ScreenerStatsJob이 주기적으로 새 테이블을 만들어 교체하고, 스크리너 스냅샷은 생성 시 심볼로 조인만 함.
+ */
+public final class ScreenerStats {
+
+    /**
+     * 20/60/252일 실현 변동성(연율화 %), 벤치마크 대비 252일 베타, 최근 1년 최대 낙폭(%),
+     * 일봉 지표(RSI 14, 50/200일 단순이동평균, 마지막 일봉 기준. 계산은 /indicators와 동일).
+     * 새 필드는 끝에만 추가(저장된 이전 테이블의 짧은 행은 NaN으로 채움)
+     */
+    public static final List<String> FIELDS = List.of("volatility20", "volatility60", "volatility252", "beta", "maxDrawdownPct",
+            "rsi14", "sma50", "sma200");
+
+    public static final ScreenerStats EMPTY = new ScreenerStats(Map.of(), 0L);
+
+    private final Map<String, Integer> bySymbol;
+    private final double[][] columns;
+    private final Map<String, double[]> rows;
+    private final long builtAtEpochMs;
+
+    /** rows: 심볼 → FIELDS 순서의 값 */
+    public ScreenerStats(Map<String, double[]> rows, long builtAtEpochMs) {
+        this.builtAtEpochMs = builtAtEpochMs;
+        this.rows = Collections.unmodifiableMap(rows);
+        this.bySymbol = new HashMap<>(rows.size() * 2);
+        this.columns = new double[FIELDS.size()][rows.size()];
+        int i = 0;
+        for (Map.Entry<String, double[]> e : rows.entrySet()) {
+            bySymbol.put(e.getKey().toUpperCase(Locale.ROOT), i);
+            double[] v = e.getValue();
+            for (int f = 0; f < columns.length; f++) columns[f][i] = v != null && f < v.length ? v[f] : Double.NaN;
+            i++;
+        }
+    }
+
+    /** FIELDS 인덱스 f의 값. 통계가 없는 심볼은 NaN */
+    public double value(String symbol, int f) {
+        Integer i = symbol == null ? null : bySymbol.get(symbol.toUpperCase(Locale.ROOT));
+        return i == null ? Double.NaN : columns[f][i];
+    }
+
+    /** 영속화용 원본 행 */
+    public Map<String, double[]> rows() { return rows; }
+
+    public int size() { return rows.size(); }
+
+    public long builtAtEpochMs() { return builtAtEpochMs; }
+}
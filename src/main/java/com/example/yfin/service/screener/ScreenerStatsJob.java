@@ -0,0 +1,229 @@
+package com.example.yfin.service.screener;
+
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.doc.ListingMetaDoc;
+import com.example.yfin.repo.ListingMetaRepository;
+import com.example.yfin.service.ChartService;
+import com.example.yfin.service.cache.RedisCacheService;
+import com.example.yfin.service.indicator.IndicatorEngine;
+import com.example.yfin.util.SeriesMath;
+import com.example.yfin.util.SingleFlight;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 전 종목 히스토리 통계(실현 변동성/베타/최대 낙폭, RSI/이동평균) 백그라운드 계산.
+ * - screener.stats.refresh-hours 주기로 listing_meta 전 종목의 2년 일봉을 히스토리 저장소(BarStore)에서 읽어 계산
+ *   (이미 적재된 종목은 꼬리 구간만 갱신), 동시성은 screener.stats.concurrency로 제한
+ * - 베타 벤치마크는 시장별 설정(screener.stats.benchmarks, `*`는 기본값), 같은 날짜(UTC)의 수익률끼리 비교
+ * - 결과 테이블은 Redis(screener:stats)에도 저장해 재시작 후 바로 복원. 실패한 종목은 직전 값 유지
+ * - 스크리너 요청은 테이블만 읽으므로 요청 경로에서 히스토리 조회가 발생하지 않음
+ */
+@Component
+public class ScreenerStatsJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenerStatsJob.class);
+    private static final String REDIS_KEY = "screener:stats";
+    private static final String RANGE = "2y";
+    private static final int BETA_WINDOW = 252;
+    private static final int MIN_BETA_SAMPLES = 60;
+
+    private final ChartService chartService;
+    private final ListingMetaRepository listingRepo;
+    private final RedisCacheService redis;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final Duration initialDelay;
+    private final int concurrency;
+    private final Map<String, String> benchmarks;
+    private final SingleFlight<String, ScreenerStats> runs = new SingleFlight<>();
+    private volatile ScreenerStats current = ScreenerStats.EMPTY;
+    private Disposable scheduler;
+
+    public ScreenerStatsJob(ChartService chartService,
+                            ListingMetaRepository listingRepo,
+                            RedisCacheService redis,
+                            @Value("${screener.stats.enabled:true}") boolean enabled,
+                            @Value("${screener.stats.refresh-hours:24}") long refreshHours,
+                            @Value("${screener.stats.initial-delay-seconds:60}") long initialDelaySeconds,
+                            @Value("${screener.stats.concurrency:4}") int concurrency,
+                            @Value("${screener.stats.benchmarks:KS=^KS11,KQ=^KQ11,ETF=^KS11,*=^GSPC}") String benchmarks) {
+        this.chartService = chartService;
+        this.listingRepo = listingRepo;
+        this.redis = redis;
+        this.enabled = enabled;
+        this.refreshInterval = Duration.ofHours(Math.max(1, refreshHours));
+        this.initialDelay = Duration.ofSeconds(Math.max(0, initialDelaySeconds));
+        this.concurrency = Math.max(1, concurrency);
+        this.benchmarks = parseBenchmarks(benchmarks);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        // 복원된 테이블이 주기 내라면 다음 주기까지 재계산하지 않음
+        scheduler = restore()
+                .thenMany(Flux.interval(initialDelay, Duration.ofMinutes(10)))
+                .filter(i -> isDue())
+                .concatMap(i -> run()
+                        .onErrorResume(e -> {
+                            log.warn("Screener stats run failed: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) scheduler.dispose();
+    }
+
+    /** 현재 통계 테이블(계산 전이면 비어 있음) */
+    public ScreenerStats current() {
+        return current;
+    }
+
+    /** 전 종목 통계 재계산(동시 호출은 1회로 합침) */
+    public Mono<ScreenerStats> run() {
+        return runs.execute("stats", () -> listingRepo.findAll()
+                .filter(d -> d.getId() != null && !d.getId().isBlank())
+                .collectList()
+                .flatMap(this::compute)
+                .doOnNext(stats -> {
+                    current = stats;
+                    log.info("Screener stats computed for {} symbols", stats.size());
+                })
+                .flatMap(stats -> redis.set(REDIS_KEY, new Persisted(stats.builtAtEpochMs(), stats.rows()), refreshInterval.multipliedBy(3))
+                        .thenReturn(stats)));
+    }
+
+    private boolean isDue() {
+        return System.currentTimeMillis() - current.builtAtEpochMs() >= refreshInterval.toMillis();
+    }
+
+    private Mono<Void> restore() {
+        return redis.get(REDIS_KEY, new TypeReference<Persisted>() {})
+                .filter(p -> p.rows() != null)
+                .doOnNext(p -> current = new ScreenerStats(new LinkedHashMap<>(p.rows()), p.builtAtEpochMs()))
+                .then();
+    }
+
+    private Mono<ScreenerStats> compute(List<ListingMetaDoc> listings) {
+        ScreenerStats previous = current;
+        return Flux.fromIterable(benchmarks.values())
+                .distinct()
+                .flatMap(b -> chartService.columns(b, RANGE, "1d", true)
+                        .map(bars -> Map.entry(b, Daily.of(bars)))
+                        .onErrorResume(e -> {
+                            log.warn("Benchmark {} history unavailable: {}", b, e.toString());
+                            return Mono.empty();
+                        }), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMap(benchDaily -> Flux.fromIterable(listings)
+                        .flatMap(d -> chartService.columns(d.getId(), RANGE, "1d", true)
+                                .map(bars -> Map.entry(d.getId(), stats(bars, benchDaily.get(benchmarkFor(d)))))
+                                .onErrorResume(e -> {
+                                    double[] prev = previous.rows().get(d.getId());
+                                    return prev == null ? Mono.empty() : Mono.just(Map.entry(d.getId(), prev));
+                                }), concurrency)
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new))
+                .map(rows -> new ScreenerStats(rows, System.currentTimeMillis()));
+    }
+
+    /** ScreenerStats.FIELDS 순서의 값 */
+    private static double[] stats(BarColumns bars, Daily benchmark) {
+        Daily asset = Daily.of(bars);
+        double[] r = SeriesMath.logReturns(asset.close());
+        int n = asset.close().length;
+        IndicatorEngine engine = new IndicatorEngine(bars);
+        return new double[]{
+                SeriesMath.annualizedVolatilityPct(r, 20),
+                SeriesMath.annualizedVolatilityPct(r, 60),
+                SeriesMath.annualizedVolatilityPct(r, 252),
+                beta(asset, benchmark),
+                n == 0 ? Double.NaN : SeriesMath.maxDrawdownPct(asset.close(), n - 252, n),
+                last(engine.rsi(14)),
+                last(engine.sma(50)),
+                last(engine.sma(200))
+        };
+    }
+
+    private static double last(double[] values) {
+        return values.length == 0 ? Double.NaN : values[values.length - 1];
+    }
+
+    // 최근 BETA_WINDOW개 구간 중 양쪽 모두 전일/당일 종가가 있는 날짜의 로그수익률로 계산
+    private static double beta(Daily asset, Daily benchmark) {
+        if (benchmark == null) return Double.NaN;
+        int n = asset.close().length;
+        int from = Math.max(1, n - BETA_WINDOW);
+        double[] a = new double[n - from], m = new double[n - from];
+        int samples = 0;
+        for (int i = from; i < n; i++) {
+            int j = Arrays.binarySearch(benchmark.day(), asset.day()[i]);
+            int k = Arrays.binarySearch(benchmark.day(), asset.day()[i - 1]);
+            double pa = asset.close()[i - 1], ca = asset.close()[i];
+            a[i - from] = pa > 0 && ca > 0 ? Math.log(ca / pa) : Double.NaN;
+            if (j > 0 && k == j - 1 && benchmark.close()[k] > 0 && benchmark.close()[j] > 0) {
+                m[i - from] = Math.log(benchmark.close()[j] / benchmark.close()[k]);
+                if (!Double.isNaN(a[i - from])) samples++;
+            } else {
+                m[i - from] = Double.NaN;
+            }
+        }
+        return samples < MIN_BETA_SAMPLES ? Double.NaN : SeriesMath.beta(a, m);
+    }
+
+    // listing_meta 시장 코드 → 심볼 접미사(.KS 등) → 기본값(*) 순
+    private String benchmarkFor(ListingMetaDoc d) {
+        String market = d.getMarket() == null ? "" : d.getMarket().toUpperCase(Locale.ROOT);
+        if (benchmarks.containsKey(market)) return benchmarks.get(market);
+        int dot = d.getId().lastIndexOf('.');
+        String suffix = dot < 0 ? "" : d.getId().substring(dot + 1).toUpperCase(Locale.ROOT);
+        return benchmarks.getOrDefault(suffix, benchmarks.get("*"));
+    }
+
+    // "KS=^KS11,KQ=^KQ11,*=^GSPC" → 시장 코드 → 벤치마크
+    private static Map<String, String> parseBenchmarks(String spec) {
+        Map<String, String> out = new HashMap<>();
+        if (spec == null) return out;
+        for (String part : spec.split(",")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0 || eq == part.length() - 1) continue;
+            out.put(part.substring(0, eq).trim().toUpperCase(Locale.ROOT), part.substring(eq + 1).trim());
+        }
+        return out;
+    }
+
+    /** 일봉 종가와 UTC 날짜(epochDay) */
+    record Daily(long[] day, double[] close) {
+        static Daily of(BarColumns bars) {
+            int n = bars.size();
+            long[] day = new long[n];
+            double[] close = new double[n];
+            for (int i = 0; i < n; i++) {
+                day[i] = Math.floorDiv(bars.epochSecAt(i), 86_400L);
+                close[i] = bars.closeAt(i);
+            }
+            return new Daily(day, close);
+        }
+    }
+
+    record Persisted(long builtAtEpochMs, Map<String, double[]> rows) { }
+}
@@ -0,0 +1,168 @@
+package com.example.yfin.util;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 시간/크기 윈도우 기반 마이크로 배처.
+ * - 여러 호출자의 키를 window 동안 모아 중복 제거 후 최대 maxBatchSize 단위로 loader 1회 호출
+ * - 결과 Map을 각 대기자에게 분배(결과에 없는 키는 empty)
+ * - 이미 진행 중인 배치에 포함된 키는 새 배치를 만들지 않고 해당 결과에 합류
+ * - 배치 실행 동시성은 concurrency로 제한
+ */
+public final class MicroBatcher<K, V> implements Disposable {
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Function<List<K>, Mono<Map<K, V>>> loader;
+
+    private final Object lock = new Object();
+    private Map<K, Sinks.One<V>> pending = new LinkedHashMap<>();
+    private Disposable flushTimer;
+    private final ConcurrentMap<K, Sinks.One<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Sinks.Many<Map<K, Sinks.One<V>>> batches = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable drain;
+
+    private final AtomicLong requestedKeys = new AtomicLong();
+    private final AtomicLong joinedKeys = new AtomicLong();
+    private final AtomicLong executedBatches = new AtomicLong();
+
+    public MicroBatcher(Duration window, int maxBatchSize, int concurrency, Function<List<K>, Mono<Map<K, V>>> loader) {
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.loader = loader;
+        this.drain = batches.asFlux()
+                .flatMap(this::execute, Math.max(1, concurrency))
+                .subscribe();
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            List<Map<K, Sinks.One<V>>> ready = new ArrayList<>(1);
+            Sinks.One<V> sink = enqueue(key, ready);
+            ready.forEach(this::emit);
+            return sink.asMono();
+        });
+    }
+
+    /** 여러 키를 한 번에 요청. 결과에 없는 키는 Map에서 빠짐 */
+    public Mono<Map<K, V>> loadAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) return Mono.just(Map.of());
+        return Mono.defer(() -> {
+            Map<K, Sinks.One<V>> waiters = new LinkedHashMap<>();
+            List<Map<K, Sinks.One<V>>> ready = new ArrayList<>();
+            for (K key : new LinkedHashSet<>(keys)) {
+                waiters.put(key, enqueue(key, ready));
+            }
+            ready.forEach(this::emit);
+            return Flux.fromIterable(waiters.entrySet())
+                    .flatMap(e -> e.getValue().asMono()
+                            .map(v -> Map.entry(e.getKey(), v))
+                            .onErrorResume(err -> Mono.empty()))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+        });
+    }
+
+    private Sinks.One<V> enqueue(K key, List<Map<K, Sinks.One<V>>> ready) {
+        requestedKeys.incrementAndGet();
+        Sinks.One<V> running = inFlight.get(key);
+        if (running != null) {
+            joinedKeys.incrementAndGet();
+            return running;
+        }
+        synchronized (lock) {
+            Sinks.One<V> sink = pending.get(key);
+            if (sink != null) {
+                joinedKeys.incrementAndGet();
+                return sink;
+            }
+            sink = Sinks.one();
+            pending.put(key, sink);
+            if (pending.size() >= maxBatchSize) {
+                ready.add(swapLocked());
+            } else if (flushTimer == null) {
+                flushTimer = Schedulers.parallel().schedule(this::flushOnTimer, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return sink;
+        }
+    }
+
+    private void flushOnTimer() {
+        Map<K, Sinks.One<V>> batch;
+        synchronized (lock) {
+            flushTimer = null;
+            if (pending.isEmpty()) return;
+            batch = swapLocked();
+        }
+        emit(batch);
+    }
+
+    private Map<K, Sinks.One<V>> swapLocked() {
+        Map<K, Sinks.One<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (flushTimer != null) {
+            flushTimer.dispose();
+            flushTimer = null;
+        }
+        inFlight.putAll(batch);
+        return batch;
+    }
+
+    private void emit(Map<K, Sinks.One<V>> batch) {
+        batches.emitNext(batch, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    private Mono<Void> execute(Map<K, Sinks.One<V>> batch) {
+        executedBatches.incrementAndGet();
+        List<K> keys = new ArrayList<>(batch.keySet());
+        return Mono.defer(() -> loader.apply(keys))
+                .defaultIfEmpty(Map.of())
+                .doOnNext(result -> batch.forEach((k, sink) -> {
+                    V v = result.get(k);
+                    if (v != null) sink.tryEmitValue(v);
+                    else sink.tryEmitEmpty();
+                }))
+                .doOnError(e -> batch.values().forEach(sink -> sink.tryEmitError(e)))
+                .doFinally(sig -> batch.forEach(inFlight::remove))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    public long requestedKeys() { return requestedKeys.get(); }
+
+    /** 대기 중/진행 중 배치에 합류(중복 제거)된 키 수 */
+    public long joinedKeys() { return joinedKeys.get(); }
+
+    public long executedBatches() { return executedBatches.get(); }
+
+    @Override
+    public void dispose() {
+        synchronized (lock) {
+            if (flushTimer != null) flushTimer.dispose();
+        }
+        batches.tryEmitComplete();
+        drain.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return drain.isDisposed();
+    }
+}
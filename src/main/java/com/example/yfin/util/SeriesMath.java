@@ -0,0 +1,133 @@
+package com.example.yfin.util;
+
+import java.util.stream.IntStream;
+
+/**
+ * 가격/수익률 시계열 통계(원시 double[], 결측은 NaN).
+ * - 변동성은 로그수익률 표본 표준편차를 연율화(√252)한 %
+ * - 결측 구간은 건너뛰며, 유효 표본이 부족하면 NaN
+ */
+public final class SeriesMath {
+
+    public static final double TRADING_DAYS = 252.0;
+
+    private SeriesMath() { }
+
+    /** r[i] = ln(p[i] / p[i-1]), r[0]과 결측/비양수 가격이 걸린 구간은 NaN */
+    public static double[] logReturns(double[] prices) {
+        double[] out = new double[prices.length];
+        if (prices.length > 0) out[0] = Double.NaN;
+        for (int i = 1; i < prices.length; i++) {
+            double a = prices[i - 1], b = prices[i];
+            out[i] = a > 0 && b > 0 ? Math.log(b / a) : Double.NaN;
+        }
+        return out;
+    }
+
+    /** 마지막 window개 수익률의 연율화 변동성(%). 유효 표본이 window의 80% 미만이면 NaN */
+    public static double annualizedVolatilityPct(double[] returns, int window) {
+        int from = Math.max(0, returns.length - window);
+        double sd = stdev(returns, from, returns.length);
+        return count(returns, from, returns.length) < window * 0.8 ? Double.NaN : sd * Math.sqrt(TRADING_DAYS) * 100.0;
+    }
+
+    public static double mean(double[] x, int from, int to) {
+        double sum = 0.0;
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(x[i])) continue;
+            sum += x[i];
+            n++;
+        }
+        return n == 0 ? Double.NaN : sum / n;
+    }
+
+    /** 표본 표준편차(n-1) */
+    public static double stdev(double[] x, int from, int to) {
+        double m = mean(x, from, to);
+        if (Double.isNaN(m)) return Double.NaN;
+        double ss = 0.0;
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(x[i])) continue;
+            double d = x[i] - m;
+            ss += d * d;
+            n++;
+        }
+        return n < 2 ? Double.NaN : Math.sqrt(ss / (n - 1));
+    }
+
+    /** 두 수익률 계열이 모두 유효한 위치만 사용한 cov(a, m) / var(m). 표본 2개 미만이면 NaN */
+    public static double beta(double[] asset, double[] market) {
+        int len = Math.min(asset.length, market.length);
+        double sa = 0.0, sm = 0.0;
+        int n = 0;
+        for (int i = 0; i < len; i++) {
+            if (Double.isNaN(asset[i]) || Double.isNaN(market[i])) continue;
+            sa += asset[i];
+            sm += market[i];
+            n++;
+        }
+        if (n < 2) return Double.NaN;
+        double ma = sa / n, mm = sm / n, cov = 0.0, var = 0.0;
+        for (int i = 0; i < len; i++) {
+            if (Double.isNaN(asset[i]) || Double.isNaN(market[i])) continue;
+            cov += (asset[i] - ma) * (market[i] - mm);
+            var += (market[i] - mm) * (market[i] - mm);
+        }
+        return var == 0.0 ? Double.NaN : cov / var;
+    }
+
+    /** [from, to) 구간 최대 낙폭(고점 대비 하락률, 양수 %). 유효 가격이 없으면 NaN */
+    public static double maxDrawdownPct(double[] prices, int from, int to) {
+        double peak = Double.NaN, worst = Double.NaN;
+        for (int i = Math.max(0, from); i < to; i++) {
+            double p = prices[i];
+            if (Double.isNaN(p) || p <= 0) continue;
+            if (Double.isNaN(peak) || p > peak) peak = p;
+            double dd = (peak - p) / peak * 100.0;
+            if (Double.isNaN(worst) || dd > worst) worst = dd;
+        }
+        return worst;
+    }
+
+    /**
+     * 길이가 같은 수익률 계열들의 피어슨 상관 행렬(결측 없는 정렬 배열 가정).
+     * 계열별로 평균 제거·정규화한 뒤 행 단위로 ForkJoin 공통 풀에서 병렬 내적. 분산 0인 계열은 NaN
+     */
+    public static double[][] correlationMatrix(double[][] series) {
+        int k = series.length;
+        double[][] z = new double[k][];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            double[] x = series[i];
+            double m = mean(x, 0, x.length), norm = 0.0;
+            double[] out = new double[x.length];
+            for (int t = 0; t < x.length; t++) {
+                out[t] = x[t] - m;
+                norm += out[t] * out[t];
+            }
+            double inv = norm > 0 ? 1.0 / Math.sqrt(norm) : Double.NaN;
+            for (int t = 0; t < x.length; t++) out[t] *= inv;
+            z[i] = out;
+        });
+        double[][] corr = new double[k][k];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            double[] a = z[i];
+            for (int j = i; j < k; j++) {
+                double[] b = z[j];
+                double dot = 0.0;
+                for (int t = 0; t < a.length; t++) dot += a[t] * b[t];
+                double c = Double.isNaN(dot) ? Double.NaN : Math.max(-1.0, Math.min(1.0, dot));
+                corr[i][j] = c;
+                corr[j][i] = c;
+            }
+        });
+        return corr;
+    }
+
+    private static int count(double[] x, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; i++) if (!Double.isNaN(x[i])) n++;
+        return n;
+    }
+}
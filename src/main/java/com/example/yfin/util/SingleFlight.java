@@ -0,0 +1,53 @@
+package com.example.yfin.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 동일 키에 대한 동시 요청을 하나의 업스트림 Mono로 합치는 in-flight 레지스트리.
+ * - 최초 호출자(leader)만 실제 호출을 구독하고, 진행 중에 들어온 호출자(join)는 같은 결과를 공유
+ * - 완료/오류/취소 시 레지스트리에서 제거되므로 결과 자체를 캐시하지 않음
+ *   (자기 자신일 때만 제거: 늦게 끝난 호출이 같은 키의 새 호출을 지우지 않도록)
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong joins = new AtomicLong();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                joins.incrementAndGet();
+                return existing;
+            }
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> shared = Mono.defer(call)
+                    .doFinally(sig -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(shared);
+            Mono<V> raced = inFlight.putIfAbsent(key, shared);
+            if (raced != null) {
+                joins.incrementAndGet();
+                return raced;
+            }
+            leaders.incrementAndGet();
+            return shared;
+        });
+    }
+
+    /** 실제 업스트림 호출을 수행한 횟수 */
+    public long leaders() { return leaders.get(); }
+
+    /** 진행 중인 호출에 합류한 횟수 */
+    public long joins() { return joins.get(); }
+
+    /** 현재 진행 중인 키 수 */
+    public int inFlightCount() { return inFlight.size(); }
+}
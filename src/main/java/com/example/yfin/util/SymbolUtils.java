@@ -3,10 +3,47 @@ package com.example.yfin.util;
 import com.example.yfin.kis.KisTrId;
 import com.example.yfin.model.ExchangeSuffix;
 
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
 public final class SymbolUtils {
 
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    /** Yahoo 심볼 접미사 → 거래소 시간대 */
+    private static final Map<String, ZoneId> SUFFIX_ZONES = Map.ofEntries(
+            Map.entry("KS", SEOUL), Map.entry("KQ", SEOUL),
+            Map.entry("T", ZoneId.of("Asia/Tokyo")), Map.entry("HK", ZoneId.of("Asia/Hong_Kong")),
+            Map.entry("SS", ZoneId.of("Asia/Shanghai")), Map.entry("SZ", ZoneId.of("Asia/Shanghai")),
+            Map.entry("TW", ZoneId.of("Asia/Taipei")), Map.entry("TWO", ZoneId.of("Asia/Taipei")),
+            Map.entry("NS", ZoneId.of("Asia/Kolkata")), Map.entry("BO", ZoneId.of("Asia/Kolkata")),
+            Map.entry("AX", ZoneId.of("Australia/Sydney")), Map.entry("L", ZoneId.of("Europe/London")),
+            Map.entry("DE", ZoneId.of("Europe/Berlin")), Map.entry("F", ZoneId.of("Europe/Berlin")),
+            Map.entry("PA", ZoneId.of("Europe/Paris")), Map.entry("AS", ZoneId.of("Europe/Amsterdam")),
+            Map.entry("TO", ZoneId.of("America/Toronto")), Map.entry("V", ZoneId.of("America/Toronto")));
+
     private SymbolUtils() {}
 
+    /**
+     * 거래일 경계 계산용 거래소 시간대.
+     * - 접미사로 판별(KS/KQ/T/HK/L 등), 국내 지수(^KS11/^KQ11)는 서울
+     * - 통화(=X)/암호화폐(-USD 등)는 UTC, 그 외 접미사 없는 심볼은 뉴욕
+     */
+    public static ZoneId exchangeZone(String symbol) {
+        if (symbol == null || symbol.isBlank()) return NEW_YORK;
+        String s = symbol.trim().toUpperCase();
+        if (s.startsWith("^KS") || s.startsWith("^KQ")) return SEOUL;
+        if (s.endsWith("=X") || s.matches("[A-Z0-9]+-[A-Z]{3,4}")) return ZoneOffset.UTC;
+        int dot = s.lastIndexOf('.');
+        if (dot > 0 && dot + 1 < s.length()) {
+            ZoneId z = SUFFIX_ZONES.get(s.substring(dot + 1));
+            if (z != null) return z;
+        }
+        return NEW_YORK;
+    }
+
     /**
      * 심볼에 기반해 KIS WS TR ID를 결정합니다.
      * - 접미사 KS/KQ 또는 숫자-only이면 국내 체결가(H0STCNT0)
@@ -0,0 +1,32 @@
+package com.example.yfin.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CookieStoreTest {
+
+    @Test
+    void deleteCookiesRemoveEntryInsteadOfPinningEarliestExpiry() {
+        CookieStore store = new CookieStore();
+        assertTrue(store.putSetCookie("A1=abc; Max-Age=3600; Path=/"));
+        assertTrue(store.putSetCookie("B=x; Path=/"));
+        long a1Expiry = store.earliestExpiryEpochMs();
+
+        assertFalse(store.putSetCookie("A3=gone; Max-Age=0; Path=/"));
+        assertFalse(store.putSetCookie("B=; Expires=Thu, 01 Jan 1970 00:00:00 GMT; Path=/"));
+
+        assertEquals("A1=abc", store.asCookieHeader());
+        assertEquals(a1Expiry, store.earliestExpiryEpochMs());
+        assertTrue(store.earliestExpiryEpochMs() > System.currentTimeMillis());
+    }
+
+    @Test
+    void maxAgeTakesPrecedenceOverExpires() {
+        long now = 1_700_000_000_000L;
+        assertEquals(now + 60_000L, CookieStore.extractExpiry("A=1; Expires=Thu, 01 Jan 1970 00:00:00 GMT; Max-Age=60", now));
+        assertEquals(0L, CookieStore.extractExpiry("A=1; Path=/", now));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.yfin.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateGovernorTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void burstIsFreeThenCallsArePacedAtConfiguredRate() {
+        AtomicLong now = new AtomicLong();
+        RateGovernor governor = new RateGovernor(10, 2, 1, 4, now::get);
+
+        assertEquals(0L, governor.reserve("h"));
+        assertEquals(0L, governor.reserve("h"));
+        // 버스트 소진 후 토큰마다 1/10초씩 뒤로 예약
+        assertEquals(100 * MS, governor.reserve("h"));
+        assertEquals(200 * MS, governor.reserve("h"));
+
+        // 150ms 경과로 1.5개 충전: 대기 0.5개 → 1.5개분
+        now.addAndGet(150 * MS);
+        assertEquals(150 * MS, governor.reserve("h"));
+
+        // 호스트별 독립 예산, 대기 없는 예약은 즉시 완료
+        assertEquals(0L, governor.reserve("other"));
+        governor.acquire("other").block(Duration.ofSeconds(1));
+        assertEquals(4, governor.maxConcurrency());
+    }
+
+    @Test
+    void throttlingDropsRemainingBurst() {
+        AtomicLong now = new AtomicLong();
+        RateGovernor governor = new RateGovernor(10, 2, 1, 4, now::get);
+        governor.onThrottled("h");
+        // 버스트 제거 + 속도 5/s
+        assertEquals(200 * MS, governor.reserve("h"));
+    }
+
+    @Test
+    void throttlingHalvesRateDownToFloorAndSuccessRecoversGradually() {
+        RateGovernor governor = new RateGovernor(10, 2, 1, 4);
+        governor.onThrottled("h");
+        assertEquals(5.0, rate(governor, "h"), 1e-9);
+        governor.onThrottled("h");
+        governor.onThrottled("h");
+        governor.onThrottled("h");
+        assertEquals(1.0, rate(governor, "h"), 1e-9);
+        assertEquals(4L, governor.stats().get("h").get("throttled"));
+
+        governor.onSuccess("h");
+        assertEquals(1.5, rate(governor, "h"), 1e-9);
+        for (int i = 0; i < 100; i++) governor.onSuccess("h");
+        assertEquals(10.0, rate(governor, "h"), 1e-9);
+
+        // 호스트별 독립 예산
+        governor.onSuccess("other");
+        assertEquals(10.0, rate(governor, "other"), 1e-9);
+    }
+
+    private static double rate(RateGovernor governor, String host) {
+        Map<String, Object> s = governor.stats().get(host);
+        return (Double) s.get("permitsPerSecond");
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.model.HistorySeries;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChartDecoderTest {
+
+    private static ChartData decode(String json) throws IOException {
+        return YahooFixtures.decode(ChartDecoder.INSTANCE, json);
+    }
+
+    @Test
+    void decodesBarsAndEventsSkippingMetaAndAdjclose() throws IOException {
+        ChartData cd = decode(YahooFixtures.load("chart-aapl-1d.json"));
+        HistorySeries s = cd.series();
+
+        assertArrayEquals(new long[]{1716471000, 1716557400, 1716903000, 1716989400}, s.epochSec());
+        assertArrayEquals(new double[]{190.98, 188.82, 191.51, 189.61}, s.open(), 0);
+        assertArrayEquals(new double[]{186.03, 186.48, 188.99, 189.56}, s.low(), 0);
+        // null 종가는 NaN, null 거래량은 MISSING_VOLUME
+        assertEquals(186.88, s.closeAt(0), 0);
+        assertTrue(Double.isNaN(s.closeAt(1)));
+        assertEquals(190.29, s.closeAt(3), 0);
+        assertArrayEquals(new long[]{51005900, HistorySeries.MISSING_VOLUME, 52280100, 53068000}, s.volume());
+
+        // 배당은 날짜 오름차순
+        assertEquals(2, cd.dividends().size());
+        assertEquals(Instant.ofEpochSecond(1707489000), cd.dividends().get(0).getDate());
+        assertEquals(0.24, cd.dividends().get(0).getAmount(), 0);
+        assertEquals(0.25, cd.dividends().get(1).getAmount(), 0);
+        assertEquals(1, cd.splits().size());
+        assertEquals(new ChartData.Split(1598880600, 4, 1), cd.splits().get(0));
+    }
+
+    @Test
+    void missingEventsAndColumnsAreFilledNotFailed() throws IOException {
+        ChartData cd = decode("""
+                {"chart":{"result":[{"timestamp":[100,200,300],
+                  "indicators":{"quote":[{"close":[1.5,null],"unknown":{"x":[1,2]}}]}}],"error":null}}
+                """);
+        assertTrue(cd.dividends().isEmpty());
+        assertTrue(cd.splits().isEmpty());
+        HistorySeries s = cd.series();
+        assertEquals(3, s.size());
+        assertEquals(1.5, s.closeAt(0), 0);
+        // 짧은 컬럼/없는 컬럼은 NaN·MISSING_VOLUME으로 채움
+        assertTrue(Double.isNaN(s.closeAt(1)));
+        assertTrue(Double.isNaN(s.closeAt(2)));
+        assertTrue(Double.isNaN(s.openAt(0)));
+        assertEquals(HistorySeries.MISSING_VOLUME, s.volumeAt(2));
+    }
+
+    @Test
+    void unknownFieldsAndNonObjectEventsAreSkipped() throws IOException {
+        ChartData cd = decode("""
+                {"extra":[{"a":1}],"chart":{"note":"x","result":[{"meta":{"a":{"b":[1,{"c":2}]}},
+                  "events":{"earnings":{"1":{"date":1}},"dividends":{"200":{"amount":{"raw":0.5,"fmt":"0.50"},"date":200},"bad":3,
+                    "300":{"amount":0.6}}},
+                  "timestamp":[200],"indicators":{"adjclose":[{"adjclose":[1]}],"quote":[{"close":[2.0]},{"close":[9.0]}]},
+                  "comparisons":[]}]}}
+                """);
+        assertEquals(1, cd.series().size());
+        assertEquals(2.0, cd.series().closeAt(0), 0);
+        // date 없는 배당은 제외, {raw, fmt} 금액은 raw
+        assertEquals(1, cd.dividends().size());
+        assertEquals(0.5, cd.dividends().get(0).getAmount(), 0);
+    }
+
+    @Test
+    void errorPayloadsDecodeToEmpty() throws IOException {
+        ChartData notFound = decode("""
+                {"chart":{"result":null,"error":{"code":"Not Found","description":"No data found, symbol may be delisted"}}}
+                """);
+        assertTrue(notFound.series().isEmpty());
+        assertTrue(notFound.dividends().isEmpty());
+
+        assertTrue(decode("{\"chart\":{\"error\":{\"code\":\"Bad Request\"},\"result\":[]}}").series().isEmpty());
+        assertTrue(decode("{\"finance\":{\"result\":null,\"error\":{\"code\":\"Unauthorized\"}}}").series().isEmpty());
+        assertTrue(decode("[]").series().isEmpty());
+        // 시계열 없이 이벤트만 있는 경우
+        ChartData noQuote = decode("{\"chart\":{\"result\":[{\"timestamp\":[1],\"events\":{\"splits\":{\"1\":{\"date\":1,\"numerator\":2,\"denominator\":1}}}}]}}");
+        assertTrue(noQuote.series().isEmpty());
+        assertEquals(1, noQuote.splits().size());
+    }
+}
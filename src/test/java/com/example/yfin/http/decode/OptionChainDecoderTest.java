@@ -0,0 +1,83 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.model.OptionRow;
+import com.example.yfin.model.OptionType;
+import com.example.yfin.model.OptionsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptionChainDecoderTest {
+
+    private static OptionsResponse decode(String json) throws IOException {
+        return YahooFixtures.decode(OptionChainDecoder.INSTANCE, json);
+    }
+
+    @Test
+    void decodesCallsAndPutsFromFirstExpiration() throws IOException {
+        OptionsResponse res = decode(YahooFixtures.load("options-aapl.json"));
+        Instant expiry = Instant.ofEpochSecond(1718323200);
+
+        assertEquals(2, res.getCalls().size());
+        OptionRow c = res.getCalls().get(0);
+        assertEquals(OptionType.CALL, c.getType());
+        assertEquals(180.0, c.getStrike(), 0);
+        assertEquals(12.6, c.getLastPrice(), 0);
+        assertEquals(12.4, c.getBid(), 0);
+        assertEquals(12.75, c.getAsk(), 0);
+        assertEquals(112L, c.getVolume());
+        assertEquals(5371L, c.getOpenInterest());
+        assertEquals(0.2749, c.getImpliedVolatility(), 0);
+        assertEquals(expiry, c.getExpiration());
+
+        // 행에 만기가 없으면 options[0].expirationDate로 보완, 없는 필드는 null
+        OptionRow sparse = res.getCalls().get(1);
+        assertEquals(expiry, sparse.getExpiration());
+        assertNull(sparse.getVolume());
+        assertNull(sparse.getOpenInterest());
+    }
+
+    @Test
+    void rawFmtObjectsAndPlainNumbersDecodeAlike() throws IOException {
+        OptionsResponse res = decode(YahooFixtures.load("options-aapl.json"));
+        assertEquals(1, res.getPuts().size());
+        OptionRow p = res.getPuts().get(0);
+        assertEquals(OptionType.PUT, p.getType());
+        assertEquals(180.0, p.getStrike(), 0);
+        assertEquals(0.21, p.getLastPrice(), 0);
+        assertEquals(3120L, p.getVolume());
+        assertEquals(10488L, p.getOpenInterest());
+        assertEquals(Instant.ofEpochSecond(1718323200), p.getExpiration());
+    }
+
+    @Test
+    void unknownFieldsAndNonObjectRowsAreSkipped() throws IOException {
+        OptionsResponse res = decode("""
+                {"optionChain":{"result":[{"quote":{"a":[1,2]},"options":[{"straddles":[{"x":1}],
+                  "calls":[null,7,{"strike":5,"greeks":{"delta":0.5},"inTheMoney":true}],"puts":{}}]}]}}
+                """);
+        assertEquals(1, res.getCalls().size());
+        assertEquals(5.0, res.getCalls().get(0).getStrike(), 0);
+        assertNull(res.getCalls().get(0).getExpiration());
+        assertTrue(res.getPuts().isEmpty());
+    }
+
+    @Test
+    void errorPayloadsDecodeToEmptyChains() throws IOException {
+        OptionsResponse notFound = decode("{\"optionChain\":{\"result\":[],\"error\":null}}");
+        assertTrue(notFound.getCalls().isEmpty());
+        assertTrue(notFound.getPuts().isEmpty());
+
+        OptionsResponse noOptions = decode("{\"optionChain\":{\"result\":[{\"underlyingSymbol\":\"X\",\"options\":[]}]}}");
+        assertTrue(noOptions.getCalls().isEmpty());
+
+        OptionsResponse unauthorized = decode("{\"finance\":{\"result\":null,\"error\":{\"code\":\"Unauthorized\",\"description\":\"Invalid Crumb\"}}}");
+        assertTrue(unauthorized.getCalls().isEmpty());
+        assertTrue(unauthorized.getPuts().isEmpty());
+    }
+}
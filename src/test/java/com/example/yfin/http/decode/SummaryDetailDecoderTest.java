@@ -0,0 +1,48 @@
+package com.example.yfin.http.decode;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummaryDetailDecoderTest {
+
+    private static Map<String, Double> decode(String json) throws IOException {
+        return YahooFixtures.decode(SummaryDetailDecoder.INSTANCE, json);
+    }
+
+    @Test
+    void rawFmtObjectsAndPlainNumbersAreFlattened() throws IOException {
+        Map<String, Double> m = decode(YahooFixtures.load("summary-detail-jepi.json"));
+
+        assertEquals(4.77, m.get("dividendRate"), 0);
+        // fmt("8.34%")가 아니라 raw
+        assertEquals(0.0834, m.get("dividendYield"), 0);
+        assertEquals(0.0812, m.get("trailingAnnualDividendYield"), 0);
+        assertEquals(1714521600.0, m.get("exDividendDate"), 0);
+        assertEquals(1.0, m.get("maxAge"), 0);
+        assertEquals(57.2, m.get("navPrice"), 0);
+    }
+
+    @Test
+    void nonNumericAndEmptyValuesAreSkipped() throws IOException {
+        Map<String, Double> m = decode(YahooFixtures.load("summary-detail-jepi.json"));
+        assertFalse(m.containsKey("currency"));
+        assertFalse(m.containsKey("tradeable"));
+        assertFalse(m.containsKey("fromCurrency"));
+        assertFalse(m.containsKey("trailingAnnualDividendRate"));
+        // 다른 모듈(price)은 읽지 않음
+        assertFalse(m.containsKey("regularMarketPrice"));
+    }
+
+    @Test
+    void errorPayloadsDecodeToEmptyMap() throws IOException {
+        assertTrue(decode("{\"quoteSummary\":{\"result\":null,\"error\":{\"code\":\"Not Found\",\"description\":\"Quote not found\"}}}").isEmpty());
+        assertTrue(decode("{\"quoteSummary\":{\"result\":[{\"price\":{}}],\"error\":null}}").isEmpty());
+        assertTrue(decode("{\"finance\":{\"error\":{\"code\":\"Unauthorized\"}}}").isEmpty());
+    }
+}
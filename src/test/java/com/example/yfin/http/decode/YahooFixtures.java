@@ -0,0 +1,34 @@
+package com.example.yfin.http.decode;
+
+import com.example.yfin.http.YahooDecoder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/** src/test/resources/yahoo 응답 픽스처를 YahooApiClient와 같은 방식(루트 토큰 위치)으로 디코딩 */
+final class YahooFixtures {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private YahooFixtures() { }
+
+    static String load(String name) {
+        try (InputStream in = YahooFixtures.class.getResourceAsStream("/yahoo/" + name)) {
+            if (in == null) throw new IllegalArgumentException("no fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static <T> T decode(YahooDecoder<T> decoder, String json) throws IOException {
+        try (JsonParser p = JSON.createParser(json)) {
+            p.nextToken();
+            return decoder.decode(p);
+        }
+    }
+}
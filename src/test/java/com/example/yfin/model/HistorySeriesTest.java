@@ -0,0 +1,141 @@
+package com.example.yfin.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistorySeriesTest {
+
+    // RedisConfig.objectMapper와 같은 설정(ISO-8601 시각)
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static HistorySeries sample() {
+        return new HistorySeries(
+                new long[]{1716471000, 1716557400, 1716903000},
+                new double[]{190.98, 188.82, Double.NaN},
+                new double[]{190.58, 190.0, 193.0},
+                new double[]{186.03, 186.48, 188.99},
+                new double[]{186.88, Double.NaN, 189.99},
+                new long[]{51005900, HistorySeries.MISSING_VOLUME, 0});
+    }
+
+    @Test
+    void rowsJsonMatchesHistoryRowListShape() throws Exception {
+        HistorySeries s = sample();
+        HistoryResponse res = new HistoryResponse();
+        res.setTicker("AAPL");
+        res.setRange("5d");
+        res.setInterval("1d");
+        res.setSeries(s);
+
+        // 컬럼 전환 전 응답: HistoryRow 리스트를 rows로 직렬화
+        Map<String, Object> before = new LinkedHashMap<>();
+        before.put("ticker", "AAPL");
+        before.put("range", "5d");
+        before.put("interval", "1d");
+        before.put("rows", s.toRows());
+
+        assertEquals(mapper.readTree(mapper.writeValueAsString(before)), mapper.readTree(mapper.writeValueAsString(res)));
+        assertEquals(mapper.writeValueAsString(s.toRows()), mapper.writeValueAsString(s));
+        assertEquals("[{\"time\":\"2024-05-24T13:30:00Z\",\"open\":188.82,\"high\":190.0,\"low\":186.48,\"close\":null,\"volume\":null}]",
+                mapper.writeValueAsString(s.slice(1, 2)));
+        assertEquals("[]", mapper.writeValueAsString(HistorySeries.empty()));
+    }
+
+    @Test
+    void rowsJsonDeserializesBackToColumns() throws Exception {
+        HistorySeries s = sample();
+        HistoryResponse back = mapper.readValue(mapper.writeValueAsString(responseOf(s)), HistoryResponse.class);
+        assertColumns(s, back.getSeries());
+
+        // 에포크 초 time, 누락/알 수 없는 필드, 객체가 아닌 요소, time 없는 행
+        HistorySeries loose = mapper.readValue("""
+                [{"time":100,"close":1.5,"adjclose":{"x":1}},7,{"open":2},{"time":"1970-01-01T00:03:20Z","volume":5}]
+                """, HistorySeries.class);
+        assertArrayEquals(new long[]{100, 200}, loose.epochSec());
+        assertEquals(1.5, loose.closeAt(0), 0);
+        assertTrue(Double.isNaN(loose.openAt(0)));
+        assertArrayEquals(new long[]{HistorySeries.MISSING_VOLUME, 5}, loose.volume());
+
+        assertNull(mapper.readValue("{\"rows\":null}", HistoryResponse.class).getSeries());
+    }
+
+    @Test
+    void sliceClampsBoundsAndCopies() {
+        HistorySeries s = sample();
+        assertSame(s, s.slice(0, s.size()));
+        assertSame(s, s.slice(-5, 99));
+        assertSame(HistorySeries.empty(), s.slice(2, 2));
+        assertSame(HistorySeries.empty(), s.slice(3, 1));
+        assertSame(HistorySeries.empty(), s.slice(5, 9));
+
+        HistorySeries tail = s.slice(1, 99);
+        assertArrayEquals(new long[]{1716557400, 1716903000}, tail.epochSec());
+        assertArrayEquals(new double[]{190.0, 193.0}, tail.high(), 0);
+        tail.high()[0] = -1;
+        assertEquals(190.0, s.highAt(1), 0);
+    }
+
+    @Test
+    void builderGrowsPastCapacityAndTrims() {
+        HistorySeries.Builder b = new HistorySeries.Builder(1);
+        for (int i = 0; i < 20; i++) b.add(i, i, i + 1, i - 1, i + 0.5, i * 10L);
+        HistorySeries s = b.build();
+        assertEquals(20, s.size());
+        assertEquals(20, s.close().length);
+        assertEquals(19.5, s.closeAt(19), 0);
+        assertEquals(190L, s.volumeAt(19));
+
+        assertSame(HistorySeries.empty(), new HistorySeries.Builder(16).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> new HistorySeries(new long[2], new double[2], new double[2], new double[1], new double[2], new long[2]));
+    }
+
+    @Test
+    void rowsRoundTripThroughHistoryRow() {
+        HistorySeries s = sample();
+        List<HistoryRow> rows = new ArrayList<>(s.toRows());
+        assertEquals(Instant.ofEpochSecond(1716471000), rows.get(0).getTime());
+        assertNull(rows.get(1).getClose());
+        assertNull(rows.get(1).getVolume());
+        assertEquals(0L, rows.get(2).getVolume());
+
+        rows.add(1, null);
+        rows.add(new HistoryRow());
+        assertColumns(s, HistorySeries.fromRows(rows));
+        assertSame(HistorySeries.empty(), HistorySeries.fromRows(List.of()));
+    }
+
+    private static HistoryResponse responseOf(HistorySeries s) {
+        HistoryResponse res = new HistoryResponse();
+        res.setTicker("AAPL");
+        res.setSeries(s);
+        return res;
+    }
+
+    private static void assertColumns(HistorySeries expected, HistorySeries actual) {
+        assertArrayEquals(expected.epochSec(), actual.epochSec());
+        assertEquals(Arrays.toString(expected.open()), Arrays.toString(actual.open()));
+        assertEquals(Arrays.toString(expected.high()), Arrays.toString(actual.high()));
+        assertEquals(Arrays.toString(expected.low()), Arrays.toString(actual.low()));
+        assertEquals(Arrays.toString(expected.close()), Arrays.toString(actual.close()));
+        assertArrayEquals(expected.volume(), actual.volume());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.yfin.service.cache;
+
+import com.example.yfin.config.CachePolicyProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwrCacheTest {
+
+    private static final TypeReference<SwrEntry<String>> TYPE = new TypeReference<>() {};
+
+    /** Redis 없이 동작하는 L2(항상 미스) */
+    private static final class NoopL2 extends RedisCacheService {
+        NoopL2() { super(null, null); }
+        @Override public <T> Mono<T> get(String key, TypeReference<T> type) { return Mono.empty(); }
+        @Override public Mono<Boolean> set(String key, Object value, Duration ttl) { return Mono.just(true); }
+        @Override public <T> Mono<Map<String, T>> getAll(Collection<String> keys, TypeReference<T> type) { return Mono.just(Map.of()); }
+        @Override public Mono<Long> setAll(Map<String, ?> values, Duration ttl) { return Mono.just((long) values.size()); }
+    }
+
+    private static SwrCache cache(Duration soft, Duration hard) {
+        CachePolicyProperties props = new CachePolicyProperties();
+        CachePolicyProperties.Policy p = new CachePolicyProperties.Policy();
+        p.setTtl(hard);
+        p.setRefreshAfterWrite(soft);
+        p.setMaxSize(100L);
+        props.getPolicies().put("t", p);
+        return new SwrCache(new NoopL2(), props, new ObjectMapper());
+    }
+
+    @Test
+    void staleValueIsServedImmediatelyWhileRefreshRunsInBackground() throws InterruptedException {
+        SwrCache swr = cache(Duration.ofMillis(50), Duration.ofSeconds(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", swr.get("t", "k", TYPE, () -> Mono.just("v" + loads.incrementAndGet())).block());
+        assertEquals("v1", swr.get("t", "k", TYPE, () -> Mono.just("v" + loads.incrementAndGet())).block());
+        assertEquals(1, loads.get());
+
+        Thread.sleep(80);
+        CacheStatus status = new CacheStatus();
+        String stale = swr.get("t", "k", TYPE, () -> Mono.just("v" + loads.incrementAndGet()))
+                .contextWrite(ctx -> ctx.put(CacheStatus.class, status))
+                .block();
+        assertEquals("v1", stale);
+        assertTrue(status.isStale());
+
+        // 백그라운드 갱신 결과가 다음 요청부터 보임
+        long deadline = System.currentTimeMillis() + 2_000;
+        String next = stale;
+        while ("v1".equals(next) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            next = swr.get("t", "k", TYPE, () -> Mono.just("v" + loads.incrementAndGet())).block();
+        }
+        assertEquals("v2", next);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void expiredValueWaitsForLoader() throws InterruptedException {
+        SwrCache swr = cache(Duration.ofMillis(20), Duration.ofMillis(60));
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("v1", swr.get("t", "k", TYPE, () -> Mono.just("v" + loads.incrementAndGet())).block());
+
+        Thread.sleep(100);
+        CacheStatus status = new CacheStatus();
+        String v = swr.get("t", "k", TYPE, () -> Mono.just("v" + loads.incrementAndGet()))
+                .contextWrite(ctx -> ctx.put(CacheStatus.class, status))
+                .block();
+        assertEquals("v2", v);
+        assertFalse(status.isStale());
+    }
+
+    @Test
+    void getAllLoadsOnlyMissingKeysInOneCall() {
+        SwrCache swr = cache(Duration.ofSeconds(10), Duration.ofSeconds(20));
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        java.util.function.Function<List<String>, Mono<Map<String, String>>> loader = keys -> {
+            calls.add(keys);
+            Map<String, String> out = new LinkedHashMap<>();
+            for (String k : keys) if (!k.equals("none")) out.put(k, k.toUpperCase());
+            return Mono.just(out);
+        };
+
+        assertEquals(Map.of("a", "A"), swr.getAll("t", List.of("a", "none"), TYPE, loader).block());
+        assertEquals(Map.of("a", "A", "b", "B"), swr.getAll("t", List.of("a", "b", "b"), TYPE, loader).block());
+        assertEquals(List.of(List.of("a", "none"), List.of("b")), calls);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.yfin.service.cache.codec;
+
+import com.example.yfin.config.CachePolicyProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class L2ValueCodecTest {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private L2ValueCodec codec(CachePolicyProperties props) {
+        return new L2ValueCodec(props, mapper, List.of(new JsonCacheCodec(mapper), new SmileCacheCodec(mapper)));
+    }
+
+    private static Map<String, Object> rows(int n) {
+        List<Map<String, Object>> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("date", "2024-01-" + (i % 28 + 1));
+            r.put("close", 100 + i % 7);
+            r.put("volume", 1_000 * i);
+            rows.add(r);
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("ticker", "AAPL");
+        m.put("rows", rows);
+        return m;
+    }
+
+    @Test
+    void smallValueIsFramedWithoutCompression() throws IOException {
+        L2ValueCodec c = codec(new CachePolicyProperties());
+        Map<String, Object> value = rows(3);
+        byte[] raw = c.encode("history:AAPL", value);
+
+        assertEquals(L2ValueCodec.MAGIC_0, raw[0]);
+        assertEquals(L2ValueCodec.MAGIC_1, raw[1]);
+        assertEquals(L2ValueCodec.VERSION, raw[2]);
+        assertEquals(SmileCacheCodec.ID, raw[3]);
+        assertEquals(0, raw[4]);
+        assertEquals(value, c.decode(raw, MAP));
+    }
+
+    @Test
+    void valueAboveThresholdIsLz4CompressedAndRoundTrips() throws IOException {
+        L2ValueCodec c = codec(new CachePolicyProperties());
+        Map<String, Object> value = rows(2_000);
+        byte[] plain = new SmileCacheCodec(mapper).encode(value);
+        byte[] raw = c.encode("history:AAPL", value);
+
+        assertTrue(plain.length >= DataSize.ofKilobytes(2).toBytes());
+        assertEquals(L2ValueCodec.FLAG_LZ4, raw[4]);
+        assertTrue(raw.length < plain.length, raw.length + " vs " + plain.length);
+        int originalLength = ((raw[5] & 0xFF) << 24) | ((raw[6] & 0xFF) << 16) | ((raw[7] & 0xFF) << 8) | (raw[8] & 0xFF);
+        assertEquals(plain.length, originalLength);
+        assertEquals(value, c.decode(raw, MAP));
+    }
+
+    @Test
+    void incompressiblePayloadStaysUncompressed() throws IOException {
+        byte[] noise = new byte[8_192];
+        new Random(7).nextBytes(noise);
+        CachePolicyProperties props = new CachePolicyProperties();
+        props.getL2().setCompressAbove(DataSize.ofBytes(16));
+        L2ValueCodec c = codec(props);
+
+        Map<String, Object> value = Map.of("blob", Base64.getEncoder().encodeToString(noise));
+        byte[] raw = c.encode("quotes:AAPL", value);
+        // 난수 base64는 LZ4로 원본보다 작아지지 않음
+        assertEquals(0, raw[4]);
+        assertEquals(value, c.decode(raw, MAP));
+    }
+
+    @Test
+    void codecIsChosenByKeyPrefixWithJsonFallback() throws IOException {
+        CachePolicyProperties props = new CachePolicyProperties();
+        props.getL2().getCodecs().put("quotes", "json");
+        props.getL2().getCodecs().put("options", "no-such-codec");
+        L2ValueCodec c = codec(props);
+
+        byte[] quotes = c.encode("quotes:AAPL", Map.of("symbol", "AAPL"));
+        assertEquals(JsonCacheCodec.ID, quotes[3]);
+        assertEquals("{\"symbol\":\"AAPL\"}", new String(quotes, 5, quotes.length - 5, StandardCharsets.UTF_8));
+
+        assertEquals(JsonCacheCodec.ID, c.encode("options:AAPL", Map.of("a", 1))[3]);
+        assertEquals(SmileCacheCodec.ID, c.encode("history:AAPL", Map.of("a", 1))[3]);
+        assertEquals(SmileCacheCodec.ID, c.encode("nokey", Map.of("a", 1))[3]);
+    }
+
+    @Test
+    void legacyPlainJsonValuesAreStillReadable() throws IOException {
+        L2ValueCodec c = codec(new CachePolicyProperties());
+        byte[] legacy = "{\"symbol\":\"AAPL\",\"regularMarketPrice\":190}".getBytes(StandardCharsets.UTF_8);
+
+        Map<String, Object> out = c.decode(legacy, MAP);
+        assertEquals("AAPL", out.get("symbol"));
+        assertEquals(190, out.get("regularMarketPrice"));
+        assertNull(c.decode(new byte[0], MAP));
+        assertNull(c.decode(null, MAP));
+    }
+
+    @Test
+    void framesFromUnknownCodecOrVersionAreRejected() throws IOException {
+        L2ValueCodec c = codec(new CachePolicyProperties());
+        byte[] raw = c.encode("history:AAPL", Map.of("a", 1));
+
+        byte[] unknownCodec = raw.clone();
+        unknownCodec[3] = 99;
+        assertThrows(IOException.class, () -> c.decode(unknownCodec, MAP));
+
+        byte[] futureVersion = raw.clone();
+        futureVersion[2] = (byte) (L2ValueCodec.VERSION + 1);
+        assertThrows(IOException.class, () -> c.decode(futureVersion, MAP));
+    }
+
+    @Test
+    void duplicateCodecIdsAreRejectedAndJsonIsAlwaysAvailable() throws IOException {
+        assertThrows(IllegalStateException.class, () -> new L2ValueCodec(new CachePolicyProperties(), mapper,
+                List.of(new JsonCacheCodec(mapper), new JsonCacheCodec(mapper))));
+
+        // json 빈 없이도 기존 값 읽기/폴백용 json 코덱 보장
+        L2ValueCodec smileOnly = new L2ValueCodec(new CachePolicyProperties(), mapper, List.of(new SmileCacheCodec(mapper)));
+        CachePolicyProperties props = new CachePolicyProperties();
+        props.getL2().setCodec("json");
+        L2ValueCodec jsonOnly = new L2ValueCodec(props, mapper, List.of());
+        byte[] raw = jsonOnly.encode("quotes:AAPL", Map.of("a", 1));
+        assertEquals(JsonCacheCodec.ID, raw[3]);
+        assertEquals(Map.of("a", 1), smileOnly.decode(raw, MAP));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.yfin.service.dividend;
+
+import com.example.yfin.model.DivRow;
+import com.example.yfin.model.calendar.CalendarResponse;
+import com.example.yfin.model.common.FormattedDate;
+import com.example.yfin.model.dividend.DividendSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DividendProjectorTest {
+
+    private static final int DEFAULT_LAG = 10;
+
+    private static Instant day(int y, int m, int d) {
+        return LocalDate.of(y, m, d).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static DivRow div(Instant exDate, double amount) {
+        DivRow r = new DivRow();
+        r.setDate(exDate);
+        r.setAmount(amount);
+        return r;
+    }
+
+    private static FormattedDate fd(Instant t) {
+        FormattedDate f = new FormattedDate();
+        f.setRaw(t.getEpochSecond());
+        return f;
+    }
+
+    private static CalendarResponse calendar(Instant exDate, Instant payDate) {
+        CalendarResponse c = new CalendarResponse();
+        c.setExDividendDate(fd(exDate));
+        c.setDividendDate(fd(payDate));
+        return c;
+    }
+
+    // 2023~2024 분기 배당(2024년 인상분 0.25)
+    private static List<DivRow> quarterly() {
+        return List.of(
+                div(day(2023, 2, 10), 0.24), div(day(2023, 5, 12), 0.24),
+                div(day(2023, 8, 11), 0.24), div(day(2023, 11, 10), 0.24),
+                div(day(2024, 2, 9), 0.25), div(day(2024, 5, 10), 0.25),
+                div(day(2024, 8, 9), 0.25), div(day(2024, 11, 8), 0.25));
+    }
+
+    private static List<Instant> exDates(DividendSchedule s) {
+        List<Instant> out = new ArrayList<>();
+        for (DividendSchedule.Payment p : s.getPayments()) out.add(p.getExDate());
+        return out;
+    }
+
+    @Test
+    void quarterlyHistoryRollsLastCycleForwardOneYear() {
+        DividendSchedule s = DividendProjector.infer("KO", quarterly(), null, day(2024, 12, 1), DEFAULT_LAG);
+
+        assertEquals(4, s.getFrequency());
+        assertEquals(day(2024, 11, 8), s.getLastExDate());
+        assertEquals(1.0, s.getTtmAmount(), 1e-12);
+        assertEquals(List.of(day(2025, 2, 9), day(2025, 5, 10), day(2025, 8, 9), day(2025, 11, 8)), exDates(s));
+        assertEquals(day(2025, 2, 9), s.getNextExDate());
+        assertFalse(s.isConfirmed());
+
+        DividendSchedule.Payment first = s.getPayments().get(0);
+        assertEquals(0.25, first.getAmount(), 0);
+        assertEquals(DEFAULT_LAG, s.getPayLagDays());
+        assertEquals(day(2025, 2, 19), first.getPayDate());
+    }
+
+    @Test
+    void calendarExDateReplacesNearestEstimateAndSetsPayLag() {
+        CalendarResponse cal = calendar(day(2025, 2, 7), day(2025, 2, 13));
+        DividendSchedule s = DividendProjector.infer("KO", quarterly(), cal, day(2024, 12, 1), DEFAULT_LAG);
+
+        assertEquals(6, s.getPayLagDays());
+        assertEquals(List.of(day(2025, 2, 7), day(2025, 5, 10), day(2025, 8, 9), day(2025, 11, 8)), exDates(s));
+        assertEquals(day(2025, 2, 7), s.getNextExDate());
+        assertTrue(s.isConfirmed());
+        assertEquals(day(2025, 2, 13), s.getPayments().get(0).getPayDate());
+        assertEquals(0.25, s.getPayments().get(0).getAmount(), 0);
+    }
+
+    @Test
+    void frequencyFollowsMedianGap() {
+        List<DivRow> monthly = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) monthly.add(div(day(2024, m, 15), 0.1));
+        assertEquals(12, DividendProjector.infer("O", monthly, null, day(2024, 12, 20), DEFAULT_LAG).getFrequency());
+
+        List<DivRow> semi = List.of(div(day(2023, 3, 1), 1), div(day(2023, 9, 1), 1), div(day(2024, 3, 1), 1));
+        assertEquals(2, DividendProjector.infer("X", semi, null, day(2024, 4, 1), DEFAULT_LAG).getFrequency());
+
+        // 1건이면 연 1회
+        DividendSchedule single = DividendProjector.infer("Y", List.of(div(day(2024, 6, 3), 2)), null, day(2024, 7, 1), DEFAULT_LAG);
+        assertEquals(1, single.getFrequency());
+        assertEquals(List.of(day(2025, 6, 3)), exDates(single));
+
+        // 간격이 450일을 넘으면 불규칙: 추정 지급 없음
+        List<DivRow> irregular = List.of(div(day(2021, 1, 4), 1), div(day(2022, 9, 1), 1), div(day(2024, 5, 2), 1));
+        DividendSchedule s = DividendProjector.infer("Z", irregular, null, day(2024, 6, 1), DEFAULT_LAG);
+        assertEquals(0, s.getFrequency());
+        assertTrue(s.getPayments().isEmpty());
+        assertNull(s.getNextExDate());
+    }
+
+    @Test
+    void staleHistoryIsTreatedAsSuspended() {
+        // 마지막 배당락일 후 2×91+30일 초과 경과
+        DividendSchedule s = DividendProjector.infer("KO", quarterly(), null, day(2025, 7, 1), DEFAULT_LAG);
+        assertEquals(4, s.getFrequency());
+        assertEquals(day(2024, 11, 8), s.getLastExDate());
+        assertTrue(s.getPayments().isEmpty());
+        assertNull(s.getNextExDate());
+    }
+
+    @Test
+    void invalidRowsAreIgnoredAndCalendarAloneGivesConfirmedDate() {
+        List<DivRow> junk = new ArrayList<>();
+        junk.add(null);
+        junk.add(div(day(2024, 1, 5), 0));
+        DivRow noDate = new DivRow();
+        noDate.setAmount(1.0);
+        junk.add(noDate);
+
+        DividendSchedule s = DividendProjector.infer("NEW", junk, calendar(day(2025, 1, 10), day(2025, 1, 31)), day(2024, 12, 1), DEFAULT_LAG);
+        assertEquals(0, s.getFrequency());
+        assertNull(s.getLastExDate());
+        assertTrue(s.getPayments().isEmpty());
+        assertEquals(day(2025, 1, 10), s.getNextExDate());
+        assertTrue(s.isConfirmed());
+        assertEquals(21, s.getPayLagDays());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.HistorySeries;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BarArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private static HistorySeries bars(long[] t, double... close) {
+        HistorySeries.Builder b = new HistorySeries.Builder(t.length);
+        for (int i = 0; i < t.length; i++) b.add(t[i], close[i] - 1, close[i] + 1, close[i] - 2, close[i], 100L + i);
+        return b.build();
+    }
+
+    private static void assertBars(HistorySeries expected, BarColumns actual) {
+        HistorySeries got = HistorySeries.copyOf(actual);
+        assertArrayEquals(expected.epochSec(), got.epochSec());
+        assertArrayEquals(expected.open(), got.open(), 0);
+        assertArrayEquals(expected.high(), got.high(), 0);
+        assertArrayEquals(expected.low(), got.low(), 0);
+        assertArrayEquals(expected.close(), got.close(), 0);
+        assertArrayEquals(expected.volume(), got.volume());
+    }
+
+    private BarArchive archive() {
+        return new BarArchive(true, dir.toString(), 4);
+    }
+
+    @Test
+    void fullWriteRoundTripsBarsAndHeader() {
+        BarArchive a = archive();
+        HistorySeries s = bars(new long[]{100, 200, 300}, 10, 11, 12);
+        a.writeFull("AAPL", "1d", true, s, "1y", 1_000L, 2_000L);
+
+        BarArchive.Snapshot snap = a.read("AAPL", "1d", true).orElseThrow();
+        assertBars(s, snap.bars());
+        assertEquals("1y", snap.loadedRange());
+        assertEquals(1_000L, snap.fullLoadedAtMs());
+        assertEquals(2_000L, snap.refreshedAtMs());
+        assertTrue(a.read("AAPL", "1d", false).isEmpty());
+
+        // 새 인스턴스(재시작)에서도 같은 내용
+        assertBars(s, new BarArchive(true, dir.toString(), 4).read("AAPL", "1d", true).orElseThrow().bars());
+    }
+
+    @Test
+    void tailWriteReplacesFileWithoutTouchingLiveViews() {
+        BarArchive a = archive();
+        a.writeFull("MSFT", "1d", true, bars(new long[]{100, 200, 300}, 10, 11, 12), "1y", 1_000L, 1_000L);
+        BarColumns before = a.read("MSFT", "1d", true).orElseThrow().bars();
+
+        HistorySeries merged = bars(new long[]{100, 200, 300, 400}, 10, 11, 12.5, 13);
+        a.writeTail("MSFT", "1d", true, merged, 2, "1y", 1_000L, 3_000L);
+
+        // 이전 매핑 뷰는 교체 전 내용 그대로
+        assertEquals(3, before.size());
+        assertEquals(12, before.closeAt(2), 0);
+
+        BarArchive.Snapshot after = a.read("MSFT", "1d", true).orElseThrow();
+        assertBars(merged, after.bars());
+        assertEquals(3_000L, after.refreshedAtMs());
+    }
+
+    @Test
+    void tailBeyondStoredCountFallsBackToFullWrite() {
+        BarArchive a = archive();
+        a.writeFull("KO", "1d", false, bars(new long[]{100}, 1), "1mo", 1L, 1L);
+        HistorySeries s = bars(new long[]{100, 200, 300}, 1, 2, 3);
+        a.writeTail("KO", "1d", false, s, 2, "1mo", 1L, 2L);
+        assertBars(s, a.read("KO", "1d", false).orElseThrow().bars());
+
+        a.writeTail("PEP", "1d", false, s, 0, "1mo", 1L, 2L);
+        assertBars(s, a.read("PEP", "1d", false).orElseThrow().bars());
+    }
+
+    @Test
+    void disabledArchiveNeverReadsOrWrites() {
+        BarArchive a = new BarArchive(false, dir.toString(), 4);
+        a.writeFull("AAPL", "1d", true, bars(new long[]{100}, 1), "1y", 1L, 1L);
+        assertTrue(a.read("AAPL", "1d", true).isEmpty());
+        assertTrue(archive().read("AAPL", "1d", true).isEmpty());
+    }
+}
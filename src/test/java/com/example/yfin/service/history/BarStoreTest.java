@@ -0,0 +1,76 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.model.HistorySeries;
+import com.example.yfin.util.SymbolUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BarStoreTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private static HistorySeries bars(long[] t, double... close) {
+        HistorySeries.Builder b = new HistorySeries.Builder(t.length);
+        for (int i = 0; i < t.length; i++) b.add(t[i], close[i], close[i], close[i], close[i], 100L);
+        return b.build();
+    }
+
+    private static long ny(int day, int hour, int minute) {
+        return ZonedDateTime.of(2024, 3, day, hour, minute, 0, 0, NEW_YORK).toEpochSecond();
+    }
+
+    @Test
+    void mergeReplacesBarsFromFirstTailTimestamp() {
+        HistorySeries base = bars(new long[]{100, 200, 300}, 1, 2, 3);
+        HistorySeries tail = bars(new long[]{300, 400}, 3.5, 4);
+        HistorySeries merged = BarStore.merge(base, tail);
+        assertArrayEquals(new long[]{100, 200, 300, 400}, merged.epochSec());
+        assertArrayEquals(new double[]{1, 2, 3.5, 4}, merged.close(), 0);
+        assertEquals(base, BarStore.merge(base, HistorySeries.empty()));
+        assertEquals(3, BarStore.lowerBound(base.epochSec(), 301));
+    }
+
+    @Test
+    void oneAndFiveDaySlicesFollowExchangeLocalDays() {
+        // 월요일 정규장 + 20:00 ET 시간외(UTC로는 화요일 01:00), 화요일 정규장
+        long[] t = {ny(4, 9, 30), ny(4, 20, 0), ny(5, 9, 30), ny(5, 15, 59)};
+        HistorySeries s = bars(t, 1, 2, 3, 4);
+
+        assertEquals(2, BarStore.sliceFrom(s, "1d", NEW_YORK));
+        // UTC 날짜 기준이면 월요일 시간외 바가 화요일로 섞임
+        assertEquals(1, BarStore.sliceFrom(s, "1d", ZoneOffset.UTC));
+        assertEquals(0, BarStore.sliceFrom(s, "5d", NEW_YORK));
+        assertEquals(0, BarStore.sliceFrom(s, "max", NEW_YORK));
+    }
+
+    @Test
+    void exchangeZoneComesFromSymbolSuffix() {
+        assertEquals(ZoneId.of("Asia/Seoul"), SymbolUtils.exchangeZone("005930.KS"));
+        assertEquals(ZoneId.of("Asia/Seoul"), SymbolUtils.exchangeZone("^KS11"));
+        assertEquals(ZoneId.of("Asia/Tokyo"), SymbolUtils.exchangeZone("7203.T"));
+        assertEquals(NEW_YORK, SymbolUtils.exchangeZone("AAPL"));
+        assertEquals(NEW_YORK, SymbolUtils.exchangeZone("BRK-B"));
+        assertEquals(ZoneOffset.UTC, SymbolUtils.exchangeZone("BTC-USD"));
+    }
+
+    @Test
+    void tailRangeAndRangeOrdering() {
+        assertEquals("1d", BarStore.tailRange("5m"));
+        assertEquals("1d", BarStore.tailRange("1h"));
+        assertEquals("5d", BarStore.tailRange("1d"));
+        assertEquals("1mo", BarStore.tailRange("1wk"));
+        assertEquals("3mo", BarStore.tailRange("1mo"));
+        assertTrue(BarStore.wider("5y", "1mo"));
+        assertFalse(BarStore.wider("1mo", "1mo"));
+        assertTrue(BarStore.supports("ytd"));
+        assertFalse(BarStore.supports("3y"));
+    }
+}
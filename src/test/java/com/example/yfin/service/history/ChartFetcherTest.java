@@ -0,0 +1,160 @@
+package com.example.yfin.service.history;
+
+import com.example.yfin.config.CachePolicyProperties;
+import com.example.yfin.http.YahooApiClient;
+import com.example.yfin.http.YahooDecoder;
+import com.example.yfin.http.decode.ChartData;
+import com.example.yfin.model.DivRow;
+import com.example.yfin.model.HistorySeries;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChartFetcherTest {
+
+    private static final Pattern RANGE = Pattern.compile("range=([^&]+)");
+    private static final long DAY = 86_400L;
+
+    /** 오늘(UTC)부터 days일 전까지 매일 14:30 UTC 바 + 바마다 같은 시각의 배당 */
+    private static ChartData daily(int days) {
+        long today = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toEpochSecond() + 14 * 3600 + 1800;
+        HistorySeries.Builder b = new HistorySeries.Builder(days);
+        List<DivRow> divs = new ArrayList<>();
+        for (int d = days; d >= 1; d--) {
+            long t = today - d * DAY;
+            b.add(t, 1, 1, 1, 1, 100L);
+            divs.add(div(t, 0.1));
+        }
+        return new ChartData(b.build(), divs, List.of());
+    }
+
+    private static DivRow div(long epochSec, double amount) {
+        DivRow r = new DivRow();
+        r.setDate(Instant.ofEpochSecond(epochSec));
+        r.setAmount(amount);
+        return r;
+    }
+
+    /** range 파라미터별 일수만큼 바를 돌려주고 요청 range를 기록 */
+    private static final class StubYahoo extends YahooApiClient {
+        final List<String> ranges = new CopyOnWriteArrayList<>();
+        final Map<String, Integer> days = Map.of("1mo", 31, "1y", 366, "2y", 731, "5y", 1827);
+
+        StubYahoo() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<T> getTyped(String path, String refererPath, YahooDecoder<T> decoder) {
+            Matcher m = RANGE.matcher(path);
+            String range = m.find() ? m.group(1) : "";
+            ranges.add(range);
+            return Mono.just((T) daily(days.getOrDefault(range, 5)));
+        }
+    }
+
+    @Test
+    void narrowerTailLoadDoesNotReplaceWiderEntry() {
+        StubYahoo yahoo = new StubYahoo();
+        ChartFetcher fetcher = new ChartFetcher(yahoo, new CachePolicyProperties());
+
+        ChartData twoYears = fetcher.daily("AAPL", "2y", true).block(Duration.ofSeconds(2));
+        assertEquals(List.of("2y"), yahoo.ranges);
+        assertEquals(731, twoYears.series().size());
+
+        // 꼬리 갱신(1mo) 응답은 보관된 2y 응답을 밀어내지 않음
+        fetcher.load("AAPL", "1mo", "1d", true).block(Duration.ofSeconds(2));
+        ChartData oneYear = fetcher.daily("AAPL", "1y", true).block(Duration.ofSeconds(2));
+        assertEquals(List.of("2y", "1mo"), yahoo.ranges);
+        assertTrue(oneYear.series().size() > 300, "1y slice had " + oneYear.series().size() + " bars");
+
+        // 더 넓은 range는 1회 재요청 후 교체
+        fetcher.daily("AAPL", "5y", true).block(Duration.ofSeconds(2));
+        fetcher.daily("AAPL", "2y", true).block(Duration.ofSeconds(2));
+        assertEquals(List.of("2y", "1mo", "5y"), yahoo.ranges);
+
+        // autoAdjust별·심볼별 별도 보관
+        fetcher.daily("AAPL", "1y", false).block(Duration.ofSeconds(2));
+        fetcher.daily("MSFT", "1y", true).block(Duration.ofSeconds(2));
+        assertEquals(List.of("2y", "1mo", "5y", "1y", "1y"), yahoo.ranges);
+        assertEquals(3, fetcher.size());
+    }
+
+    @Test
+    void sliceKeepsEventsFromFirstKeptBar() {
+        ChartData cd = daily(60);
+        ChartData month = ChartFetcher.slice(cd, "1mo", ZoneOffset.UTC);
+
+        long firstKept = month.series().epochSecAt(0);
+        assertTrue(firstKept >= Instant.now().getEpochSecond() - 31 * DAY);
+        assertTrue(month.series().size() < cd.series().size());
+        // 바마다 같은 시각의 배당: 잘린 첫 바 시각의 배당은 포함, 그 전 배당은 제외
+        assertEquals(month.series().size(), month.dividends().size());
+        assertEquals(Instant.ofEpochSecond(firstKept), month.dividends().get(0).getDate());
+
+        assertSame(cd, ChartFetcher.slice(cd, "max", ZoneOffset.UTC));
+        assertSame(cd, ChartFetcher.slice(cd, "3y", ZoneOffset.UTC));
+    }
+
+    @Test
+    void eventsAfterLastBarUseRangeCutoff() {
+        // 마지막 바가 100일 전: 잘린 바가 없으면 range 기준 시각으로 이벤트를 자름
+        long now = Instant.now().getEpochSecond();
+        HistorySeries old = new HistorySeries(new long[]{now - 100 * DAY}, new double[]{1}, new double[]{1},
+                new double[]{1}, new double[]{1}, new long[]{1});
+        ChartData cd = new ChartData(old, List.of(div(now - 40 * DAY, 1), div(now - 10 * DAY, 2)),
+                List.of(new ChartData.Split(now - 40 * DAY, 2, 1), new ChartData.Split(now - 5 * DAY, 3, 1)));
+
+        ChartData month = ChartFetcher.slice(cd, "1mo", ZoneOffset.UTC);
+        assertTrue(month.series().isEmpty());
+        assertEquals(1, month.dividends().size());
+        assertEquals(2.0, month.dividends().get(0).getAmount(), 0);
+        assertEquals(List.of(new ChartData.Split(now - 5 * DAY, 3, 1)), month.splits());
+    }
+
+    @Test
+    void fiveDaySliceCountsExchangeTradingDays() {
+        ZoneId ny = ZoneId.of("America/New_York");
+        ZonedDateTime open = ZonedDateTime.now(ny).withHour(9).withMinute(30).withSecond(0).withNano(0);
+        HistorySeries.Builder b = new HistorySeries.Builder(8);
+        List<DivRow> divs = new ArrayList<>();
+        for (int d = 7; d >= 1; d--) {
+            long t = open.minusDays(d).toEpochSecond();
+            b.add(t, 1, 1, 1, 1, 1L);
+            divs.add(div(t, d));
+        }
+        ChartData fiveDays = ChartFetcher.slice(new ChartData(b.build(), divs, List.of()), "5d", ny);
+        assertEquals(5, fiveDays.series().size());
+        assertEquals(5, fiveDays.dividends().size());
+        assertEquals(5.0, fiveDays.dividends().get(0).getAmount(), 0);
+    }
+
+    @Test
+    void lastDaysMatchesSliceRuleForCorpActions() {
+        ChartData cd = daily(1200);
+        ChartData threeYears = ChartFetcher.lastDays(cd, 3 * 365 + 1);
+        long firstKept = threeYears.series().epochSecAt(0);
+
+        assertTrue(firstKept >= Instant.now().getEpochSecond() - (3 * 365 + 1) * DAY);
+        assertTrue(firstKept - DAY < Instant.now().getEpochSecond() - (3 * 365 + 1) * DAY);
+        assertEquals(threeYears.series().size(), threeYears.dividends().size());
+        assertEquals(Instant.ofEpochSecond(firstKept), threeYears.dividends().get(0).getDate());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.yfin.service.indicator;
+
+import com.example.yfin.model.HistorySeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndicatorEngineTest {
+
+    private static HistorySeries series(double... close) {
+        HistorySeries.Builder b = new HistorySeries.Builder(close.length);
+        for (int i = 0; i < close.length; i++) {
+            double c = close[i];
+            b.add(1_700_000_000L + i * 86_400L, c, c + 1, c - 1, c, 1_000L);
+        }
+        return b.build();
+    }
+
+    // 시각/종가/거래량 지정 바(고가 = 종가+1, 저가 = 종가-1)
+    private static HistorySeries bars(long[] t, double[] close, long[] volume) {
+        HistorySeries.Builder b = new HistorySeries.Builder(t.length);
+        for (int i = 0; i < t.length; i++) b.add(t[i], close[i], close[i] + 1, close[i] - 1, close[i], volume[i]);
+        return b.build();
+    }
+
+    @Test
+    void smaSkipsMissingClosesButDividesByWindow() {
+        IndicatorEngine engine = new IndicatorEngine(series(1, 2, Double.NaN, 4, 5));
+        double[] sma = engine.sma(2);
+        assertTrue(Double.isNaN(sma[0]));
+        assertArrayEquals(new double[]{1.5, 1.0, 2.0, 4.5}, new double[]{sma[1], sma[2], sma[3], sma[4]}, 1e-12);
+    }
+
+    @Test
+    void rsiUsesRs100WhenThereIsNoLoss() {
+        IndicatorEngine engine = new IndicatorEngine(series(1, 2, 3, 4, 5, 6));
+        double[] rsi = engine.rsi(2);
+        assertTrue(Double.isNaN(rsi[2]));
+        assertEquals(100.0 - 100.0 / 101.0, rsi[3], 1e-12);
+        assertEquals(100.0 - 100.0 / 101.0, rsi[5], 1e-12);
+    }
+
+    @Test
+    void wmaAndMacdShareEmaIntermediates() {
+        IndicatorEngine engine = new IndicatorEngine(series(1, 2, 3, 4));
+        double[] wma = engine.wma(3);
+        assertEquals((1 * 1 + 2 * 2 + 3 * 3) / 6.0, wma[2], 1e-12);
+        assertEquals((2 * 1 + 3 * 2 + 4 * 3) / 6.0, wma[3], 1e-12);
+
+        double[][] macd = engine.macd(2, 3, 2);
+        double[] fast = engine.ema(2), slow = engine.ema(3);
+        assertEquals(fast[3] - slow[3], macd[0][3], 1e-12);
+    }
+
+    @Test
+    void specParsingFillsDefaultsAndRejectsUnknownNames() {
+        IndicatorSpec macd = IndicatorSpec.parse("MACD");
+        assertEquals("macd", macd.key());
+        assertArrayEquals(new double[]{12, 26, 9}, macd.params());
+        assertEquals("sma", IndicatorSpec.parse("ma:60").name());
+        assertEquals(2, IndicatorSpec.parseList("ma:20, ma:20 ,rsi").size());
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parse("foo:3"));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parse("ma:2.5"));
+    }
+
+    @Test
+    void bollingerUsesPopulationDeviationAroundSharedSma() {
+        IndicatorEngine engine = new IndicatorEngine(series(1, 2, 3, 5));
+        double[][] bb = engine.bollinger(3, 2);
+        assertTrue(Double.isNaN(bb[1][1]));
+        assertEquals(2.0, bb[0][2], 1e-12);
+        assertEquals(2.0 + 2 * Math.sqrt(2.0 / 3.0), bb[1][2], 1e-12);
+        assertEquals(2.0 - 2 * Math.sqrt(2.0 / 3.0), bb[2][2], 1e-12);
+        assertSame(engine.sma(3), bb[0]);
+    }
+
+    @Test
+    void atrSeedsWithTrueRangeMeanThenSmoothsLikeWilder() {
+        // TR: 2, |14-10|=4, 2, 2
+        double[] atr = new IndicatorEngine(series(10, 13, 12, 12)).atr(2);
+        assertTrue(Double.isNaN(atr[0]));
+        assertArrayEquals(new double[]{3.0, 2.5, 2.25}, new double[]{atr[1], atr[2], atr[3]}, 1e-12);
+    }
+
+    @Test
+    void stochasticPositionsCloseInWindowRangeAndSmoothsK() {
+        double[][] st = new IndicatorEngine(series(10, 13, 12, 12)).stochastic(3, 2);
+        assertTrue(Double.isNaN(st[0][1]));
+        // 최고 14, 최저 9 / 최고 14, 최저 11
+        assertEquals(60.0, st[0][2], 1e-12);
+        assertEquals(100.0 / 3.0, st[0][3], 1e-12);
+        assertTrue(Double.isNaN(st[1][2]));
+        assertEquals((60.0 + 100.0 / 3.0) / 2, st[1][3], 1e-12);
+    }
+
+    @Test
+    void obvAddsVolumeOnUpClosesAndSkipsMissing() {
+        long t0 = 1_700_000_000L;
+        HistorySeries s = bars(new long[]{t0, t0 + 86_400, t0 + 2 * 86_400, t0 + 3 * 86_400, t0 + 4 * 86_400},
+                new double[]{10, 11, 11, Double.NaN, 9}, new long[]{100, 200, 300, 400, 500});
+        assertArrayEquals(new double[]{0, 200, 200, 200, 200}, new IndicatorEngine(s).obv(), 0);
+    }
+
+    @Test
+    void vwapResetsEachDayOnlyForIntradayBars() {
+        long day = 19_700L * 86_400L;
+        long[] intraday = {day + 3_600, day + 7_200, day + 86_400 + 3_600};
+        double[] close = {10, 20, 30};
+        long[] volume = {100, 300, 200};
+
+        double[] v = new IndicatorEngine(bars(intraday, close, volume)).vwap();
+        assertArrayEquals(new double[]{10, 17.5, 30}, v, 1e-12);
+
+        long[] daily = {day, day + 86_400, day + 2 * 86_400};
+        double[] d = new IndicatorEngine(bars(daily, close, volume)).vwap();
+        assertEquals((10 * 100 + 20 * 300 + 30 * 200) / 600.0, d[2], 1e-12);
+    }
+}
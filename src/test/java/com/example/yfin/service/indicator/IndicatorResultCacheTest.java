@@ -0,0 +1,37 @@
+package com.example.yfin.service.indicator;
+
+import com.example.yfin.model.HistorySeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class IndicatorResultCacheTest {
+
+    private static HistorySeries series(double lastHigh, long lastVolume, double firstClose) {
+        return new HistorySeries.Builder(3)
+                .add(100, firstClose, firstClose + 1, firstClose - 1, firstClose, 1_000L)
+                .add(200, 11, 12, 10, 11, 1_000L)
+                .add(300, 12, lastHigh, 11, 12, lastVolume)
+                .build();
+    }
+
+    @Test
+    void sameContentGivesSameVersion() {
+        assertEquals(IndicatorResultCache.version(series(13, 500, 10)), IndicatorResultCache.version(series(13, 500, 10)));
+        assertEquals("0", IndicatorResultCache.version(HistorySeries.empty()));
+    }
+
+    @Test
+    void intrabarHighAndVolumeChangesBumpVersion() {
+        String base = IndicatorResultCache.version(series(13, 500, 10));
+        assertNotEquals(base, IndicatorResultCache.version(series(14, 500, 10)));
+        assertNotEquals(base, IndicatorResultCache.version(series(13, 600, 10)));
+    }
+
+    @Test
+    void adjustedPastCloseBumpsVersion() {
+        // 분할/배당 재로드로 과거 종가만 바뀐 경우
+        assertNotEquals(IndicatorResultCache.version(series(13, 500, 10)), IndicatorResultCache.version(series(13, 500, 5)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.yfin.service.indicator;
+
+import com.example.yfin.model.HistorySeries;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LiveSeriesTest {
+
+    private static final IndicatorSpec SMA2 = IndicatorSpec.parse("sma:2");
+
+    private static long utc(int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(2024, month, day, hour, minute, 0, 0, ZoneOffset.UTC).toEpochSecond();
+    }
+
+    private static HistorySeries bars(long[] t, double... close) {
+        HistorySeries.Builder b = new HistorySeries.Builder(t.length);
+        for (int i = 0; i < t.length; i++) b.add(t[i], close[i], close[i], close[i], close[i], 100L);
+        return b.build();
+    }
+
+    @Test
+    void hourlyBucketsFollowSeededHalfHourOffset() {
+        LiveSeries s = new LiveSeries("1h", List.of(SMA2));
+        s.seed(bars(new long[]{utc(3, 4, 13, 30), utc(3, 4, 14, 30), utc(3, 4, 15, 30)}, 1, 2, 3));
+
+        // 15:30 봉 진행 중: 16:10 틱은 같은 봉(정각 기준이면 여기서 봉이 넘어감)
+        assertEquals(3.0, s.onTick(4, utc(3, 4, 16, 10)).get(SMA2.key()));
+        // 16:30 틱에서 직전 봉(종가 4) 확정
+        assertEquals(4.5, s.onTick(5, utc(3, 4, 16, 30)).get(SMA2.key()));
+    }
+
+    @Test
+    void weeklyBucketsStartOnMonday() {
+        LiveSeries seeded = new LiveSeries("1wk", List.of(SMA2));
+        seeded.seed(bars(new long[]{utc(2, 26, 14, 30), utc(3, 4, 14, 30), utc(3, 11, 14, 30)}, 1, 2, 3));
+        // 목요일 틱은 같은 주
+        assertEquals(3.0, seeded.onTick(4, utc(3, 14, 15, 0)).get(SMA2.key()));
+        assertEquals(4.5, seeded.onTick(5, utc(3, 18, 15, 0)).get(SMA2.key()));
+
+        // 시드가 없어도 월요일 00:00 UTC 경계
+        LiveSeries cold = new LiveSeries("1wk", List.of(SMA2));
+        cold.onTick(1, utc(3, 13, 15, 0));
+        assertNull(cold.onTick(2, utc(3, 14, 15, 0)).get(SMA2.key()));
+        assertNotNull(cold.onTick(3, utc(3, 18, 0, 0)).get(SMA2.key()));
+    }
+
+    @Test
+    void intervalsWithoutFixedBucketsAreRejected() {
+        assertEquals(86_400L, LiveSeries.barSeconds("1d"));
+        assertThrows(IllegalArgumentException.class, () -> LiveSeries.barSeconds("5d"));
+        assertThrows(IllegalArgumentException.class, () -> LiveSeries.barSeconds("1mo"));
+    }
+}
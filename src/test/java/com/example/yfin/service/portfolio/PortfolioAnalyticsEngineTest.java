@@ -0,0 +1,62 @@
+package com.example.yfin.service.portfolio;
+
+import com.example.yfin.model.BarColumns;
+import com.example.yfin.model.HistorySeries;
+import com.example.yfin.model.portfolio.PortfolioAnalytics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortfolioAnalyticsEngineTest {
+
+    private static final long DAY = 86_400L;
+
+    private static BarColumns daily(long[] days, double... close) {
+        HistorySeries.Builder b = new HistorySeries.Builder(days.length);
+        for (int i = 0; i < days.length; i++) b.add(days[i] * DAY + 14 * 3_600L, close[i], close[i], close[i], close[i], 100L);
+        return b.build();
+    }
+
+    @Test
+    void navAndRiskMetricsOnAlignedCalendar() {
+        // A: 0~3일, B: 1일과 3일만(2일은 직전 값 채움), C: 유효 종가 없음
+        BarColumns a = daily(new long[]{0, 1, 2, 3}, 10, 11, 9, 12);
+        BarColumns b = daily(new long[]{1, 3}, 20, 20);
+        BarColumns c = daily(new long[]{1, 2}, Double.NaN, 0);
+
+        PortfolioAnalytics out = PortfolioAnalyticsEngine.compute(List.of("A", "B", "C"), new double[]{1, 2, 5}, List.of(a, b, c), 0.0);
+
+        assertEquals(List.of("A", "B"), out.getSymbols());
+        assertEquals(List.of("C"), out.getMissing());
+        // 공통 시작일(1일) 이후: NAV = A + 2×B
+        assertEquals(List.of(51.0, 49.0, 52.0), out.getNav());
+        assertEquals(DAY, out.getTime().get(0).getEpochSecond());
+
+        double r1 = 49.0 / 51 - 1, r2 = 52.0 / 49 - 1;
+        double mean = (r1 + r2) / 2;
+        double sd = Math.sqrt(((r1 - mean) * (r1 - mean) + (r2 - mean) * (r2 - mean)) / 1);
+        double vol = sd * Math.sqrt(252);
+        assertEquals(52.0 / 51 - 1, out.getTotalReturn(), 1e-12);
+        assertEquals(Math.pow(52.0 / 51, 252.0 / 3) - 1, out.getCagr(), 1e-9);
+        assertEquals(vol * 100, out.getVolatilityPct(), 1e-9);
+        assertEquals(mean * 252 / vol, out.getSharpe(), 1e-9);
+        assertEquals(2.0 / 51 * 100, out.getMaxDrawdownPct(), 1e-12);
+
+        // B는 수익률 분산이 0이라 상관 미정
+        assertEquals(1.0, out.getCorrelation().get(0).get(0), 1e-12);
+        assertNull(out.getCorrelation().get(0).get(1));
+    }
+
+    @Test
+    void holdingsWithoutUsableClosesAreReportedMissingInsteadOfFailing() {
+        BarColumns empty = daily(new long[]{1, 2}, Double.NaN, -1);
+        PortfolioAnalytics out = PortfolioAnalyticsEngine.compute(List.of("X"), new double[]{1}, List.of(empty), 0.0);
+        assertTrue(out.getSymbols().isEmpty());
+        assertEquals(List.of("X"), out.getMissing());
+        assertNull(out.getNav());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.yfin.service.portfolio;
+
+import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.portfolio.PortfolioSummary;
+import com.example.yfin.model.portfolio.PositionDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PortfolioBookTest {
+
+    private static PositionDto position(String symbol, double quantity, double averageCost) {
+        PositionDto p = new PositionDto();
+        p.setSymbol(symbol);
+        p.setQuantity(quantity);
+        p.setAverageCost(averageCost);
+        return p;
+    }
+
+    private static QuoteDto quote(String symbol, double price, Double dividendRate) {
+        QuoteDto q = new QuoteDto();
+        q.setSymbol(symbol);
+        q.setRegularMarketPrice(price);
+        q.setForwardDividendRate(dividendRate);
+        return q;
+    }
+
+    @Test
+    void quotesAndTicksRepriceOnlyMatchingPositions() {
+        PortfolioBook book = new PortfolioBook(List.of(
+                position("AAPL", 10, 100), position("aapl", 5, 120), position("MSFT", 1, 200)));
+        assertEquals(List.of("AAPL", "MSFT"), book.symbols());
+
+        book.applyQuotes(Map.of("AAPL", quote("AAPL", 110, 1.0)));
+        PortfolioSummary s = book.summary();
+        assertEquals(1650.0, s.getMarketValue(), 1e-9);
+        assertEquals(1800.0, s.getCost(), 1e-9);
+        assertEquals(15.0, s.getDividendAnnual(), 1e-9);
+        assertNull(s.getItems().get(2).getPrice());
+
+        int[] changed = book.onPrice("aapl", 120);
+        assertArrayEquals(new int[]{0, 1}, changed);
+        assertEquals(1800.0, book.summary(changed).getMarketValue(), 1e-9);
+        assertEquals(2, book.summary(changed).getItems().size());
+        assertArrayEquals(new int[0], book.onPrice("AAPL", 120));
+        assertArrayEquals(new int[0], book.onPrice("TSLA", 1));
+    }
+
+    @Test
+    void kisCodeTicksReachSuffixedPositions() {
+        PortfolioBook book = new PortfolioBook(List.of(position("005930.KS", 2, 70_000)));
+        assertArrayEquals(new int[]{0}, book.onPrice("005930", 72_000));
+        assertEquals(144_000.0, book.summary().getMarketValue(), 0);
+    }
+
+    @Test
+    void totalsAreResyncedFromPositionsAfterLongTickStreams() {
+        PortfolioBook book = new PortfolioBook(List.of(position("A", 3, 1), position("B", 7, 1)));
+        book.applyQuotes(Map.of());
+        double[] prices = {0.1, 0.7, 0.3, 1e6, 0.2};
+        PortfolioSummary last = null;
+        for (int t = 0; t < PortfolioBook.RESYNC_EVERY; t++) {
+            int[] changed = book.onPrice(t % 2 == 0 ? "A" : "B", prices[t % prices.length] + t * 1e-3);
+            last = book.summary(changed);
+        }
+        List<PortfolioSummary.PositionBreakdown> items = book.summary(new int[]{0, 1}).getItems();
+        double exact = items.get(0).getMarketValue() + items.get(1).getMarketValue();
+        assertEquals(exact, last.getMarketValue(), 0);
+        assertEquals(exact, book.summary().getMarketValue(), 0);
+    }
+
+    @Test
+    void rejectsPositionsWithoutSymbol() {
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioBook(List.of(position(null, 1, 1))));
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioBook(List.of(position("AAPL", 1, 1), position(" ", 1, 1))));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.yfin.service.screener;
+
+import com.example.yfin.model.QuoteDto;
+import com.example.yfin.model.doc.ListingMetaDoc;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScreenerQueryTest {
+
+    // 0: A Tech +2%, 1: B Tech 변동률 없음, 2: C Energy -1%, 3: D Tech +5%
+    private static ScreenerSnapshot snapshot() {
+        return snapshot(ScreenerStats.EMPTY);
+    }
+
+    private static ScreenerSnapshot snapshot(ScreenerStats stats) {
+        String[] symbols = {"A", "B", "C", "D"};
+        String[] sectors = {"Tech", "Tech", "Energy", "Tech"};
+        Double[] change = {2.0, null, -1.0, 5.0};
+        long[] volume = {300, 100, 200, 100};
+        List<ListingMetaDoc> listings = new ArrayList<>();
+        Map<String, QuoteDto> quotes = new HashMap<>();
+        for (int i = 0; i < symbols.length; i++) {
+            ListingMetaDoc d = new ListingMetaDoc();
+            d.setId(symbols[i]);
+            d.setMarket("KS");
+            d.setSector(sectors[i]);
+            listings.add(d);
+            QuoteDto q = new QuoteDto();
+            q.setSymbol(symbols[i]);
+            q.setRegularMarketChangePercent(change[i]);
+            q.setRegularMarketVolume(volume[i]);
+            quotes.put(symbols[i], q);
+        }
+        return new ScreenerSnapshot(listings, quotes, stats, 0L);
+    }
+
+    private static int[] run(String where, String sort) {
+        ScreenerSnapshot s = snapshot();
+        return ScreenerQuery.parse(where, sort).select(s, s.members(null));
+    }
+
+    @Test
+    void andBindsTighterThanOrAndMissingValuesNeverMatch() {
+        assertArrayEquals(new int[]{2, 3}, run("sector = 'energy' or changePercent > 1 and volume < 150", null));
+        assertArrayEquals(new int[]{0, 2, 3}, run("changePercent != 0", null));
+        assertArrayEquals(new int[]{}, run("NOT (changePercent BETWEEN -10 AND 10)", null));
+    }
+
+    @Test
+    void negationNeverTurnsMissingIntoMatch() {
+        assertArrayEquals(new int[]{0, 2, 3}, run("NOT (changePercent = 0)", null));
+        assertArrayEquals(new int[]{2, 3}, run("changePercent NOT BETWEEN 0 AND 3", null));
+        assertArrayEquals(new int[]{2, 3}, run("changePercent NOT IN (2)", null));
+        assertArrayEquals(new int[]{0, 3}, run("NOT NOT (changePercent > 1)", null));
+        // AND의 다른 쪽이 거짓으로 확정되면 결측과 무관하게 결과가 정해짐(SQL 3값 논리)
+        assertArrayEquals(new int[]{0, 1, 3}, run("NOT (changePercent < 100 AND sector = 'Energy')", null));
+    }
+
+    @Test
+    void statsAndIndicatorFieldsAreQueryable() {
+        // A만 통계 있음(rsi14 = 25), 나머지는 결측
+        double[] a = new double[ScreenerStats.FIELDS.size()];
+        Arrays.fill(a, Double.NaN);
+        a[ScreenerStats.FIELDS.indexOf("rsi14")] = 25;
+        ScreenerSnapshot s = snapshot(new ScreenerStats(Map.of("A", a), 0L));
+        assertArrayEquals(new int[]{0}, ScreenerQuery.parse("RSI14 < 30", null).select(s, s.members(null)));
+        assertArrayEquals(new int[]{}, ScreenerQuery.parse("NOT rsi14 < 30", null).select(s, s.members(null)));
+    }
+
+    @Test
+    void multiKeySortPutsMissingLastAndKeepsListingOrderForTies() {
+        assertArrayEquals(new int[]{3, 0, 2, 1}, run(null, "changePercent:desc"));
+        assertArrayEquals(new int[]{3, 1, 2, 0}, run("sector IN ('Tech', 'Energy')", "volume,changePercent:asc"));
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndBadSyntaxWithPosition() {
+        assertThrows(IllegalArgumentException.class, () -> ScreenerQuery.parse("pe < 10", null));
+        assertThrows(IllegalArgumentException.class, () -> ScreenerQuery.parse("sector > 'Tech'", null));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ScreenerQuery.parse("(volume > 1", null));
+        assertTrue(e.getMessage().contains("position"));
+    }
+}
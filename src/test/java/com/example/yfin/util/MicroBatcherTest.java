@@ -0,0 +1,75 @@
+package com.example.yfin.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MicroBatcherTest {
+
+    @Test
+    void callersWithinWindowShareOneDedupedBatch() {
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(Duration.ofMillis(50), 100, 1, keys -> {
+            calls.add(keys);
+            return Mono.just(keys.stream().filter(k -> !k.equals("MISSING"))
+                    .collect(Collectors.toMap(k -> k, String::toLowerCase)));
+        });
+        try {
+            var out = Mono.zip(
+                            batcher.loadAll(List.of("A", "B", "A")),
+                            batcher.load("B").defaultIfEmpty("none"),
+                            batcher.load("MISSING").defaultIfEmpty("none"))
+                    .block(Duration.ofSeconds(2));
+
+            assertEquals(Map.of("A", "a", "B", "b"), out.getT1());
+            assertEquals("b", out.getT2());
+            assertEquals("none", out.getT3());
+            assertEquals(1, calls.size());
+            assertEquals(List.of("A", "B", "MISSING"), calls.get(0));
+            assertEquals(1, batcher.executedBatches());
+            assertEquals(4, batcher.requestedKeys());
+            assertEquals(1, batcher.joinedKeys());
+        } finally {
+            batcher.dispose();
+        }
+    }
+
+    @Test
+    void fullBatchFlushesWithoutWaitingForWindow() {
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(Duration.ofSeconds(30), 2, 2, keys -> {
+            calls.add(keys);
+            return Mono.just(keys.stream().collect(Collectors.toMap(k -> k, k -> k)));
+        });
+        try {
+            Map<String, String> out = batcher.loadAll(List.of("A", "B", "C", "D")).block(Duration.ofSeconds(2));
+            assertEquals(4, out.size());
+            assertEquals(2, calls.size());
+        } finally {
+            batcher.dispose();
+        }
+    }
+
+    @Test
+    void loaderErrorReachesEveryWaiter() {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(Duration.ofMillis(20), 100, 1,
+                keys -> Mono.error(new IllegalStateException("upstream down")));
+        try {
+            assertThrows(IllegalStateException.class, () -> batcher.load("A").block(Duration.ofSeconds(2)));
+            // loadAll은 실패한 키를 결과에서 뺌
+            assertEquals(Map.of(), batcher.loadAll(List.of("A", "B")).block(Duration.ofSeconds(2)));
+            assertNull(batcher.load("C").onErrorResume(e -> Mono.empty()).block(Duration.ofSeconds(2)));
+        } finally {
+            batcher.dispose();
+        }
+    }
+}
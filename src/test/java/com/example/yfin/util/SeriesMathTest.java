@@ -0,0 +1,63 @@
+package com.example.yfin.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeriesMathTest {
+
+    @Test
+    void logReturnsSkipMissingAndNonPositivePrices() {
+        double[] r = SeriesMath.logReturns(new double[]{100, 110, Double.NaN, 121, 0, 50});
+        assertTrue(Double.isNaN(r[0]));
+        assertEquals(Math.log(1.1), r[1], 1e-12);
+        assertTrue(Double.isNaN(r[2]));
+        assertTrue(Double.isNaN(r[3]));
+        assertTrue(Double.isNaN(r[4]));
+        assertTrue(Double.isNaN(r[5]));
+    }
+
+    @Test
+    void annualizedVolatilityIsSampleStdevTimesSqrt252() {
+        // 수익률 +1%, -1% 반복: 평균 0, 표본 표준편차 = 0.01 * sqrt(n/(n-1))
+        double[] r = new double[21];
+        r[0] = Double.NaN;
+        for (int i = 1; i < r.length; i++) r[i] = i % 2 == 0 ? 0.01 : -0.01;
+        double expected = 0.01 * Math.sqrt(20.0 / 19.0) * Math.sqrt(252) * 100.0;
+        assertEquals(expected, SeriesMath.annualizedVolatilityPct(r, 20), 1e-9);
+        // 유효 표본이 창의 80% 미만이면 NaN
+        for (int i = 1; i < 6; i++) r[i] = Double.NaN;
+        assertTrue(Double.isNaN(SeriesMath.annualizedVolatilityPct(r, 20)));
+    }
+
+    @Test
+    void betaIsCovarianceOverMarketVariance() {
+        double[] market = {0.01, -0.02, 0.03, Double.NaN, 0.0};
+        double[] asset = {0.02, -0.04, 0.06, 0.5, 0.0};
+        assertEquals(2.0, SeriesMath.beta(asset, market), 1e-12);
+        assertTrue(Double.isNaN(SeriesMath.beta(new double[]{0.1}, new double[]{0.2})));
+        assertTrue(Double.isNaN(SeriesMath.beta(new double[]{0.1, 0.2}, new double[]{0.3, 0.3})));
+    }
+
+    @Test
+    void maxDrawdownTracksRunningPeak() {
+        double[] p = {100, 120, 90, Double.NaN, 130, 65};
+        assertEquals(50.0, SeriesMath.maxDrawdownPct(p, 0, p.length), 1e-12);
+        assertEquals(25.0, SeriesMath.maxDrawdownPct(p, -5, 4), 1e-12);
+        assertTrue(Double.isNaN(SeriesMath.maxDrawdownPct(new double[]{Double.NaN}, 0, 1)));
+    }
+
+    @Test
+    void correlationMatrixIsSymmetricWithUnitDiagonal() {
+        double[][] c = SeriesMath.correlationMatrix(new double[][]{
+                {1, 2, 3, 4},
+                {2, 4, 6, 8},
+                {4, 3, 2, 1},
+                {5, 5, 5, 5}});
+        assertArrayEquals(new double[]{1, 1, -1}, new double[]{c[0][0], c[0][1], c[0][2]}, 1e-12);
+        assertEquals(c[2][0], c[0][2], 0);
+        assertTrue(Double.isNaN(c[3][0]));
+    }
+}
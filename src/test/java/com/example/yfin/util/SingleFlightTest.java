@@ -0,0 +1,56 @@
+package com.example.yfin.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneUpstreamCall() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> a = flight.execute("k", () -> { calls.incrementAndGet(); return upstream.asMono(); });
+        Mono<String> b = flight.execute("k", () -> { calls.incrementAndGet(); return upstream.asMono(); });
+        Mono<String> both = Mono.zip(a, b, (x, y) -> x + y);
+        Mono<String> pending = both.cache();
+        pending.subscribe();
+
+        assertEquals(1, flight.inFlightCount());
+        upstream.tryEmitValue("v");
+        assertEquals("vv", pending.block(Duration.ofSeconds(1)));
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.leaders());
+        assertEquals(1, flight.joins());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    void errorsPropagateToEveryCallerAndAreNotCached() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> a = flight.execute("k", () -> { calls.incrementAndGet(); return upstream.asMono(); }).cache();
+        Mono<String> b = flight.execute("k", () -> { calls.incrementAndGet(); return upstream.asMono(); }).cache();
+        a.subscribe(x -> { }, e -> { });
+        b.subscribe(x -> { }, e -> { });
+        upstream.tryEmitError(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> a.block(Duration.ofSeconds(1)));
+        assertThrows(IllegalStateException.class, () -> b.block(Duration.ofSeconds(1)));
+        assertEquals(1, calls.get());
+
+        // 실패 후에는 다음 호출이 새로 업스트림을 탐
+        assertEquals("ok", flight.execute("k", () -> { calls.incrementAndGet(); return Mono.just("ok"); }).block(Duration.ofSeconds(1)));
+        assertEquals(2, calls.get());
+    }
+}